@@ -0,0 +1,57 @@
+package io.quantumdb.nemesis;
+
+import java.util.concurrent.TimeUnit;
+
+import io.quantumdb.nemesis.profiler.Outcome;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the formatting of worker log lines, which the workers do for every query, and their parsing, which
+ * {@link Splitter} and {@link Grapher} do for every recorded query.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LogLinesBenchmark {
+
+	private String line = "SelectWorker\t61234\t61236\t2\tLOCK_TIMEOUT";
+	private char[] type = "SelectWorker".toCharArray();
+	private char[] record = new char[type.length + 128];
+
+	@Benchmark
+	public int format() {
+		return LogLines.format(record, type, 61234, 61236, Outcome.LOCK_TIMEOUT);
+	}
+
+	@Benchmark
+	public String getWorkerType() {
+		return LogLines.getWorkerType(line);
+	}
+
+	@Benchmark
+	public long getQueryStart() {
+		return LogLines.getQueryStart(line);
+	}
+
+	@Benchmark
+	public long getQueryEnd() {
+		return LogLines.getQueryEnd(line);
+	}
+
+	@Benchmark
+	public Outcome getOutcome() {
+		return LogLines.getOutcome(line);
+	}
+
+}
@@ -0,0 +1,32 @@
+package io.quantumdb.nemesis.profiler;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RandomNameGeneratorBenchmark {
+
+	@Benchmark
+	public String generate() {
+		return RandomNameGenerator.generate();
+	}
+
+	@Benchmark
+	@Threads(8)
+	public String generateContended() {
+		return RandomNameGenerator.generate();
+	}
+
+}
@@ -0,0 +1,87 @@
+package io.quantumdb.nemesis.profiler;
+
+import java.io.Writer;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.io.CharStreams;
+import io.quantumdb.nemesis.structure.Database;
+import io.quantumdb.nemesis.structure.DatabaseCredentials;
+import io.quantumdb.nemesis.structure.fake.FakeDatabase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a single worker iteration (building the query, executing it against the in-process fake backend without
+ * any simulated latency and recording the measurement), which is the per-query overhead Nemesis adds on top of the
+ * database under test.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WorkerBenchmark {
+
+	private static final DatabaseCredentials CREDENTIALS = new DatabaseCredentials("fake://benchmark", "nemesis", "", "");
+
+	private Worker select;
+	private Worker update;
+	private Worker insert;
+	private Worker delete;
+
+	@Setup
+	public void setUp() throws SQLException, InterruptedException {
+		new DatabaseStructure(Database.Type.FAKE, CREDENTIALS).prepareStructureAndRows(1_000);
+
+		Writer writer = CharStreams.nullWriter();
+		long start = System.currentTimeMillis();
+
+		select = new SelectWorker(connect(), CREDENTIALS, writer, start, "users");
+		update = new UpdateWorker(connect(), CREDENTIALS, writer, start, "users");
+		insert = new InsertWorker(connect(), CREDENTIALS, writer, start, "users");
+		delete = new DeleteWorker(connect(), CREDENTIALS, writer, start, "users");
+	}
+
+	@TearDown
+	public void tearDown() {
+		FakeDatabase.reset(CREDENTIALS);
+	}
+
+	private static Database connect() throws SQLException {
+		Database backend = Database.Type.FAKE.createBackend();
+		backend.connect(CREDENTIALS);
+		return backend;
+	}
+
+	@Benchmark
+	public void select() {
+		select.iterate();
+	}
+
+	@Benchmark
+	public void update() {
+		update.iterate();
+	}
+
+	@Benchmark
+	public void insert() {
+		insert.iterate();
+	}
+
+	@Benchmark
+	public void delete() {
+		delete.iterate();
+	}
+
+}
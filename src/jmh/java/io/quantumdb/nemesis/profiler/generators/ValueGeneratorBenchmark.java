@@ -0,0 +1,64 @@
+package io.quantumdb.nemesis.profiler.generators;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ValueGeneratorBenchmark {
+
+	private final SplittableRandom random = RandomSources.current();
+	private final char[] buffer = new char[8192];
+	private final StringBuilder builder = new StringBuilder();
+
+	private final ValueGenerator names = new NameGenerator();
+	private final ValueGenerator emails = new EmailGenerator();
+	private final ValueGenerator timestamps = new TimestampGenerator(0, 2_000_000_000L);
+	private final ValueGenerator text = TextGenerator.normal(400, 100, 4000);
+	private final RowGenerator rows = RowGenerator.users()
+			.withColumn("email", emails)
+			.withColumn("created", timestamps)
+			.withColumn("bio", text);
+
+	@Benchmark
+	public int writeName() {
+		return names.write(random, buffer, 0);
+	}
+
+	@Benchmark
+	public int writeEmail() {
+		return emails.write(random, buffer, 0);
+	}
+
+	@Benchmark
+	public int writeTimestamp() {
+		return timestamps.write(random, buffer, 0);
+	}
+
+	@Benchmark
+	public int writeText() {
+		return text.write(random, buffer, 0);
+	}
+
+	@Benchmark
+	public int appendInsertQuery() {
+		builder.setLength(0);
+		rows.appendInsertQuery("users", random, builder);
+		return builder.length();
+	}
+
+}
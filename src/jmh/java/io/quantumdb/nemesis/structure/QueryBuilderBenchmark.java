@@ -0,0 +1,50 @@
+package io.quantumdb.nemesis.structure;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the two ways in which Nemesis constructs SQL: the {@link QueryBuilder} used by the backends and the
+ * {@link String#format(String, Object...)} calls used by the workers.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class QueryBuilderBenchmark {
+
+	private String table = "users";
+	private int id = 4_815_162;
+
+	@Benchmark
+	public String queryBuilder() {
+		return new QueryBuilder()
+				.append("SELECT * ")
+				.append("FROM information_schema.columns ")
+				.append("WHERE table_schema = ? AND table_name = ? ")
+				.append("ORDER BY ordinal_position ASC")
+				.toString();
+	}
+
+	@Benchmark
+	public String stringFormat() {
+		return String.format("SELECT * FROM %s WHERE id = %d", table, id);
+	}
+
+	@Benchmark
+	public String concatenation() {
+		return "SELECT * FROM " + table + " WHERE id = " + id;
+	}
+
+}
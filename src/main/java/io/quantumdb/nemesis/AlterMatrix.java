@@ -0,0 +1,137 @@
+package io.quantumdb.nemesis;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import io.quantumdb.nemesis.operations.AlterMatrixOperations;
+import io.quantumdb.nemesis.operations.ParallelDdlOperations;
+import io.quantumdb.nemesis.profiler.Outcome;
+import io.quantumdb.nemesis.structure.mysql.AlterOptions;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Summarizes the logs of the operations of {@link AlterMatrixOperations} on one backend in "MATRIX.tsv", which has
+ * a row for every change and a column for every combination of ALGORITHM and LOCK clauses. Every cell holds the
+ * duration of the change, the longest query of the workers overlapping it and the number of queries of the workers
+ * which failed meanwhile ("duration_ms/max_stall_ms/failed_queries"), or the outcome of the change if it did not
+ * succeed. Combinations which were not profiled are marked with "-". Other variants of changes, such as those of
+ * {@link ParallelDdlOperations}, can be summarized the same way by the suffixes of their names.
+ */
+@Slf4j
+public class AlterMatrix {
+
+	private static final String NOT_PROFILED = "-";
+
+	public static void main(String[] args) throws IOException {
+		write(new File(args[0]));
+	}
+
+	/**
+	 * @param folder The folder holding a sub folder with the logs of every operation, as written by a session.
+	 */
+	public static void write(File folder) throws IOException {
+		List<String> suffixes = Lists.newArrayList();
+		for (AlterOptions options : AlterMatrixOperations.COMBINATIONS) {
+			suffixes.add(AlterMatrixOperations.getSuffix(options));
+		}
+		write(folder, "MATRIX.tsv", suffixes);
+	}
+
+	/**
+	 * @param folder The folder holding a sub folder with the logs of every operation, as written by a session.
+	 * @param name The name of the file to write to the folder.
+	 * @param suffixes The suffixes which the names of the variants of a change end with, one for every column.
+	 */
+	public static void write(File folder, String name, List<String> suffixes) throws IOException {
+		Map<String, String[]> cells = Maps.newTreeMap();
+
+		File[] scenarios = folder.listFiles(File::isDirectory);
+		if (scenarios == null) {
+			return;
+		}
+
+		for (File scenario : scenarios) {
+			File operation = new File(scenario, "OPERATION.log");
+			if (!operation.exists()) {
+				continue;
+			}
+
+			for (int i = 0; i < suffixes.size(); i++) {
+				String suffix = suffixes.get(i);
+				if (scenario.getName().endsWith(suffix)) {
+					String change = scenario.getName().substring(0, scenario.getName().length() - suffix.length());
+					String[] row = cells.get(change);
+					if (row == null) {
+						row = new String[suffixes.size()];
+						cells.put(change, row);
+					}
+					row[i] = measure(scenario, operation);
+					break;
+				}
+			}
+		}
+
+		if (cells.isEmpty()) {
+			return;
+		}
+
+		try (Writer writer = new FileWriter(new File(folder, name))) {
+			StringBuilder header = new StringBuilder("operation");
+			for (String suffix : suffixes) {
+				header.append('\t').append(suffix.substring(1));
+			}
+			writer.write(header + "\n");
+			log.info(header.toString());
+
+			for (Map.Entry<String, String[]> entry : cells.entrySet()) {
+				StringBuilder row = new StringBuilder(entry.getKey());
+				for (String cell : entry.getValue()) {
+					row.append('\t').append(cell == null ? NOT_PROFILED : cell);
+				}
+				writer.write(row + "\n");
+				log.info(row.toString());
+			}
+		}
+	}
+
+	private static String measure(File scenario, File operation) throws IOException {
+		List<String> lines = Files.readAllLines(operation.toPath());
+		if (lines.isEmpty()) {
+			return NOT_PROFILED;
+		}
+
+		String line = lines.get(0);
+		Outcome outcome = LogLines.getOutcome(line);
+		if (outcome.isFailure()) {
+			return outcome.name().toLowerCase();
+		}
+
+		long start = LogLines.getQueryStart(line);
+		long end = LogLines.getQueryEnd(line);
+		long maximumStall = 0;
+		int failures = 0;
+
+		File[] workerLogs = scenario.listFiles((dir, name) -> name.endsWith(".log") && !name.contains("OPERATION"));
+		for (File file : workerLogs) {
+			for (String query : Files.readAllLines(file.toPath())) {
+				long queryStart = LogLines.getQueryStart(query);
+				long queryEnd = LogLines.getQueryEnd(query);
+				if (queryStart <= end && queryEnd >= start) {
+					maximumStall = Math.max(maximumStall, queryEnd - queryStart);
+					if (LogLines.getOutcome(query).isFailure()) {
+						failures++;
+					}
+				}
+			}
+		}
+		return (end - start) + "/" + maximumStall + "/" + failures;
+	}
+
+}
@@ -31,6 +31,7 @@ public class Grapher {
 	private static final int SCALE = 60;  // Pixels per second
 
 	private static final int RESOLUTION = (1000 / SCALE);
+	private static final Color FAILURE = new Color(200, 0, 200, 120);
 	private static final int LIMIT = WIDTH * RESOLUTION + SKIP_UNTIL;
 
 	public static void main(String[] args) throws IOException {
@@ -64,7 +65,7 @@ public class Grapher {
 		AtomicReference<String> type = new AtomicReference<>();
 		for (File file : files) {
 			parse(file, line -> {
-				long x = getQueryStart(line);
+				long x = LogLines.getQueryStart(line);
 				if (x < SKIP_UNTIL) {
 					return true;
 				}
@@ -72,9 +73,9 @@ public class Grapher {
 					return false;
 				}
 
-				long queryEnd = getQueryEnd(line);
+				long queryEnd = LogLines.getQueryEnd(line);
 				int queryDuration = (int) (queryEnd - x);
-				String queryType = getWorkerType(line);
+				String queryType = LogLines.getWorkerType(line);
 
 				int y = queryDuration;
 				if (queryType.equalsIgnoreCase("Operation")) {
@@ -100,6 +101,9 @@ public class Grapher {
 					case "SelectWorker":
 						graphics.setColor(new Color(255, 200, 0, 80));
 						break;
+					case "LongTransactionWorker":
+						graphics.setColor(new Color(160, 0, 255, 80));
+						break;
 					case "Operation":
 						graphics.setColor(new Color(0, 0, 0));
 						break;
@@ -108,6 +112,11 @@ public class Grapher {
 				}
 
 				graphics.drawLine(toX(x), toY(Math.max(0, image.getHeight() - y)) - PADDING, toX(x), toY(image.getHeight()) - PADDING);
+
+				if (LogLines.getOutcome(line).isFailure()) {
+					graphics.setColor(FAILURE);
+					graphics.drawLine(toX(x), HEIGHT + 6, toX(x), HEIGHT + PADDING - 1);
+				}
 				return true;
 			});
 		}
@@ -145,21 +154,6 @@ public class Grapher {
 		}
 	}
 	
-	private String getWorkerType(String line) {
-		return line.substring(0, line.indexOf('\t'));
-	}
-	
-	private long getQueryStart(String line) {
-		int first = line.indexOf('\t');
-		return Long.parseLong(line.substring(first + 1, line.indexOf('\t', first + 1)));
-	}
-	
-	private long getQueryEnd(String line) {
-		int first = line.indexOf('\t');
-		int second = line.indexOf('\t', first + 1);
-		return Long.parseLong(line.substring(second + 1, line.indexOf('\t', second + 1)));
-	}
-	
 	@FunctionalInterface
 	private interface Parser {
 		boolean parse(String line);
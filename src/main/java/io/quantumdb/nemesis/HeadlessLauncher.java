@@ -0,0 +1,146 @@
+package io.quantumdb.nemesis;
+
+import java.io.File;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+import io.quantumdb.nemesis.operations.NamedOperation;
+import io.quantumdb.nemesis.operations.ParallelDdlOperations;
+import io.quantumdb.nemesis.profiler.DatabaseStructure;
+import io.quantumdb.nemesis.profiler.Profiler;
+import io.quantumdb.nemesis.profiler.ScalingStudy;
+import io.quantumdb.nemesis.structure.Database;
+import io.quantumdb.nemesis.structure.DatabaseCredentials;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the full matrix of backends and methods described by a {@link Scenario} file without any user interaction.
+ * The returned exit code is {@link #SUCCESS} only when every operation on every backend completed.
+ */
+@Slf4j
+public class HeadlessLauncher {
+
+	public static final int SUCCESS = 0;
+	public static final int FAILURES = 1;
+	public static final int INVALID_SCENARIO = 2;
+
+	public static void main(String[] args) {
+		if (args.length != 1) {
+			System.err.println("Usage: HeadlessLauncher <scenario.properties>");
+			System.exit(INVALID_SCENARIO);
+		}
+		System.exit(run(args[0]));
+	}
+
+	public static int run(String scenarioFile) {
+		Scenario scenario;
+		try {
+			scenario = Scenario.load(new File(scenarioFile));
+		}
+		catch (Exception e) {
+			log.error("Could not load scenario: " + scenarioFile + " - " + e.getMessage(), e);
+			return INVALID_SCENARIO;
+		}
+
+		List<String> failures = Lists.newArrayList();
+		for (Database.Type type : scenario.getBackends()) {
+			try {
+				failures.addAll(run(scenario, type));
+			}
+			catch (Exception e) {
+				log.error("Profiling of: " + type + " failed: " + e.getMessage(), e);
+				failures.add(type.name());
+			}
+		}
+
+		if (failures.isEmpty()) {
+			log.info("Scenario: {} completed without failures", scenarioFile);
+			return SUCCESS;
+		}
+
+		log.error("Scenario: {} completed with {} failure(s): {}", scenarioFile, failures.size(), failures);
+		return FAILURES;
+	}
+
+	private static List<String> run(Scenario scenario, Database.Type type) throws Exception {
+		DatabaseCredentials credentials = scenario.getCredentials(type);
+
+		if (!scenario.getScaling().isEmpty()) {
+			return runScalingStudy(scenario, type, credentials);
+		}
+
+		if (scenario.isPrepare()) {
+			log.info("Preparing: {} with {} rows...", type, scenario.getRows());
+			DatabaseStructure preparer = new DatabaseStructure(type, credentials,
+					scenario.getConfig().getRowGenerator());
+			preparer.dropStructure();
+			preparer.prepareStructureAndRows(scenario.getRows());
+
+			if (scenario.getFleetTables() > 0) {
+				preparer.prepareFleet(scenario.getFleetTables(), scenario.getFleetRows());
+			}
+		}
+
+		List<String> failures = Lists.newArrayList();
+		for (String method : scenario.getMethods()) {
+			List<String> methodFailures;
+			if (!scenario.isConcurrent()) {
+				List<NamedOperation> operations = scenario.getOperations(method);
+				log.info("Profiling: {} operations on: {} using method: {}", operations.size(), type, method);
+
+				Profiler profiler = new Profiler(scenario.getConfig(method), type, credentials, operations,
+						scenario.getStartupTimeout(), scenario.getTeardownTimeout());
+				methodFailures = profiler.profile();
+			}
+			else {
+				List<NamedOperation> concurrent = scenario.getConcurrentOperations(method);
+				if (concurrent.isEmpty()) {
+					log.warn("Method: {} has none of the concurrent operations, skipping it", method);
+					continue;
+				}
+
+				List<Integer> offsets = scenario.getConcurrentOffsets(method);
+				log.info("Profiling: {} operations on: {} using method: {} concurrently at offsets: {}",
+						concurrent.size(), type, method, offsets);
+
+				Profiler profiler = new Profiler(scenario.getConfig(method), type, credentials, concurrent,
+						scenario.getStartupTimeout(), scenario.getTeardownTimeout());
+				methodFailures = profiler.profileConcurrently(offsets);
+			}
+
+			for (String failure : methodFailures) {
+				failures.add(type + "/" + method + "/" + failure);
+			}
+
+			if (method.equals("matrix")) {
+				AlterMatrix.write(new File("logs", type.toString()));
+			}
+			else if (method.equals("parallel")) {
+				List<String> suffixes = new ParallelDdlOperations(scenario.getParallelDegrees()).getSuffixes();
+				AlterMatrix.write(new File("logs", type.toString()), "PARALLEL.tsv", suffixes);
+			}
+		}
+		return failures;
+	}
+
+	private static List<String> runScalingStudy(Scenario scenario, Database.Type type,
+			DatabaseCredentials credentials) throws Exception {
+
+		List<String> failures = Lists.newArrayList();
+		for (String method : scenario.getMethods()) {
+			List<NamedOperation> operations = scenario.getOperations(method);
+			log.info("Studying scaling of: {} operations on: {} using method: {} at sizes: {}", operations.size(), type,
+					method, scenario.getScaling());
+
+			ScalingStudy study = new ScalingStudy(scenario.getConfig(method), type, credentials, operations,
+					scenario.getStartupTimeout(), scenario.getTeardownTimeout(),
+					new File("logs/scaling/" + type + "/" + method));
+
+			for (String failure : study.run(scenario.getScaling())) {
+				failures.add(type + "/" + method + "/" + failure);
+			}
+		}
+		return failures;
+	}
+
+}
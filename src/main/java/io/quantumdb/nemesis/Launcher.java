@@ -5,9 +5,15 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.List;
 
+import io.quantumdb.nemesis.operations.AlterMatrixOperations;
+import io.quantumdb.nemesis.operations.BackfillOperations;
 import io.quantumdb.nemesis.operations.DefaultOperations;
+import io.quantumdb.nemesis.operations.LockRetryOperations;
 import io.quantumdb.nemesis.operations.NamedOperation;
+import io.quantumdb.nemesis.operations.OnlineSchemaChangeOperations;
+import io.quantumdb.nemesis.operations.ParallelDdlOperations;
 import io.quantumdb.nemesis.operations.QuantumDbOperations;
+import io.quantumdb.nemesis.operations.RedefinitionOperations;
 import io.quantumdb.nemesis.profiler.DatabaseStructure;
 import io.quantumdb.nemesis.profiler.Profiler;
 import io.quantumdb.nemesis.profiler.ProfilerConfig;
@@ -27,6 +33,10 @@ public class Launcher {
 
 	@SneakyThrows
 	public static void main(String[] args) {
+		if (args.length > 0) {
+			System.exit(HeadlessLauncher.run(args[0]));
+		}
+
 		BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
 
 		System.out.println("QuantumDB - Nemesis\n");
@@ -39,8 +49,10 @@ public class Launcher {
 			System.out.println("  1. PostgreSQL.");
 			System.out.println("  2. MySQL 5.5.");
 			System.out.println("  3. MySQL 5.6.");
-			System.out.println("  4. Oracle 11.");
-			System.out.println("  5. Exit.");
+			System.out.println("  4. MySQL 5.7.");
+			System.out.println("  5. MySQL 8.0.");
+			System.out.println("  6. Oracle 11.");
+			System.out.println("  7. Exit.");
 			System.out.println("");
 			System.out.print("Option: ");
 
@@ -59,11 +71,18 @@ public class Launcher {
 						setCredentials(reader, Type.MYSQL_56);
 						break;
 					case 4:
-						setCredentials(reader, Type.ORACLE11);
+						setCredentials(reader, Type.MYSQL_57);
+						break;
 					case 5:
+						setCredentials(reader, Type.MYSQL_80);
+						break;
+					case 6:
+						setCredentials(reader, Type.ORACLE11);
+						break;
+					case 7:
 						return;
 					default:
-						System.err.println("You must choose an option in range [1..4]");
+						System.err.println("You must choose an option in range [1..7]");
 				}
 			}
 			catch (InterruptedException e) {
@@ -71,7 +90,7 @@ public class Launcher {
 				return;
 			}
 			catch (NumberFormatException e) {
-				System.err.println("You must choose an option in range [1..4]");
+				System.err.println("You must choose an option in range [1..7]");
 			}
 		}
 	}
@@ -94,7 +113,13 @@ public class Launcher {
 			System.out.println("\nMethod of upgrading?\n");
 			System.out.println("  1. Naive.");
 			System.out.println("  2. QuantumDB.");
-			System.out.println("  3. Exit.");
+			System.out.println("  3. Expand, backfill in chunks and contract.");
+			System.out.println("  4. Copy to a shadow table kept in sync by triggers.");
+			System.out.println("  5. Perform the changes with a short lock timeout, and retry them.");
+			System.out.println("  6. Perform the changes with every ALGORITHM and LOCK clause (MySQL only).");
+			System.out.println("  7. Redefine the table online with DBMS_REDEFINITION (Oracle only).");
+			System.out.println("  8. Perform the changes which build indices or rewrite the table in parallel.");
+			System.out.println("  9. Exit.");
 			System.out.println("");
 			System.out.print("Option: ");
 
@@ -104,15 +129,33 @@ public class Launcher {
 
 				switch (option) {
 					case 1:
-						prepareProfiling(reader, type, credentials, false);
+						prepareProfiling(reader, type, credentials, new DefaultOperations().all());
 						break;
 					case 2:
-						prepareProfiling(reader, type, credentials, true);
+						prepareProfiling(reader, type, credentials, new QuantumDbOperations().all());
 						break;
 					case 3:
+						prepareProfiling(reader, type, credentials, new BackfillOperations().all());
+						break;
+					case 4:
+						prepareProfiling(reader, type, credentials, new OnlineSchemaChangeOperations().all());
+						break;
+					case 5:
+						prepareProfiling(reader, type, credentials, new LockRetryOperations().all());
+						break;
+					case 6:
+						prepareProfiling(reader, type, credentials, new AlterMatrixOperations().all());
+						break;
+					case 7:
+						prepareProfiling(reader, type, credentials, new RedefinitionOperations().all());
+						break;
+					case 8:
+						prepareProfiling(reader, type, credentials, new ParallelDdlOperations().all());
+						break;
+					case 9:
 						return;
 					default:
-						System.err.println("You must choose an option in range [1..3]");
+						System.err.println("You must choose an option in range [1..9]");
 				}
 			}
 			catch (InterruptedException e) {
@@ -120,13 +163,13 @@ public class Launcher {
 				return;
 			}
 			catch (NumberFormatException e) {
-				System.err.println("You must choose an option in range [1..3]");
+				System.err.println("You must choose an option in range [1..9]");
 			}
 		}
 	}
 
 	private static void prepareProfiling(BufferedReader reader, Database.Type type,
-			DatabaseCredentials credentials, boolean useQuantumDb) throws InterruptedException {
+			DatabaseCredentials credentials, List<NamedOperation> operations) throws InterruptedException {
 
 		while (true) {
 			System.out.println("\nWhat do you want to do?\n");
@@ -150,13 +193,10 @@ public class Launcher {
 						int inserts = askWorkerQuantity("INSERT", reader);
 						int deletes = askWorkerQuantity("DELETE", reader);
 						int updates = askWorkerQuantity("UPDATE", reader);
+						int mixed = askWorkerQuantity("MIXED", reader);
 
 						ProfilerConfig config = new ProfilerConfig(readers, updates, inserts, deletes);
-						List<NamedOperation> operations = new DefaultOperations().all();
-						if (useQuantumDb) {
-							operations = new QuantumDbOperations().all();
-						}
-
+						config.setMixedWorkers(mixed);
 						Profiler profiler = new Profiler(config, type, credentials, operations, STARTUP_TIMEOUT, TEARDOWN_TIMEOUT);
 						profiler.profile();
 						break;
@@ -0,0 +1,89 @@
+package io.quantumdb.nemesis;
+
+import io.quantumdb.nemesis.profiler.Outcome;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Writes and parses the tab-separated lines written by the workers: "type \t start \t end \t duration \t outcome".
+ * Lines written before outcomes were recorded lack the last column, and are treated as successful.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class LogLines {
+
+	private static final char[][] OUTCOME_NAMES = new char[Outcome.values().length][];
+
+	static {
+		for (Outcome outcome : Outcome.values()) {
+			OUTCOME_NAMES[outcome.ordinal()] = outcome.name().toCharArray();
+		}
+	}
+
+	/**
+	 * Formats a line into the target buffer without allocating, and returns its length. The buffer must be able
+	 * to hold the type, four numbers of up to 20 characters, the outcome and the separators.
+	 */
+	public static int format(char[] target, char[] type, long start, long end, Outcome outcome) {
+		int position = append(type, target, 0);
+		target[position++] = '\t';
+		position = append(start, target, position);
+		target[position++] = '\t';
+		position = append(end, target, position);
+		target[position++] = '\t';
+		position = append(end - start, target, position);
+		target[position++] = '\t';
+		position = append(OUTCOME_NAMES[outcome.ordinal()], target, position);
+		target[position++] = '\n';
+		return position;
+	}
+
+	public static String getWorkerType(String line) {
+		return line.substring(0, line.indexOf('\t'));
+	}
+
+	public static long getQueryStart(String line) {
+		int first = line.indexOf('\t');
+		return Long.parseLong(line.substring(first + 1, line.indexOf('\t', first + 1)));
+	}
+
+	public static long getQueryEnd(String line) {
+		int first = line.indexOf('\t');
+		int second = line.indexOf('\t', first + 1);
+		return Long.parseLong(line.substring(second + 1, line.indexOf('\t', second + 1)));
+	}
+
+	public static Outcome getOutcome(String line) {
+		int first = line.indexOf('\t');
+		int second = line.indexOf('\t', first + 1);
+		int third = line.indexOf('\t', second + 1);
+		int fourth = line.indexOf('\t', third + 1);
+		if (fourth < 0) {
+			return Outcome.SUCCESS;
+		}
+		return Outcome.valueOf(line.substring(fourth + 1).trim());
+	}
+
+	private static int append(char[] value, char[] target, int position) {
+		System.arraycopy(value, 0, target, position, value.length);
+		return position + value.length;
+	}
+
+	private static int append(long value, char[] target, int position) {
+		if (value < 0) {
+			target[position++] = '-';
+			value = -value;
+		}
+
+		int digits = 1;
+		for (long remainder = value / 10; remainder > 0; remainder /= 10) {
+			digits++;
+		}
+
+		for (int i = position + digits - 1; i >= position; i--) {
+			target[i] = (char) ('0' + value % 10);
+			value /= 10;
+		}
+		return position + digits;
+	}
+
+}
@@ -0,0 +1,88 @@
+package io.quantumdb.nemesis;
+
+import java.util.Arrays;
+
+import io.quantumdb.nemesis.profiler.Outcome;
+
+/**
+ * Accumulates the outcomes and latencies of the queries of one type of worker during one phase of a scenario.
+ * Latencies are only taken from successful queries, since failed queries end early or at a timeout.
+ */
+class PhaseStatistics {
+
+	static final String HEADER;
+
+	static {
+		StringBuilder header = new StringBuilder("worker\tphase\tqueries\tfailed\terror_rate\tmean_ms\tp50_ms\tp99_ms\tmax_ms");
+		for (Outcome outcome : Outcome.values()) {
+			if (outcome.isFailure()) {
+				header.append('\t').append(outcome.name().toLowerCase());
+			}
+		}
+		HEADER = header.toString();
+	}
+
+	private final int[] outcomes = new int[Outcome.values().length];
+	private long[] durations = new long[1024];
+	private int successes;
+
+	void add(long duration, Outcome outcome) {
+		outcomes[outcome.ordinal()]++;
+		if (outcome.isFailure()) {
+			return;
+		}
+
+		if (successes == durations.length) {
+			durations = Arrays.copyOf(durations, durations.length * 2);
+		}
+		durations[successes++] = duration;
+	}
+
+	int getQueries() {
+		return Arrays.stream(outcomes).sum();
+	}
+
+	int getFailures() {
+		return getQueries() - successes;
+	}
+
+	double getErrorRate() {
+		int queries = getQueries();
+		return queries == 0 ? 0 : (double) getFailures() / queries;
+	}
+
+	/**
+	 * @return A tab-separated row matching the {@link #HEADER}.
+	 */
+	String toRow(String worker, String phase) {
+		long[] sorted = Arrays.copyOf(durations, successes);
+		Arrays.sort(sorted);
+
+		StringBuilder builder = new StringBuilder()
+				.append(worker).append('\t')
+				.append(phase).append('\t')
+				.append(getQueries()).append('\t')
+				.append(getFailures()).append('\t')
+				.append(String.format("%.4f", getErrorRate())).append('\t')
+				.append(String.format("%.2f", Arrays.stream(sorted).average().orElse(0))).append('\t')
+				.append(getPercentile(sorted, 0.50)).append('\t')
+				.append(getPercentile(sorted, 0.99)).append('\t')
+				.append(sorted.length == 0 ? 0 : sorted[sorted.length - 1]);
+
+		for (Outcome outcome : Outcome.values()) {
+			if (outcome.isFailure()) {
+				builder.append('\t').append(outcomes[outcome.ordinal()]);
+			}
+		}
+		return builder.toString();
+	}
+
+	private static long getPercentile(long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.ceil(percentile * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+	}
+
+}
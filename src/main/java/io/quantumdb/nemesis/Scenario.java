@@ -0,0 +1,467 @@
+package io.quantumdb.nemesis;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import io.quantumdb.nemesis.operations.AlterMatrixOperations;
+import io.quantumdb.nemesis.operations.BackfillOperations;
+import io.quantumdb.nemesis.operations.DefaultOperations;
+import io.quantumdb.nemesis.operations.FleetOperations;
+import io.quantumdb.nemesis.operations.LockRetryOperations;
+import io.quantumdb.nemesis.operations.NamedOperation;
+import io.quantumdb.nemesis.operations.OnlineSchemaChangeOperations;
+import io.quantumdb.nemesis.operations.ParallelDdlOperations;
+import io.quantumdb.nemesis.operations.QuantumDbOperations;
+import io.quantumdb.nemesis.operations.RedefinitionOperations;
+import io.quantumdb.nemesis.profiler.DatabaseStructure;
+import io.quantumdb.nemesis.profiler.ProfilerConfig;
+import io.quantumdb.nemesis.profiler.SteadyStateCriterion;
+import io.quantumdb.nemesis.profiler.ThrottleCriterion;
+import io.quantumdb.nemesis.profiler.WorkloadMix;
+import io.quantumdb.nemesis.profiler.generators.EmailGenerator;
+import io.quantumdb.nemesis.profiler.generators.NameGenerator;
+import io.quantumdb.nemesis.profiler.generators.NumberGenerator;
+import io.quantumdb.nemesis.profiler.generators.RowGenerator;
+import io.quantumdb.nemesis.profiler.generators.TextGenerator;
+import io.quantumdb.nemesis.profiler.generators.TimestampGenerator;
+import io.quantumdb.nemesis.profiler.generators.ValueGenerator;
+import io.quantumdb.nemesis.structure.Database;
+import io.quantumdb.nemesis.structure.DatabaseCredentials;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This data class describes an unattended run of Nemesis, as read from a scenario (properties) file:
+ *
+ * <pre>
+ * backends = POSTGRESQL, MYSQL_56
+ * POSTGRESQL.url = jdbc:postgresql://localhost
+ * POSTGRESQL.database = profiler
+ * POSTGRESQL.username.env = PG_USER
+ * POSTGRESQL.password.env = PG_PASSWORD
+ * rows = 10000000
+ * rows.columns = bio: text(20, 200), age: number(18, 100), joined: timestamp(1500000000, 1700000000)
+ * prepare = true
+ * workers.read = 4
+ * workers.update = 2
+ * workers.insert = 2
+ * workers.delete = 1
+ * workers.mixed = 4
+ * workers.mix = select:80, update:10, insert:5, delete:5, read-update:0
+ * workers.longtx = 1
+ * longtx.duration = 30000
+ * longtx.interval = -1
+ * methods = naive, quantumdb, backfill, osc, retry, matrix, redef, parallel, fleet
+ * backfill.chunk = 10000
+ * backfill.pause = 0
+ * osc.chunk = 10000
+ * osc.pause = 0
+ * retry.timeout = 1000
+ * retry.attempts = 10
+ * retry.backoff = 100
+ * redef.rounds = 3
+ * redef.interval = 1000
+ * parallel.degrees = 1, 2, 4, 8
+ * fleet.tables = 1000
+ * fleet.rows = 1000
+ * fleet.parallelism = 4
+ * concurrent = create-index-on-column, add-nullable-column
+ * concurrent.offsets = 0, 5000
+ * operations.include =
+ * operations.exclude = rename-table
+ * timeout.startup = 60000
+ * timeout.teardown = 60000
+ * timeout.query = 5000
+ * timeout.query.server = true
+ * steadystate = true
+ * steadystate.interval = 1000
+ * steadystate.samples = 5
+ * steadystate.tolerance = 0.1
+ * steadystate.warmup = 10000
+ * steadystate.cooldown = 5000
+ * progress.interval = 1000
+ * throttle.latency = 50
+ * throttle.percentile = 0.99
+ * throttle.interval = 1000
+ * throttle.pause = 60000
+ * throttle.delay = 5000
+ * throttle.workers = SelectWorker, UpdateWorker
+ * scaling = 1000000, 10000000, 50000000
+ * </pre>
+ *
+ * Besides its name, every row of the "users" table holds the columns in "rows.columns", each with the generator of
+ * its values: "name", "email", "text(min, max)", "text(mean, deviation, max)", "number(min, max)" or
+ * "timestamp(from, to)" in seconds since the epoch. When "scaling" lists table sizes, every operation is profiled at
+ * each of those sizes instead of at "rows". When "throttle.latency" is set, backfills are held back while the
+ * latency of the listed workers exceeds it. Mixed workers draw their transactions from "workers.mix", which weighs
+ * the transactions against each other. The "workers.longtx" workers open a transaction right before the operation
+ * and keep it open for "longtx.duration" milliseconds, and open another one after "longtx.interval" milliseconds
+ * unless that is negative. The "matrix" method selects changes by their own names, and performs each of them with
+ * every combination of ALGORITHM and LOCK clauses on MySQL. The "parallel" method performs the changes which build
+ * indices or rewrite the table with every degree of parallelism in "parallel.degrees". When "concurrent" lists
+ * operations, those operations of every method are performed in a single session instead, each starting after its
+ * offset in "concurrent.offsets". Methods which prefix the names of their operations (such as
+ * "osc-create-index-on-column") match the names without that prefix, and operations which a method lacks are left
+ * out of its session. When "fleet.tables" is set, that many copies of the "users" table with "fleet.rows" rows each
+ * are created as well. The "fleet" method changes all of them, "fleet.parallelism" at a time, while its workers
+ * query those copies instead of the "users" table.
+ *
+ * Credentials are preferably taken from the environment variables named by the "*.env" keys, so that scenario
+ * files can be checked in without secrets.
+ */
+@Slf4j
+@Data
+public class Scenario {
+
+	private static final com.google.common.base.Splitter LIST = com.google.common.base.Splitter.on(',')
+			.trimResults()
+			.omitEmptyStrings();
+
+	private static final com.google.common.base.Splitter COLUMNS = com.google.common.base.Splitter
+			.onPattern(",(?![^(]*\\))")
+			.trimResults()
+			.omitEmptyStrings();
+
+	private static final Pattern COLUMN = Pattern.compile("(\\w+)\\s*:\\s*(\\w+)\\s*(?:\\(([^)]*)\\))?");
+
+	private final List<Database.Type> backends;
+	private final Properties properties;
+	private final int rows;
+	private final boolean prepare;
+	private final ProfilerConfig config;
+	private final List<String> methods;
+	private final Set<String> included;
+	private final Set<String> excluded;
+	private final int startupTimeout;
+	private final int teardownTimeout;
+	private final List<Integer> scaling;
+
+	public static Scenario load(File file) throws IOException {
+		Properties properties = new Properties();
+		try (Reader reader = new FileReader(file)) {
+			properties.load(reader);
+		}
+		return parse(properties);
+	}
+
+	public static Scenario parse(Properties properties) {
+		List<Database.Type> backends = LIST.splitToList(require(properties, "backends")).stream()
+				.map(Database.Type::valueOf)
+				.collect(Collectors.toList());
+
+		ProfilerConfig config = new ProfilerConfig(
+				getInt(properties, "workers.read", 0),
+				getInt(properties, "workers.update", 0),
+				getInt(properties, "workers.insert", 0),
+				getInt(properties, "workers.delete", 0));
+
+		config.setMixedWorkers(getInt(properties, "workers.mixed", 0));
+		config.setLongTransactionWorkers(getInt(properties, "workers.longtx", 0));
+		config.setLongTransactionDuration(getInt(properties, "longtx.duration", config.getLongTransactionDuration()));
+		config.setLongTransactionInterval(getInt(properties, "longtx.interval", config.getLongTransactionInterval()));
+		if (properties.containsKey("workers.mix")) {
+			WorkloadMix mix = new WorkloadMix();
+			for (String entry : LIST.split(properties.getProperty("workers.mix"))) {
+				int separator = entry.indexOf(':');
+				if (separator < 0) {
+					throw new IllegalArgumentException("Expected transaction:weight in workers.mix, got: " + entry);
+				}
+				mix.setWeight(WorkloadMix.Transaction.fromName(entry.substring(0, separator).trim()),
+						Integer.parseInt(entry.substring(separator + 1).trim()));
+			}
+			config.setWorkloadMix(mix);
+		}
+
+		if (properties.containsKey("rows.columns")) {
+			config.setRowGenerator(parseColumns(properties.getProperty("rows.columns")));
+		}
+
+		config.setQueryTimeout(getInt(properties, "timeout.query", 0));
+		config.setServerSideTimeout(Boolean.parseBoolean(properties.getProperty("timeout.query.server", "false")));
+		config.setProgressInterval(getInt(properties, "progress.interval", config.getProgressInterval()));
+
+		if (Boolean.parseBoolean(properties.getProperty("steadystate", "false"))) {
+			SteadyStateCriterion criterion = new SteadyStateCriterion();
+			criterion.setInterval(getInt(properties, "steadystate.interval", criterion.getInterval()));
+			criterion.setSamples(getInt(properties, "steadystate.samples", criterion.getSamples()));
+			criterion.setTolerance(Double.parseDouble(properties.getProperty("steadystate.tolerance",
+					String.valueOf(criterion.getTolerance())).trim()));
+			criterion.setMinimumWarmup(getInt(properties, "steadystate.warmup", criterion.getMinimumWarmup()));
+			criterion.setMinimumCooldown(getInt(properties, "steadystate.cooldown", criterion.getMinimumCooldown()));
+			config.setSteadyState(criterion);
+		}
+
+		if (properties.containsKey("throttle.latency")) {
+			ThrottleCriterion criterion = new ThrottleCriterion(getInt(properties, "throttle.latency", 0));
+			criterion.setPercentile(Double.parseDouble(properties.getProperty("throttle.percentile",
+					String.valueOf(criterion.getPercentile())).trim()));
+			criterion.setInterval(getInt(properties, "throttle.interval", criterion.getInterval()));
+			criterion.setMaximumPause(getInt(properties, "throttle.pause", criterion.getMaximumPause()));
+			criterion.setMaximumDelay(getInt(properties, "throttle.delay", criterion.getMaximumDelay()));
+			if (properties.containsKey("throttle.workers")) {
+				criterion.setWorkers(LIST.splitToList(properties.getProperty("throttle.workers")));
+			}
+			config.setThrottle(criterion);
+		}
+
+		return new Scenario(backends, properties,
+				getInt(properties, "rows", 10_000_000),
+				Boolean.parseBoolean(properties.getProperty("prepare", "true")),
+				config,
+				LIST.splitToList(properties.getProperty("methods", "naive")),
+				Sets.newHashSet(LIST.split(properties.getProperty("operations.include", ""))),
+				Sets.newHashSet(LIST.split(properties.getProperty("operations.exclude", ""))),
+				getInt(properties, "timeout.startup", 60_000),
+				getInt(properties, "timeout.teardown", 60_000),
+				LIST.splitToList(properties.getProperty("scaling", "")).stream()
+						.map(size -> Integer.parseInt(size.replace("_", "")))
+						.collect(Collectors.toList()));
+	}
+
+	public DatabaseCredentials getCredentials(Database.Type type) {
+		String prefix = type.name() + ".";
+		return new DatabaseCredentials(
+				require(properties, prefix + "url"),
+				require(properties, prefix + "database"),
+				resolve(prefix + "username"),
+				resolve(prefix + "password"));
+	}
+
+	public List<NamedOperation> getOperations(String method) {
+		List<NamedOperation> operations;
+		switch (method) {
+			case "naive":
+				operations = new DefaultOperations().all();
+				break;
+			case "quantumdb":
+				operations = new QuantumDbOperations().all();
+				break;
+			case "backfill":
+				operations = new BackfillOperations(
+						getInt(properties, "backfill.chunk", BackfillOperations.DEFAULT_CHUNK_SIZE),
+						getInt(properties, "backfill.pause", 0)).all();
+				break;
+			case "osc":
+				operations = new OnlineSchemaChangeOperations(
+						getInt(properties, "osc.chunk", OnlineSchemaChangeOperations.DEFAULT_CHUNK_SIZE),
+						getInt(properties, "osc.pause", 0)).all();
+				break;
+			case "retry":
+				operations = new LockRetryOperations(
+						getInt(properties, "retry.timeout", LockRetryOperations.DEFAULT_LOCK_TIMEOUT),
+						getInt(properties, "retry.attempts", LockRetryOperations.DEFAULT_ATTEMPTS),
+						getInt(properties, "retry.backoff", LockRetryOperations.DEFAULT_BACKOFF)).all();
+				break;
+			case "redef":
+				operations = new RedefinitionOperations(
+						getInt(properties, "redef.rounds", RedefinitionOperations.DEFAULT_SYNC_ROUNDS),
+						getInt(properties, "redef.interval", RedefinitionOperations.DEFAULT_SYNC_INTERVAL)).all();
+				break;
+			case "parallel":
+				operations = new ParallelDdlOperations(getParallelDegrees()).all();
+				break;
+			case "fleet":
+				operations = new FleetOperations(getInt(properties, "fleet.parallelism",
+						FleetOperations.DEFAULT_PARALLELISM)).all();
+				break;
+			case "matrix":
+				return new AlterMatrixOperations().wrap(select(new DefaultOperations().all()));
+			default:
+				throw new IllegalArgumentException("Unknown method: " + method);
+		}
+
+		return select(operations);
+	}
+
+	/**
+	 * @return The number of copies of the "users" table to create, or 0 to only create the "users" table.
+	 */
+	public int getFleetTables() {
+		return getInt(properties, "fleet.tables", 0);
+	}
+
+	/**
+	 * @return A copy of the configuration of the workers for the specified method. The workers of the "fleet" method
+	 * query the copies of the "users" table, those of the other methods the "users" table itself.
+	 */
+	public ProfilerConfig getConfig(String method) {
+		int fleet = getFleetTables();
+		if (method.equals("fleet") && fleet > 0) {
+			return config.withTables(DatabaseStructure.getFleetTables(fleet));
+		}
+		return config.withTables(Collections.singletonList("users"));
+	}
+
+	/**
+	 * @return The number of rows to fill every copy of the "users" table with.
+	 */
+	public int getFleetRows() {
+		return getInt(properties, "fleet.rows", 1_000);
+	}
+
+	/**
+	 * @return The degrees of parallelism with which the "parallel" method performs every change.
+	 */
+	public List<Integer> getParallelDegrees() {
+		if (!properties.containsKey("parallel.degrees")) {
+			return ParallelDdlOperations.DEFAULT_DEGREES;
+		}
+		return LIST.splitToList(properties.getProperty("parallel.degrees")).stream()
+				.map(Integer::parseInt)
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * @return True if the "concurrent" key lists operations to perform in a single session.
+	 */
+	public boolean isConcurrent() {
+		return !LIST.splitToList(properties.getProperty("concurrent", "")).isEmpty();
+	}
+
+	/**
+	 * @return The operations of the method named by the "concurrent" key, in the order in which they are listed, or
+	 * an empty list if the operations are not performed concurrently or the method has none of them.
+	 */
+	public List<NamedOperation> getConcurrentOperations(String method) {
+		Map<Integer, NamedOperation> concurrent = matchConcurrentOperations(method);
+		List<String> names = LIST.splitToList(properties.getProperty("concurrent", ""));
+		for (int i = 0; i < names.size(); i++) {
+			if (!concurrent.containsKey(i)) {
+				log.warn("Method: {} has no operation: {}, leaving it out of the concurrent session", method,
+						names.get(i));
+			}
+		}
+		return Lists.newArrayList(concurrent.values());
+	}
+
+	/**
+	 * @return The number of milliseconds to wait before starting each of the concurrent operations of the method,
+	 * which is 0 for operations without an offset in "concurrent.offsets".
+	 */
+	public List<Integer> getConcurrentOffsets(String method) {
+		List<String> offsets = LIST.splitToList(properties.getProperty("concurrent.offsets", ""));
+		List<Integer> concurrent = Lists.newArrayList();
+		for (int index : matchConcurrentOperations(method).keySet()) {
+			concurrent.add(index < offsets.size() ? Integer.parseInt(offsets.get(index)) : 0);
+		}
+		return concurrent;
+	}
+
+	/**
+	 * @return The operations of the method matching the names listed by the "concurrent" key, by the position of
+	 * their name in that list. An operation matches either by its own name, or by its name without the name of the
+	 * method as prefix. Names which the method has no operation for are skipped.
+	 */
+	private Map<Integer, NamedOperation> matchConcurrentOperations(String method) {
+		List<NamedOperation> operations = getOperations(method);
+		List<String> names = LIST.splitToList(properties.getProperty("concurrent", ""));
+
+		Map<Integer, NamedOperation> concurrent = Maps.newLinkedHashMap();
+		for (int i = 0; i < names.size(); i++) {
+			String name = names.get(i);
+			for (NamedOperation operation : operations) {
+				if (operation.getName().equals(name) || operation.getName().equals(method + "-" + name)) {
+					concurrent.put(i, operation);
+					break;
+				}
+			}
+		}
+		return concurrent;
+	}
+
+	/**
+	 * @return The operations which are included and not excluded by the "operations.*" keys.
+	 */
+	private List<NamedOperation> select(List<NamedOperation> operations) {
+		return operations.stream()
+				.filter(operation -> included.isEmpty() || included.contains(operation.getName()))
+				.filter(operation -> !excluded.contains(operation.getName()))
+				.collect(Collectors.toList());
+	}
+
+	private String resolve(String key) {
+		String variable = properties.getProperty(key + ".env");
+		if (!Strings.isNullOrEmpty(variable)) {
+			String value = System.getenv(variable);
+			if (value == null) {
+				throw new IllegalArgumentException("Environment variable: " + variable + " is not set");
+			}
+			return value;
+		}
+		return properties.getProperty(key, "");
+	}
+
+	/**
+	 * Parses columns such as "bio: text(20, 200), age: number(18, 100)", which are added to the name of every row.
+	 */
+	static RowGenerator parseColumns(String columns) {
+		RowGenerator rows = RowGenerator.users();
+		for (String column : COLUMNS.split(columns)) {
+			Matcher matcher = COLUMN.matcher(column);
+			if (!matcher.matches()) {
+				throw new IllegalArgumentException("Expected name: generator in rows.columns, got: " + column);
+			}
+
+			List<String> arguments = LIST.splitToList(Strings.nullToEmpty(matcher.group(3)));
+			long[] values = new long[arguments.size()];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = Long.parseLong(arguments.get(i).replace("_", ""));
+			}
+			rows.withColumn(matcher.group(1), parseGenerator(matcher.group(2).toLowerCase(), values, column));
+		}
+		return rows;
+	}
+
+	private static ValueGenerator parseGenerator(String name, long[] values, String column) {
+		if (name.equals("name") && values.length == 0) {
+			return new NameGenerator();
+		}
+		else if (name.equals("email") && values.length == 0) {
+			return new EmailGenerator();
+		}
+		else if (name.equals("text") && values.length == 2) {
+			return TextGenerator.uniform((int) values[0], (int) values[1]);
+		}
+		else if (name.equals("text") && values.length == 3) {
+			return TextGenerator.normal((int) values[0], (int) values[1], (int) values[2]);
+		}
+		else if (name.equals("number") && values.length == 2) {
+			return new NumberGenerator(values[0], values[1]);
+		}
+		else if (name.equals("timestamp") && values.length == 2) {
+			return new TimestampGenerator(values[0], values[1]);
+		}
+		throw new IllegalArgumentException("Unknown generator in rows.columns: " + column);
+	}
+
+	private static String require(Properties properties, String key) {
+		String value = properties.getProperty(key);
+		if (Strings.isNullOrEmpty(value)) {
+			throw new IllegalArgumentException("Scenario is missing required property: " + key);
+		}
+		return value.trim();
+	}
+
+	private static int getInt(Properties properties, String key, int defaultValue) {
+		String value = properties.getProperty(key);
+		if (Strings.isNullOrEmpty(value)) {
+			return defaultValue;
+		}
+		return Integer.parseInt(value.trim().replace("_", ""));
+	}
+
+}
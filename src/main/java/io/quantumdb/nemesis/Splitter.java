@@ -4,33 +4,49 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
+import com.google.common.collect.Maps;
 import com.google.common.collect.Range;
 import lombok.extern.slf4j.Slf4j;
 
 
+/**
+ * Splits the worker logs of every scenario into the queries started before, during and after the operation, and
+ * writes the error rate and latency of every type of worker in each of those phases to "SUMMARY.tsv". In scenarios
+ * with several operations, the operation lasts from the start of the first until the end of the last one.
+ */
 @Slf4j
 public class Splitter {
 
+	private static final String[] PHASES = { "pre", "during", "post" };
+
 	public static void main(String[] args) throws IOException {
 		File folder = new File(args[0]);
 		File[] scenarios = folder.listFiles(file -> file.isDirectory() && !file.getName().startsWith(".") && !file.getName().startsWith("_") && !file.getName().equals("graphs"));
 		for (File scenario : scenarios) {
-			AtomicLong start = new AtomicLong();
-			AtomicLong end = new AtomicLong();
+			AtomicLong start = new AtomicLong(Long.MAX_VALUE);
+			AtomicLong end = new AtomicLong(Long.MIN_VALUE);
+
+			File[] operations = scenario.listFiles((dir, name) -> name.startsWith("OPERATION") && name.endsWith(".log"));
+			if (operations.length == 0) {
+				continue;
+			}
 
-			File operation = new File(scenario, "OPERATION.log");
-			parse(operation, line -> {
-				start.set(getQueryStart(line));
-				end.set(getQueryEnd(line));
-			});
+			for (File operation : operations) {
+				parse(operation, line -> {
+					start.set(Math.min(start.get(), LogLines.getQueryStart(line)));
+					end.set(Math.max(end.get(), LogLines.getQueryEnd(line)));
+				});
+			}
 
 			long middle = (end.get() - start.get()) / 2 + start.get();
-			Range<Long> preRange = Range.closed(1000L, 51000L);
+			Range<Long> preRange = Range.closedOpen(Math.max(1000L, start.get() - 50000L), start.get());
 			Range<Long> duringRange = Range.closed(middle - 25000L, middle + 25000L);
 			Range<Long> postRange = Range.closed(end.get() + 1000L, end.get() + 51000L);
 
+			Map<String, PhaseStatistics[]> statistics = Maps.newTreeMap();
 			File[] logFiles = scenario.listFiles((dir, name) -> name.endsWith(".log") && !name.contains("OPERATION"));
 			for (File file : logFiles) {
 				log.info("Processing: {}", file.getAbsoluteFile());
@@ -44,15 +60,21 @@ public class Splitter {
 				FileWriter postWriter = new FileWriter(post);
 
 				parse(file, line -> {
-					long queryStart = getQueryStart(line);
+					long queryStart = LogLines.getQueryStart(line);
+					PhaseStatistics[] phases = getPhases(statistics, LogLines.getWorkerType(line));
+
+					long duration = LogLines.getQueryEnd(line) - queryStart;
 					if (preRange.contains(queryStart)) {
 						preWriter.write(line + "\n");
+						phases[0].add(duration, LogLines.getOutcome(line));
 					}
 					else if (duringRange.contains(queryStart)) {
 						duringWriter.write(line + "\n");
+						phases[1].add(duration, LogLines.getOutcome(line));
 					}
 					else if (postRange.contains(queryStart)) {
 						postWriter.write(line + "\n");
+						phases[2].add(duration, LogLines.getOutcome(line));
 					}
 				});
 
@@ -64,6 +86,33 @@ public class Splitter {
 				duringWriter.close();
 				postWriter.close();
 			}
+
+			writeSummary(new File(scenario, "SUMMARY.tsv"), statistics);
+		}
+	}
+
+	private static PhaseStatistics[] getPhases(Map<String, PhaseStatistics[]> statistics, String type) {
+		PhaseStatistics[] phases = statistics.get(type);
+		if (phases == null) {
+			phases = new PhaseStatistics[PHASES.length];
+			for (int i = 0; i < phases.length; i++) {
+				phases[i] = new PhaseStatistics();
+			}
+			statistics.put(type, phases);
+		}
+		return phases;
+	}
+
+	private static void writeSummary(File file, Map<String, PhaseStatistics[]> statistics) throws IOException {
+		try (FileWriter writer = new FileWriter(file)) {
+			writer.write(PhaseStatistics.HEADER + "\n");
+			for (Map.Entry<String, PhaseStatistics[]> entry : statistics.entrySet()) {
+				for (int i = 0; i < PHASES.length; i++) {
+					String row = entry.getValue()[i].toRow(entry.getKey(), PHASES[i]);
+					writer.write(row + "\n");
+					log.info(row);
+				}
+			}
 		}
 	}
 	
@@ -83,21 +132,6 @@ public class Splitter {
 		}
 	}
 	
-	private static String getWorkerType(String line) {
-		return line.substring(0, line.indexOf('\t'));
-	}
-	
-	private static long getQueryStart(String line) {
-		int first = line.indexOf('\t');
-		return Long.parseLong(line.substring(first + 1, line.indexOf('\t', first + 1)));
-	}
-	
-	private static long getQueryEnd(String line) {
-		int first = line.indexOf('\t');
-		int second = line.indexOf('\t', first + 1);
-		return Long.parseLong(line.substring(second + 1, line.indexOf('\t', second + 1)));
-	}
-	
 	@FunctionalInterface
 	private interface Parser {
 		void parse(String line) throws IOException;
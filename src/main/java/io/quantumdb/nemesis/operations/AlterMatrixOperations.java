@@ -0,0 +1,149 @@
+package io.quantumdb.nemesis.operations;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import io.quantumdb.nemesis.structure.Database;
+import io.quantumdb.nemesis.structure.mysql.AlterOptions;
+import io.quantumdb.nemesis.structure.mysql.AlterOptions.Algorithm;
+import io.quantumdb.nemesis.structure.mysql.AlterOptions.Lock;
+import io.quantumdb.nemesis.structure.mysql.MysqlDatabase;
+import io.quantumdb.nemesis.structure.mysql.MysqlVersion;
+
+/**
+ * Performs every change of {@link DefaultOperations} on MySQL with each combination of the ALGORITHM (COPY, INPLACE
+ * and INSTANT) and LOCK (NONE, SHARED and EXCLUSIVE) clauses, as a separate operation. INSTANT does not accept a LOCK
+ * clause, so it is only combined with the default lock. MySQL rejects combinations it cannot honour before it starts
+ * changing the table, and those are recorded as unsupported. MySQL 5.5 accepts no such clauses, and only MySQL 8.0
+ * knows INSTANT, so those combinations are skipped altogether.
+ *
+ * The variants are named after the change, suffixed with the combination, for instance
+ * "add-nullable-column-inplace-none" or "add-nullable-column-instant". Changes which MySQL performs without ALTER
+ * TABLE or CREATE INDEX statements, or not at all, accept no such clauses either. Those are performed only once, on
+ * any version of MySQL, under their own name.
+ */
+public class AlterMatrixOperations {
+
+	public static final List<AlterOptions> COMBINATIONS = Collections.unmodifiableList(Lists.newArrayList(
+			new AlterOptions(Algorithm.COPY, Lock.NONE),
+			new AlterOptions(Algorithm.COPY, Lock.SHARED),
+			new AlterOptions(Algorithm.COPY, Lock.EXCLUSIVE),
+			new AlterOptions(Algorithm.INPLACE, Lock.NONE),
+			new AlterOptions(Algorithm.INPLACE, Lock.SHARED),
+			new AlterOptions(Algorithm.INPLACE, Lock.EXCLUSIVE),
+			new AlterOptions(Algorithm.INSTANT, Lock.DEFAULT)));
+
+	/**
+	 * The changes of {@link DefaultOperations} which send no ALGORITHM and LOCK clauses to MySQL: tables are renamed
+	 * with RENAME TABLE, and MySQL has no unique constraints by this name, nor invisible or online indices.
+	 */
+	public static final Set<String> WITHOUT_CLAUSES = Collections.unmodifiableSet(Sets.newHashSet(
+			"rename-table",
+			"create-unique-constraint-on-column",
+			"create-index-invisible-on-column",
+			"create-index-online-on-column"));
+
+	private static class AlterVariant implements Operation {
+
+		private final NamedOperation operation;
+		private final AlterOptions options;
+
+		private AlterVariant(NamedOperation operation, AlterOptions options) {
+			this.operation = operation;
+			this.options = options;
+		}
+
+		@Override
+		public void prepare(Database backend) throws Exception {
+			operation.prepare(backend);
+		}
+
+		@Override
+		public void perform(Database backend) throws Exception {
+			perform(backend, new OperationContext(null, backend.getCredentials(), null, System.currentTimeMillis()));
+		}
+
+		@Override
+		public void perform(Database backend, OperationContext context) throws Exception {
+			MysqlDatabase mysql = (MysqlDatabase) backend;
+			mysql.setAlterStrategy(change -> options);
+			try {
+				operation.perform(backend, context);
+			}
+			finally {
+				mysql.setAlterStrategy(null);
+			}
+		}
+
+		@Override
+		public void cleanup(Database backend) throws Exception {
+			operation.cleanup(backend);
+		}
+
+		@Override
+		public boolean isSupportedBy(Database backend) {
+			if (!(backend instanceof MysqlDatabase)) {
+				return false;
+			}
+
+			MysqlVersion version = ((MysqlDatabase) backend).getVersion();
+			if (version == MysqlVersion.MYSQL_55 && !options.equals(AlterOptions.DEFAULT)) {
+				return false;
+			}
+			else if (options.getAlgorithm() == Algorithm.INSTANT && version != MysqlVersion.MYSQL_80) {
+				return false;
+			}
+			return operation.isSupportedBy(backend);
+		}
+	}
+
+	/**
+	 * @return Every operation of {@link DefaultOperations}, once for every combination in {@link #COMBINATIONS}
+	 * unless it is listed in {@link #WITHOUT_CLAUSES}.
+	 */
+	public List<NamedOperation> all() {
+		return wrap(new DefaultOperations().all());
+	}
+
+	/**
+	 * @return The specified operations, each once for every combination in {@link #COMBINATIONS}, or only once if
+	 * it is listed in {@link #WITHOUT_CLAUSES}.
+	 */
+	public List<NamedOperation> wrap(List<NamedOperation> changes) {
+		List<NamedOperation> operations = Lists.newArrayList();
+		for (NamedOperation operation : changes) {
+			if (WITHOUT_CLAUSES.contains(operation.getName())) {
+				operations.add(new NamedOperation(operation.getName(),
+						new AlterVariant(operation, AlterOptions.DEFAULT)));
+				continue;
+			}
+
+			for (AlterOptions options : COMBINATIONS) {
+				operations.add(wrap(operation, options));
+			}
+		}
+		return operations;
+	}
+
+	/**
+	 * @return The specified operation, with every change performed with the specified ALGORITHM and LOCK clauses.
+	 */
+	public NamedOperation wrap(NamedOperation operation, AlterOptions options) {
+		return new NamedOperation(operation.getName() + getSuffix(options), new AlterVariant(operation, options));
+	}
+
+	/**
+	 * @return The suffix of the name of a variant, for instance "-inplace-none".
+	 */
+	public static String getSuffix(AlterOptions options) {
+		StringBuilder suffix = new StringBuilder("-").append(options.getAlgorithm().name().toLowerCase());
+		if (options.getLock() != Lock.DEFAULT) {
+			suffix.append('-').append(options.getLock().name().toLowerCase());
+		}
+		return suffix.toString();
+	}
+
+}
@@ -0,0 +1,236 @@
+package io.quantumdb.nemesis.operations;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+import io.quantumdb.nemesis.structure.ColumnDefinition;
+import io.quantumdb.nemesis.structure.Database;
+import io.quantumdb.nemesis.structure.TableDefinition;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Performs changes as expand/backfill/contract migrations: a nullable column is added (expand), filled in ranges of
+ * ids with a pause between every chunk (backfill), after which the remaining rows are caught up and the constraints
+ * are added (contract). Every chunk is recorded as a "backfill-chunk" phase of the operation. Between two chunks the
+ * backfill is held back by the throttle of the session, if any.
+ */
+@Slf4j
+public class BackfillOperations {
+
+	public static final int DEFAULT_CHUNK_SIZE = 10_000;
+
+	private abstract class BackfillOperation implements Operation {
+
+		abstract void expand(Database backend) throws SQLException;
+
+		abstract String backfill(Database backend, OperationContext context) throws SQLException, InterruptedException;
+
+		abstract void contract(Database backend) throws SQLException;
+
+		@Override
+		public void perform(Database backend) throws Exception {
+			perform(backend, new OperationContext(null, backend.getCredentials(), null, System.currentTimeMillis()));
+		}
+
+		@Override
+		public void perform(Database backend, OperationContext context) throws Exception {
+			context.phase("expand", () -> expand(backend));
+			try (OperationContext.Phase phase = context.startPhase("backfill")) {
+				phase.setDetail(backfill(backend, context));
+			}
+			context.phase("contract", () -> contract(backend));
+		}
+
+		/**
+		 * Updates the users table in chunks of consecutive ids.
+		 *
+		 * @return A summary of the number of rows updated, and the rate at which they were updated.
+		 */
+		String backfillInChunks(Database backend, OperationContext context, String assignments)
+				throws SQLException, InterruptedException {
+
+			long start = System.currentTimeMillis();
+			long throttled = context.getThrottledTime();
+			long updated = 0;
+
+			try (Statement statement = backend.getConnection().createStatement()) {
+				ResultSet resultSet = statement.executeQuery("SELECT MIN(id), MAX(id) FROM users");
+				if (resultSet.next() && resultSet.getObject(1) != null) {
+					long minimum = resultSet.getLong(1);
+					long maximum = resultSet.getLong(2);
+
+					for (long from = minimum; from <= maximum; from += chunkSize) {
+						long to = from + chunkSize;
+						long chunkStart = System.currentTimeMillis();
+						int rows = statement.executeUpdate("UPDATE users SET " + assignments
+								+ " WHERE id >= " + from + " AND id < " + to);
+
+						updated += rows;
+						context.recordPhase("backfill-chunk", chunkStart, System.currentTimeMillis(),
+								"ids=[" + from + "," + to + ") rows=" + rows);
+
+						if (pause > 0) {
+							Thread.sleep(pause);
+						}
+						context.throttle();
+					}
+				}
+			}
+
+			long duration = System.currentTimeMillis() - start;
+			double rate = updated / (Math.max(1, duration) / 1000d);
+			throttled = context.getThrottledTime() - throttled;
+
+			log.info("\t\tBackfilled: {} rows in: {} ms at: {} rows/s, throttled for: {} ms", updated, duration,
+					Math.round(rate), throttled);
+			return String.format("rows=%d chunk=%d pause=%dms rate=%.0f/s throttled=%dms", updated, chunkSize, pause,
+					rate, throttled);
+		}
+	}
+
+	private final int chunkSize;
+	private final int pause;
+
+	public BackfillOperations() {
+		this(DEFAULT_CHUNK_SIZE, 0);
+	}
+
+	/**
+	 * @param chunkSize The number of consecutive ids to update in a single statement.
+	 * @param pause The number of milliseconds to wait between two chunks.
+	 */
+	public BackfillOperations(int chunkSize, int pause) {
+		if (chunkSize <= 0) {
+			throw new IllegalArgumentException("The chunk size must be positive");
+		}
+		this.chunkSize = chunkSize;
+		this.pause = pause;
+	}
+
+	public List<NamedOperation> all() {
+		return Lists.newArrayList(
+				addNonNullableColumn(),
+				modifyDataTypeFromIntToText(),
+				addNonNullableForeignKey()
+		);
+	}
+
+	public NamedOperation addNonNullableColumn() {
+		return new NamedOperation("backfill-non-nullable-column", new BackfillOperation() {
+
+			@Override
+			void expand(Database backend) throws SQLException {
+				backend.getTable("users").addColumn(new ColumnDefinition("life_story", "varchar(255)"));
+				backend.getTable("users").getColumn("life_story").setDefaultExpression("'Simple story'");
+			}
+
+			@Override
+			String backfill(Database backend, OperationContext context) throws SQLException, InterruptedException {
+				return backfillInChunks(backend, context, "life_story = 'Simple story'");
+			}
+
+			@Override
+			void contract(Database backend) throws SQLException {
+				backend.query("UPDATE users SET life_story = 'Simple story' WHERE life_story IS NULL");
+				backend.getTable("users").getColumn("life_story").setNullable(false);
+			}
+
+			@Override
+			public void cleanup(Database backend) throws SQLException {
+				backend.getTable("users").getColumn("life_story").drop();
+			}
+		});
+	}
+
+	public NamedOperation modifyDataTypeFromIntToText() {
+		return new NamedOperation("backfill-modify-data-type-from-int-to-text", new BackfillOperation() {
+
+			@Override
+			public void prepare(Database backend) throws SQLException {
+				backend.getTable("users").addColumn(new ColumnDefinition("cnt", "bigint")
+						.setDefaultExpression("8")
+						.setNullable(false));
+			}
+
+			@Override
+			void expand(Database backend) throws SQLException {
+				backend.getTable("users").addColumn(new ColumnDefinition("cnt_text", "text"));
+			}
+
+			@Override
+			String backfill(Database backend, OperationContext context) throws SQLException, InterruptedException {
+				return backfillInChunks(backend, context, "cnt_text = CAST(cnt AS varchar(20))");
+			}
+
+			@Override
+			void contract(Database backend) throws SQLException {
+				backend.query("UPDATE users SET cnt_text = CAST(cnt AS varchar(20)) WHERE cnt_text IS NULL");
+				backend.getTable("users").getColumn("cnt").drop();
+				backend.getTable("users").getColumn("cnt_text").rename("cnt");
+			}
+
+			@Override
+			public void cleanup(Database backend) throws SQLException {
+				for (String column : new String[] { "cnt", "cnt_text" }) {
+					if (backend.getTable("users").hasColumn(column)) {
+						backend.getTable("users").getColumn(column).drop();
+					}
+				}
+			}
+
+			@Override
+			public boolean isSupportedBy(Database backend) {
+				return backend.supports(Database.Feature.DEFAULT_VALUE_FOR_TEXT);
+			}
+		});
+	}
+
+	public NamedOperation addNonNullableForeignKey() {
+		return new NamedOperation("backfill-non-nullable-foreign-key", new BackfillOperation() {
+
+			@Override
+			public void prepare(Database backend) throws SQLException {
+				TableDefinition table = new TableDefinition("addresses")
+						.withColumn(new ColumnDefinition("id", "bigint")
+								.setIdentity(true)
+								.setAutoIncrement(true))
+						.withColumn(new ColumnDefinition("address", "varchar(255)")
+								.setDefaultExpression("''")
+								.setNullable(false));
+
+				backend.createTable(table);
+				backend.query("INSERT INTO addresses (address) VALUES ('Unknown')");
+			}
+
+			@Override
+			void expand(Database backend) throws SQLException {
+				backend.getTable("users").addColumn(new ColumnDefinition("address_id", "bigint"));
+				backend.getTable("users").getColumn("address_id").setDefaultExpression("1");
+			}
+
+			@Override
+			String backfill(Database backend, OperationContext context) throws SQLException, InterruptedException {
+				return backfillInChunks(backend, context, "address_id = 1");
+			}
+
+			@Override
+			void contract(Database backend) throws SQLException {
+				backend.query("UPDATE users SET address_id = 1 WHERE address_id IS NULL");
+				backend.getTable("users").getColumn("address_id").setNullable(false);
+				backend.getTable("users").addForeignKey("users_address", new String[] { "address_id" },
+						"addresses", new String[] { "id" });
+			}
+
+			@Override
+			public void cleanup(Database backend) throws SQLException {
+				backend.getTable("users").getForeignKey("users_address").drop();
+				backend.getTable("users").getColumn("address_id").drop();
+				backend.getTable("addresses").drop();
+			}
+		});
+	}
+
+}
@@ -614,13 +614,23 @@ public class DefaultOperations {
 			}
 
 			@Override
-			public void perform(Database backend) throws SQLException {
-				backend.getTable("users").addForeignKey("users_address", new String[] { "address_id" },
-						"addresses", new String[] { "id" }, false);
+			public void perform(Database backend) throws Exception {
+				perform(backend, new OperationContext(null, backend.getCredentials(), null, System.currentTimeMillis()));
+			}
+
+			/**
+			 * Adds the constraint without checking the existing rows, and checks them afterwards. Each of these steps
+			 * is recorded as a phase, since they take very different locks.
+			 */
+			@Override
+			public void perform(Database backend, OperationContext context) throws Exception {
+				context.phase("add-constraint", () -> backend.getTable("users").addForeignKey("users_address",
+						new String[] { "address_id" }, "addresses", new String[] { "id" }, false));
 
-				backend.getTable("users").getConstraint("users_address").enable("NOVALIDATE");
+				context.phase("enable", () -> backend.getTable("users").getConstraint("users_address")
+						.enable("NOVALIDATE"));
 
-				backend.getTable("users").getConstraint("users_address").validate();
+				context.phase("validate", () -> backend.getTable("users").getConstraint("users_address").validate());
 			}
 
 			@Override
@@ -632,8 +642,7 @@ public class DefaultOperations {
 
 			@Override
 			public boolean isSupportedBy(Database backend) {
-				return backend.supports(Database.Feature.CONSTRAINT_NOVALIDATE_OPTION) &&
-						backend.supports(Database.Feature.CONSTRAINT_DISABLE_OPTION);
+				return backend.supports(Database.Feature.CONSTRAINT_NOVALIDATE_OPTION);
 			}
 
 		});
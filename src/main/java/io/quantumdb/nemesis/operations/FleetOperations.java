@@ -0,0 +1,262 @@
+package io.quantumdb.nemesis.operations;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import io.quantumdb.nemesis.profiler.DatabaseStructure;
+import io.quantumdb.nemesis.structure.ColumnDefinition;
+import io.quantumdb.nemesis.structure.Database;
+import io.quantumdb.nemesis.structure.Table;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies the same change to every table of the fleet created by {@link DatabaseStructure#prepareFleet}, the way a
+ * migration is rolled out over a schema with thousands of tables. The tables are changed by a bounded number of
+ * threads, each on its own connection, which take the next table as soon as they are done with the previous one.
+ * A table which cannot be changed does not stop the others, but fails the operation once all tables were handled.
+ * Outside of a session the tables are changed one after the other, on the connection of the operation.
+ *
+ * The introspection of the catalog by every thread is recorded as a "list-tables" phase, the change of every table
+ * as a "table" phase, and the whole migration as a "fleet" phase with the number of tables changed per second.
+ */
+@Slf4j
+public class FleetOperations {
+
+	public static final int DEFAULT_PARALLELISM = 4;
+
+	/**
+	 * Applies a change to, or reverts it from, a single table of the fleet.
+	 */
+	private interface Change {
+		void apply(Table table) throws SQLException;
+	}
+
+	private class FleetMigration implements Operation {
+
+		private final Change change;
+		private final Change revert;
+
+		private FleetMigration(Change change, Change revert) {
+			this.change = change;
+			this.revert = revert;
+		}
+
+		@Override
+		public void prepare(Database backend) throws Exception {
+			// Nothing to prepare.
+		}
+
+		/**
+		 * Without the context of a session no other connections can be opened, so the tables are changed one after
+		 * the other on the specified connection instead.
+		 */
+		@Override
+		public void perform(Database backend) throws Exception {
+			Map<String, Table> tables = listFleet(backend, null);
+			if (tables.isEmpty()) {
+				throw new SQLException("No tables exist with prefix: " + DatabaseStructure.FLEET_PREFIX);
+			}
+
+			AtomicInteger failed = new AtomicInteger();
+			AtomicReference<SQLException> failure = new AtomicReference<>();
+			migrate(null, tables, new ConcurrentLinkedQueue<>(tables.keySet()), failed, failure);
+
+			if (failure.get() != null) {
+				throw failure.get();
+			}
+		}
+
+		@Override
+		public void perform(Database backend, OperationContext context) throws Exception {
+			long start = System.currentTimeMillis();
+			List<String> names = Lists.newArrayList(listFleet(backend, context).keySet());
+			if (names.isEmpty()) {
+				throw new SQLException("No tables exist with prefix: " + DatabaseStructure.FLEET_PREFIX);
+			}
+
+			Queue<String> remaining = new ConcurrentLinkedQueue<>(names);
+			AtomicInteger failed = new AtomicInteger();
+			AtomicReference<SQLException> failure = new AtomicReference<>();
+
+			int threads = Math.min(parallelism, names.size());
+			ExecutorService executor = Executors.newFixedThreadPool(threads);
+			try {
+				List<Future<?>> futures = Lists.newArrayList();
+				for (int i = 0; i < threads; i++) {
+					futures.add(executor.submit(() -> migrate(context, remaining, failed, failure)));
+				}
+				for (Future<?> future : futures) {
+					future.get();
+				}
+			}
+			catch (ExecutionException e) {
+				if (e.getCause() instanceof Exception) {
+					throw (Exception) e.getCause();
+				}
+				throw e;
+			}
+			finally {
+				executor.shutdownNow();
+			}
+
+			long duration = System.currentTimeMillis() - start;
+			double rate = names.size() / (Math.max(1, duration) / 1000d);
+			String detail = String.format("tables=%d parallelism=%d failed=%d rate=%.1f/s", names.size(), threads,
+					failed.get(), rate);
+
+			context.recordPhase("fleet", start, System.currentTimeMillis(), detail);
+			log.info("\t\tMigrated: {} tables in: {} ms at: {} tables/s, failed: {}", names.size(), duration,
+					Math.round(rate), failed.get());
+
+			if (failure.get() != null) {
+				throw failure.get();
+			}
+		}
+
+		@Override
+		public void cleanup(Database backend) throws Exception {
+			for (Table table : listFleet(backend, null).values()) {
+				revert.apply(table);
+			}
+		}
+
+		@Override
+		public boolean isSupportedBy(Database backend) {
+			return true;
+		}
+
+		/**
+		 * Changes the tables taken from the queue, until it is empty, on a connection of its own.
+		 */
+		private Void migrate(OperationContext context, Queue<String> remaining, AtomicInteger failed,
+				AtomicReference<SQLException> failure) throws SQLException {
+
+			Database backend = context.connect();
+			try {
+				migrate(context, listFleet(backend, context), remaining, failed, failure);
+			}
+			finally {
+				backend.close();
+			}
+			return null;
+		}
+
+		/**
+		 * Changes the tables taken from the queue, until it is empty. A table which was dropped since the tables were
+		 * listed counts as a table which could not be changed.
+		 */
+		private void migrate(OperationContext context, Map<String, Table> tables, Queue<String> remaining,
+				AtomicInteger failed, AtomicReference<SQLException> failure) {
+
+			for (String name = remaining.poll(); name != null; name = remaining.poll()) {
+				long tableStart = System.currentTimeMillis();
+				try {
+					Table table = tables.get(name);
+					if (table == null) {
+						throw new SQLException("Table: " + name + " no longer exists");
+					}
+					change.apply(table);
+					recordTable(context, tableStart, name);
+				}
+				catch (SQLException e) {
+					log.warn("\t\tCould not migrate table: {} - {}", name, e.getMessage());
+					recordTable(context, tableStart, name + " failed");
+					failed.incrementAndGet();
+					failure.compareAndSet(null, e);
+				}
+			}
+		}
+
+		private void recordTable(OperationContext context, long start, String detail) {
+			if (context != null) {
+				context.recordPhase("table", start, System.currentTimeMillis(), detail);
+			}
+		}
+
+		/**
+		 * @return The tables of the fleet by their names, as the backend reports them.
+		 */
+		private Map<String, Table> listFleet(Database backend, OperationContext context) throws SQLException {
+			long start = System.currentTimeMillis();
+			Map<String, Table> tables = Maps.newTreeMap();
+			for (Table table : backend.listTables()) {
+				if (table.getName().toLowerCase().startsWith(DatabaseStructure.FLEET_PREFIX)) {
+					tables.put(table.getName(), table);
+				}
+			}
+
+			if (context != null) {
+				context.recordPhase("list-tables", start, System.currentTimeMillis(), "tables=" + tables.size());
+			}
+			return tables;
+		}
+	}
+
+	private final int parallelism;
+
+	public FleetOperations() {
+		this(DEFAULT_PARALLELISM);
+	}
+
+	/**
+	 * @param parallelism The maximum number of tables which are changed at the same time.
+	 */
+	public FleetOperations(int parallelism) {
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException("The parallelism must be positive");
+		}
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * @return Changes which are applied to every table of the fleet, named after the corresponding operations of
+	 * {@link DefaultOperations} with a "fleet-" prefix.
+	 */
+	public List<NamedOperation> all() {
+		return Lists.newArrayList(addNullableColumn(), addNonNullableColumn(), createIndexOnColumn());
+	}
+
+	public NamedOperation addNullableColumn() {
+		return new NamedOperation("fleet-add-nullable-column", new FleetMigration(
+				table -> table.addColumn(new ColumnDefinition("email", "varchar(255)")),
+				table -> dropColumn(table, "email")));
+	}
+
+	public NamedOperation addNonNullableColumn() {
+		return new NamedOperation("fleet-add-non-nullable-column", new FleetMigration(
+				table -> table.addColumn(new ColumnDefinition("life_story", "varchar(255)")
+						.setDefaultExpression("'Simple story'")
+						.setNullable(false)),
+				table -> dropColumn(table, "life_story")));
+	}
+
+	public NamedOperation createIndexOnColumn() {
+		return new NamedOperation("fleet-create-index-on-column", new FleetMigration(
+				table -> table.createIndex(table.getName() + "_name_idx", false, "name"),
+				table -> dropIndex(table, table.getName() + "_name_idx")));
+	}
+
+	private static void dropColumn(Table table, String name) throws SQLException {
+		if (table.hasColumn(name)) {
+			table.getColumn(name).drop();
+		}
+	}
+
+	private static void dropIndex(Table table, String name) throws SQLException {
+		if (table.hasIndex(name)) {
+			table.getIndex(name).drop();
+		}
+	}
+
+}
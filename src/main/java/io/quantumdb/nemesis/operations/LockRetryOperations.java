@@ -0,0 +1,165 @@
+package io.quantumdb.nemesis.operations;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Sets;
+import io.quantumdb.nemesis.profiler.Outcome;
+import io.quantumdb.nemesis.structure.Database;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Performs operations with a short lock timeout, and retries them after an exponentially growing backoff whenever
+ * they fail to acquire their locks in time. A structural change which waits for a lock blocks every query that
+ * arrives after it, so failing fast and retrying later keeps the queue behind it short, at the expense of the
+ * change taking longer. Operations are retried as a whole, which assumes that a failure to acquire a lock leaves no
+ * partial change behind. This only holds for changes which consist of a single statement that is undone when it is
+ * cancelled, so {@link #all()} leaves out the changes of {@link DefaultOperations} which take several statements
+ * (adding a foreign key with NOVALIDATE) or leave an invalid index behind (creating an index online, which uses
+ * CONCURRENTLY on PostgreSQL).
+ *
+ * Every attempt is recorded as an "attempt" phase, every backoff as a "backoff" phase, and the number of attempts
+ * and the total time spent waiting for locks in a "lock-retry" phase.
+ */
+@Slf4j
+public class LockRetryOperations {
+
+	public static final int DEFAULT_LOCK_TIMEOUT = 1_000;
+	public static final int DEFAULT_ATTEMPTS = 10;
+	public static final int DEFAULT_BACKOFF = 100;
+
+	private static final int MAXIMUM_BACKOFF = 10_000;
+
+	private class LockRetry implements Operation {
+
+		private final NamedOperation operation;
+
+		private LockRetry(NamedOperation operation) {
+			this.operation = operation;
+		}
+
+		@Override
+		public void prepare(Database backend) throws Exception {
+			operation.prepare(backend);
+		}
+
+		@Override
+		public void perform(Database backend) throws Exception {
+			perform(backend, new OperationContext(null, backend.getCredentials(), null, System.currentTimeMillis()));
+		}
+
+		@Override
+		public void perform(Database backend, OperationContext context) throws Exception {
+			long start = System.currentTimeMillis();
+			long blocked = 0;
+			long waited = 0;
+
+			backend.setLockTimeout(lockTimeout);
+			try {
+				for (int attempt = 1; ; attempt++) {
+					long attemptStart = System.currentTimeMillis();
+					try {
+						operation.perform(backend, context);
+						context.recordPhase("attempt", attemptStart, System.currentTimeMillis(),
+								"attempt=" + attempt + " outcome=" + Outcome.SUCCESS);
+
+						String detail = String.format("attempts=%d blocked=%dms backoff=%dms lock-timeout=%dms",
+								attempt, blocked, waited, lockTimeout);
+						context.recordPhase("lock-retry", start, System.currentTimeMillis(), detail);
+						log.info("\t\tPerformed operation after: {} attempt(s), blocked for: {} ms", attempt,
+								blocked);
+						return;
+					}
+					catch (SQLException e) {
+						long attemptEnd = System.currentTimeMillis();
+						Outcome outcome = Outcome.classify(e);
+						context.recordPhase("attempt", attemptStart, attemptEnd,
+								"attempt=" + attempt + " outcome=" + outcome);
+
+						if (outcome != Outcome.LOCK_TIMEOUT || attempt >= attempts) {
+							throw e;
+						}
+						blocked += attemptEnd - attemptStart;
+
+						long backoff = getBackoff(attempt);
+						log.debug("\t\tCould not acquire lock within: {} ms, retrying in: {} ms", lockTimeout, backoff);
+						Thread.sleep(backoff);
+						waited += backoff;
+						context.recordPhase("backoff", attemptEnd, System.currentTimeMillis(), "attempt=" + attempt);
+					}
+				}
+			}
+			finally {
+				backend.setLockTimeout(0);
+			}
+		}
+
+		@Override
+		public void cleanup(Database backend) throws Exception {
+			operation.cleanup(backend);
+		}
+
+		@Override
+		public boolean isSupportedBy(Database backend) {
+			return operation.isSupportedBy(backend);
+		}
+	}
+
+	private final int lockTimeout;
+	private final int attempts;
+	private final int backoff;
+
+	public LockRetryOperations() {
+		this(DEFAULT_LOCK_TIMEOUT, DEFAULT_ATTEMPTS, DEFAULT_BACKOFF);
+	}
+
+	/**
+	 * @param lockTimeout The number of milliseconds to wait for a lock before giving up on an attempt.
+	 * @param attempts The maximum number of attempts, after which the operation fails.
+	 * @param backoff The number of milliseconds to wait before the first retry, which doubles for every retry.
+	 */
+	public LockRetryOperations(int lockTimeout, int attempts, int backoff) {
+		if (lockTimeout <= 0 || attempts <= 0 || backoff < 0) {
+			throw new IllegalArgumentException("The lock timeout and attempts must be positive, and the backoff must "
+					+ "not be negative");
+		}
+		this.lockTimeout = lockTimeout;
+		this.attempts = attempts;
+		this.backoff = backoff;
+	}
+
+	/**
+	 * @return The operations of {@link DefaultOperations} which can safely be retried as a whole, named after them
+	 * with a "retry-" prefix.
+	 */
+	public List<NamedOperation> all() {
+		DefaultOperations changes = new DefaultOperations();
+		Set<String> excluded = Sets.newHashSet(changes.createOnlineIndexOnColumn().getName(),
+				changes.addNullableForeignKeyWithNoValidateOption().getName());
+
+		return changes.all().stream()
+				.filter(operation -> !excluded.contains(operation.getName()))
+				.map(this::wrap)
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * @return The specified operation, performed with a short lock timeout and retried when it times out.
+	 */
+	public NamedOperation wrap(NamedOperation operation) {
+		return new NamedOperation("retry-" + operation.getName(), new LockRetry(operation));
+	}
+
+	/**
+	 * @return The number of milliseconds to wait after the specified attempt: up to twice as long as after the
+	 * previous attempt (and at most ten seconds), of which half is random so that retries do not stay in step.
+	 */
+	private long getBackoff(int attempt) {
+		long maximum = Math.min(MAXIMUM_BACKOFF, (long) backoff << Math.min(attempt - 1, 20));
+		return maximum / 2 + ThreadLocalRandom.current().nextLong(maximum / 2 + 1);
+	}
+
+}
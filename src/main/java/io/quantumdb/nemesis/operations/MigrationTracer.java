@@ -0,0 +1,130 @@
+package io.quantumdb.nemesis.operations;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Sets;
+import io.quantumdb.nemesis.structure.Database;
+import io.quantumdb.nemesis.structure.Table;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Breaks a QuantumDB migration down into phases by observing the catalog from a separate connection while the
+ * migrator runs, since the migrator itself reports nothing until it is done. The phases are:
+ *
+ * <ul>
+ *     <li>ghost-tables: until the ghost tables appear.</li>
+ *     <li>triggers: until the triggers which keep the ghost tables in sync appear on the source table.</li>
+ *     <li>data-copy: until the number of rows inserted into the ghost tables stops growing.</li>
+ *     <li>cut-over: until the migrator returns.</li>
+ * </ul>
+ *
+ * Phase boundaries are only as precise as the polling interval, and the inserted rows are taken from PostgreSQL's
+ * statistics views, which lag behind by up to a second.
+ */
+@Slf4j
+class MigrationTracer {
+
+	private static final long POLL_INTERVAL = 100;
+
+	private final OperationContext context;
+	private final Database observer;
+	private final String sourceTable;
+	private final Set<String> existingTables;
+
+	private ScheduledExecutorService executor;
+	private long started;
+	private volatile Set<String> ghostTables;
+	private volatile long ghostTablesAt;
+	private volatile long triggersAt;
+	private volatile long copiedAt;
+	private volatile long copiedRows;
+
+	MigrationTracer(OperationContext context, Database observer, String sourceTable) throws SQLException {
+		this.context = context;
+		this.observer = observer;
+		this.sourceTable = sourceTable;
+		this.existingTables = listTableNames();
+	}
+
+	void start() {
+		started = System.currentTimeMillis();
+		executor = Executors.newSingleThreadScheduledExecutor();
+		executor.scheduleWithFixedDelay(this::poll, 0, POLL_INTERVAL, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stops observing the migration, and records the phases which were observed.
+	 */
+	void stop() throws InterruptedException {
+		long ended = System.currentTimeMillis();
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+
+		if (ghostTablesAt == 0 || triggersAt == 0) {
+			context.recordPhase("migrate", started, ended, "phases could not be observed");
+			return;
+		}
+
+		long copyEnded = Math.max(copiedAt, triggersAt);
+		double seconds = Math.max(1, copyEnded - triggersAt) / 1000d;
+
+		context.recordPhase("ghost-tables", started, ghostTablesAt, String.join(",", ghostTables));
+		context.recordPhase("triggers", ghostTablesAt, triggersAt, "");
+		context.recordPhase("data-copy", triggersAt, copyEnded,
+				String.format("rows=%d rate=%.0f/s", copiedRows, copiedRows / seconds));
+		context.recordPhase("cut-over", copyEnded, ended, "");
+	}
+
+	private void poll() {
+		try {
+			long now = System.currentTimeMillis();
+			if (ghostTablesAt == 0) {
+				Set<String> created = Sets.difference(listTableNames(), existingTables).immutableCopy();
+				if (!created.isEmpty()) {
+					ghostTables = created;
+					ghostTablesAt = now;
+				}
+			}
+			if (ghostTablesAt != 0 && triggersAt == 0) {
+				if (!observer.getTable(sourceTable).listTriggers().isEmpty()) {
+					triggersAt = now;
+				}
+			}
+			if (triggersAt != 0) {
+				long rows = countInsertedRows();
+				if (rows > copiedRows) {
+					copiedRows = rows;
+					copiedAt = now;
+				}
+			}
+		}
+		catch (SQLException e) {
+			log.debug("Could not observe migration: {}", e.getMessage());
+		}
+	}
+
+	private Set<String> listTableNames() throws SQLException {
+		List<Table> tables = observer.listTables();
+		return tables.stream()
+				.map(Table::getName)
+				.collect(Collectors.toSet());
+	}
+
+	private long countInsertedRows() throws SQLException {
+		String query = "SELECT COALESCE(SUM(n_tup_ins), 0) FROM pg_stat_user_tables WHERE relname = ANY (?)";
+		try (PreparedStatement statement = observer.getConnection().prepareStatement(query)) {
+			statement.setArray(1, observer.getConnection().createArrayOf("varchar", ghostTables.toArray()));
+			ResultSet resultSet = statement.executeQuery();
+			return resultSet.next() ? resultSet.getLong(1) : 0;
+		}
+	}
+
+}
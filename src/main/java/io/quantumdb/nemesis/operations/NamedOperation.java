@@ -17,6 +17,11 @@ public class NamedOperation implements Operation {
 	public void perform(Database backend) throws Exception {
 		operation.perform(backend);
 	}
+
+	@Override
+	public void perform(Database backend, OperationContext context) throws Exception {
+		operation.perform(backend, context);
+	}
 	
 	@Override
 	public void prepare(Database backend) throws Exception {
@@ -0,0 +1,243 @@
+package io.quantumdb.nemesis.operations;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
+import io.quantumdb.nemesis.structure.Database;
+import io.quantumdb.nemesis.structure.Table;
+import io.quantumdb.nemesis.structure.Trigger;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Performs the changes of {@link DefaultOperations} without altering the "users" table in place, the way online
+ * schema change tools do for databases which cannot change a table without blocking it:
+ *
+ * <ol>
+ * <li>An empty shadow table with the same columns and primary key is created, and the change is applied to it.</li>
+ * <li>Triggers on the "users" table apply every insert, update and delete to the shadow table as well.</li>
+ * <li>The rows are copied to the shadow table in chunks of consecutive ids, skipping rows the triggers copied.</li>
+ * <li>The shadow table replaces the "users" table with an atomic rename, after which the old table is dropped.</li>
+ * </ol>
+ *
+ * Every step is recorded as a phase of the operation, and every chunk as a "copy-chunk" phase. Between two chunks
+ * the copy is held back by the throttle of the session, if any. Foreign keys are not copied to the shadow table, and
+ * secondary indices only by backends which can copy the structure of a table natively.
+ */
+@Slf4j
+public class OnlineSchemaChangeOperations {
+
+	public static final int DEFAULT_CHUNK_SIZE = 10_000;
+
+	static final String TABLE = "users";
+	static final String SHADOW_TABLE = "users_osc_new";
+	static final String ARCHIVED_TABLE = "users_osc_old";
+	static final String TRIGGER = "users_osc_sync";
+	static final String KEY = "id";
+
+	private static final int COPY_ATTEMPTS = 3;
+
+	private class OnlineSchemaChange implements Operation {
+
+		private final ShadowChange change;
+
+		private OnlineSchemaChange(ShadowChange change) {
+			this.change = change;
+		}
+
+		@Override
+		public void prepare(Database backend) throws Exception {
+			change.getChange().prepare(backend);
+		}
+
+		@Override
+		public void perform(Database backend) throws Exception {
+			perform(backend, new OperationContext(null, backend.getCredentials(), null, System.currentTimeMillis()));
+		}
+
+		@Override
+		public void perform(Database backend, OperationContext context) throws Exception {
+			Table table = backend.getTable(TABLE);
+
+			Table shadow = context.phase("create-shadow-table", () -> {
+				Table created = table.createShadowTable(SHADOW_TABLE);
+				change.getAlteration().alter(created);
+				return created;
+			});
+
+			Map<String, String> columns = change.mapColumns(table, shadow);
+			String key = findKey(columns);
+			context.phase("install-triggers", () -> table.createMirrorTriggers(TRIGGER, shadow, key, columns));
+
+			try (OperationContext.Phase phase = context.startPhase("copy")) {
+				phase.setDetail(copyInChunks(backend, context, shadow, key, columns));
+			}
+
+			context.phase("swap", () -> backend.atomicTableRename(SHADOW_TABLE, TABLE, ARCHIVED_TABLE));
+
+			context.phase("drop-old-table", () -> {
+				Table archived = backend.getTable(ARCHIVED_TABLE);
+				dropMirrorTriggers(archived);
+				archived.drop();
+			});
+		}
+
+		@Override
+		public void cleanup(Database backend) throws Exception {
+			if (backend.hasTable(TABLE)) {
+				dropMirrorTriggers(backend.getTable(TABLE));
+			}
+			for (String leftover : new String[] { SHADOW_TABLE, ARCHIVED_TABLE }) {
+				if (backend.hasTable(leftover)) {
+					Table table = backend.getTable(leftover);
+					dropMirrorTriggers(table);
+					table.drop();
+				}
+			}
+			change.getChange().cleanup(backend);
+		}
+
+		@Override
+		public boolean isSupportedBy(Database backend) {
+			return change.isSupportedBy(backend);
+		}
+
+		/**
+		 * Copies the rows of the table to the shadow table in chunks of consecutive ids. Rows which the triggers
+		 * copied already are skipped. When a chunk conflicts with a row copied concurrently by the triggers, the
+		 * chunk is retried.
+		 *
+		 * @return A summary of the number of rows copied, and the rate at which they were copied.
+		 */
+		private String copyInChunks(Database backend, OperationContext context, Table shadow, String key,
+				Map<String, String> columns) throws SQLException, InterruptedException {
+
+			String copy = String.format("INSERT INTO %s (%s) SELECT %s FROM %s s WHERE s.%s >= %%d AND s.%s < %%d "
+							+ "AND NOT EXISTS (SELECT 1 FROM %s t WHERE t.%s = s.%s)",
+					shadow.getName(), Joiner.on(", ").join(columns.values()),
+					"s." + Joiner.on(", s.").join(columns.keySet()), TABLE, key, key,
+					shadow.getName(), columns.get(key), key);
+
+			long start = System.currentTimeMillis();
+			long throttled = context.getThrottledTime();
+			long copied = 0;
+			int retries = 0;
+
+			try (Statement statement = backend.getConnection().createStatement()) {
+				ResultSet resultSet = statement.executeQuery("SELECT MIN(" + key + "), MAX(" + key + ") FROM " + TABLE);
+				if (resultSet.next() && resultSet.getObject(1) != null) {
+					long minimum = resultSet.getLong(1);
+					long maximum = resultSet.getLong(2);
+
+					for (long from = minimum; from <= maximum; from += chunkSize) {
+						long to = from + chunkSize;
+						long chunkStart = System.currentTimeMillis();
+
+						int rows = 0;
+						for (int attempt = 1; ; attempt++) {
+							try {
+								rows = statement.executeUpdate(String.format(copy, from, to));
+								break;
+							}
+							catch (SQLException e) {
+								if (attempt >= COPY_ATTEMPTS || !isConflict(e)) {
+									throw e;
+								}
+								log.debug("\t\tRetrying chunk: [{},{}) after: {}", from, to, e.getMessage());
+								retries++;
+							}
+						}
+
+						copied += rows;
+						context.recordPhase("copy-chunk", chunkStart, System.currentTimeMillis(),
+								"ids=[" + from + "," + to + ") rows=" + rows);
+
+						if (pause > 0) {
+							Thread.sleep(pause);
+						}
+						context.throttle();
+					}
+				}
+			}
+
+			long duration = System.currentTimeMillis() - start;
+			double rate = copied / (Math.max(1, duration) / 1000d);
+			throttled = context.getThrottledTime() - throttled;
+
+			log.info("\t\tCopied: {} rows in: {} ms at: {} rows/s, throttled for: {} ms", copied, duration,
+					Math.round(rate), throttled);
+			return String.format("rows=%d chunk=%d pause=%dms rate=%.0f/s retries=%d throttled=%dms", copied,
+					chunkSize, pause, rate, retries, throttled);
+		}
+
+		/**
+		 * @return The name of the key column as the backend reports it, which is how the columns are mapped.
+		 */
+		private String findKey(Map<String, String> columns) throws SQLException {
+			for (String column : columns.keySet()) {
+				if (column.equalsIgnoreCase(KEY)) {
+					return column;
+				}
+			}
+			throw new SQLException("Could not find column: " + KEY);
+		}
+
+		/**
+		 * @return True if the exception indicates a conflict with a concurrent transaction (a duplicate key,
+		 * a serialization failure or a deadlock), after which the statement can be retried.
+		 */
+		private boolean isConflict(SQLException e) {
+			String state = e.getSQLState();
+			return state != null && (state.startsWith("23") || state.equals("40001") || state.equals("40P01"));
+		}
+	}
+
+	private final int chunkSize;
+	private final int pause;
+	private final DefaultOperations changes = new DefaultOperations();
+
+	public OnlineSchemaChangeOperations() {
+		this(DEFAULT_CHUNK_SIZE, 0);
+	}
+
+	/**
+	 * @param chunkSize The number of consecutive ids to copy in a single statement.
+	 * @param pause The number of milliseconds to wait between two chunks.
+	 */
+	public OnlineSchemaChangeOperations(int chunkSize, int pause) {
+		if (chunkSize <= 0) {
+			throw new IllegalArgumentException("The chunk size must be positive");
+		}
+		this.chunkSize = chunkSize;
+		this.pause = pause;
+	}
+
+	/**
+	 * @return The changes of {@link DefaultOperations} which can be applied to a shadow table, named after those
+	 * operations with an "osc-" prefix. Changes to indices which are not copied to the shadow table (renaming and
+	 * dropping them), and changes which are about how an index is built (invisible and online indices) are left out.
+	 */
+	public List<NamedOperation> all() {
+		List<NamedOperation> operations = Lists.newArrayList();
+		for (ShadowChange change : ShadowChange.all(changes)) {
+			operations.add(new NamedOperation("osc-" + change.getChange().getName(), new OnlineSchemaChange(change)));
+		}
+		return operations;
+	}
+
+	/**
+	 * Drops the triggers which mirror the changes to the specified table into the shadow table.
+	 */
+	private static void dropMirrorTriggers(Table table) throws SQLException {
+		for (Trigger trigger : table.listTriggers()) {
+			if (trigger.getName().toLowerCase().startsWith(TRIGGER)) {
+				trigger.drop();
+			}
+		}
+	}
+
+}
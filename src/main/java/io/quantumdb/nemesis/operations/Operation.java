@@ -8,6 +8,14 @@ public interface Operation {
 
 	void perform(Database backend) throws Exception;
 
+	/**
+	 * Performs the operation within the context of a profiling session. Operations which can break their work down
+	 * into phases override this method to record them.
+	 */
+	default void perform(Database backend, OperationContext context) throws Exception {
+		perform(backend);
+	}
+
 	default void cleanup(Database backend) throws Exception {}
 
 	default boolean isSupportedBy(Database backend) {
@@ -0,0 +1,179 @@
+package io.quantumdb.nemesis.operations;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.SQLException;
+
+import io.quantumdb.nemesis.structure.Database;
+import io.quantumdb.nemesis.structure.DatabaseCredentials;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Gives an operation access to the session it is performed in. Operations can record the phases they go through
+ * into a timeline with the columns "phase \t start \t end \t duration \t detail", which is written next to the
+ * operation's log and uses the same clock. The file is only created once the first phase is recorded.
+ */
+@Slf4j
+public class OperationContext implements AutoCloseable {
+
+	/**
+	 * A step of an operation which is recorded as a phase by {@link #phase(String, SqlRunnable)}.
+	 */
+	@FunctionalInterface
+	public interface SqlRunnable {
+		void run() throws SQLException;
+	}
+
+	/**
+	 * A step of an operation with a result, which is recorded as a phase by {@link #phase(String, SqlCallable)}.
+	 */
+	@FunctionalInterface
+	public interface SqlCallable<T> {
+		T call() throws SQLException;
+	}
+
+	/**
+	 * A phase of an operation which ends when it is closed.
+	 */
+	public class Phase implements AutoCloseable {
+
+		private final String name;
+		private final long start = System.currentTimeMillis();
+		private String detail = "";
+
+		private Phase(String name) {
+			this.name = name;
+		}
+
+		public void setDetail(String detail) {
+			this.detail = detail;
+		}
+
+		@Override
+		public void close() {
+			recordPhase(name, start, System.currentTimeMillis(), detail);
+		}
+	}
+
+	private final Database.Type type;
+	private final DatabaseCredentials credentials;
+	private final File file;
+	private final long startingTimestamp;
+
+	private Writer writer;
+	private Throttle throttle = Throttle.NONE;
+	private long throttledTime;
+
+	/**
+	 * @param file The file to write the phases to, or null to only log them.
+	 */
+	public OperationContext(Database.Type type, DatabaseCredentials credentials, File file, long startingTimestamp) {
+		this.type = type;
+		this.credentials = credentials;
+		this.file = file;
+		this.startingTimestamp = startingTimestamp;
+	}
+
+	/**
+	 * Opens an additional connection to the database, for instance to observe the operation while it runs. This
+	 * requires the type of the database, which only contexts of a session know.
+	 */
+	public Database connect() throws SQLException {
+		if (type == null) {
+			throw new SQLException("Cannot open another connection without the type of the database");
+		}
+		Database backend = type.createBackend();
+		backend.connect(credentials);
+		return backend;
+	}
+
+	/**
+	 * Sets the throttle which long-running operations consult between two units of work.
+	 */
+	public void setThrottle(Throttle throttle) {
+		this.throttle = throttle;
+	}
+
+	/**
+	 * Blocks while the throttle holds the operation back, and records the time held back as a "throttled" phase.
+	 */
+	public void throttle() throws InterruptedException {
+		long start = System.currentTimeMillis();
+		long waited = throttle.await();
+		if (waited > 0) {
+			throttledTime += waited;
+			recordPhase("throttled", start, System.currentTimeMillis(), throttle.toString());
+		}
+	}
+
+	/**
+	 * @return The total number of milliseconds the operation was held back by its throttle.
+	 */
+	public long getThrottledTime() {
+		return throttledTime;
+	}
+
+	public Phase startPhase(String name) {
+		return new Phase(name);
+	}
+
+	/**
+	 * Performs the specified step, and records it as a phase with the specified name, also when it fails.
+	 */
+	public void phase(String name, SqlRunnable step) throws SQLException {
+		long start = System.currentTimeMillis();
+		try {
+			step.run();
+		}
+		finally {
+			recordPhase(name, start, System.currentTimeMillis(), "");
+		}
+	}
+
+	/**
+	 * Performs the specified step, and records it as a phase with the specified name, also when it fails.
+	 *
+	 * @return The result of the step.
+	 */
+	public <T> T phase(String name, SqlCallable<T> step) throws SQLException {
+		long start = System.currentTimeMillis();
+		try {
+			return step.call();
+		}
+		finally {
+			recordPhase(name, start, System.currentTimeMillis(), "");
+		}
+	}
+
+	/**
+	 * Records a phase which started and ended at the specified times (as returned by System.currentTimeMillis).
+	 */
+	public synchronized void recordPhase(String name, long start, long end, String detail) {
+		log.debug("\t\tPhase: {} took: {} ms {}", name, end - start, detail);
+		if (file == null) {
+			return;
+		}
+
+		try {
+			if (writer == null) {
+				writer = new FileWriter(file);
+			}
+			writer.write(name + "\t" + (start - startingTimestamp) + "\t" + (end - startingTimestamp) + "\t"
+					+ (end - start) + "\t" + detail + "\n");
+			writer.flush();
+		}
+		catch (IOException e) {
+			log.warn("Could not record phase: " + name + " - " + e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (writer != null) {
+			writer.close();
+		}
+	}
+
+}
@@ -0,0 +1,129 @@
+package io.quantumdb.nemesis.operations;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+import io.quantumdb.nemesis.structure.Database;
+import io.quantumdb.nemesis.structure.Database.Feature;
+
+/**
+ * Performs the changes of {@link DefaultOperations} which build indices or rewrite the table once for every degree
+ * of parallelism in a sweep, as separate operations. A higher degree shortens the change, but competes with the
+ * workers for processors and I/O while it runs, which shows up as a higher latency of their queries.
+ *
+ * The variants are named after the change, suffixed with the degree, for instance "create-index-on-column-parallel-4".
+ * Every variant records a "parallel-ddl" phase with the degree which was used.
+ */
+public class ParallelDdlOperations {
+
+	public static final List<Integer> DEFAULT_DEGREES = Collections.unmodifiableList(Lists.newArrayList(1, 2, 4, 8));
+
+	private static class ParallelDdl implements Operation {
+
+		private final NamedOperation operation;
+		private final int degree;
+
+		private ParallelDdl(NamedOperation operation, int degree) {
+			this.operation = operation;
+			this.degree = degree;
+		}
+
+		@Override
+		public void prepare(Database backend) throws Exception {
+			operation.prepare(backend);
+		}
+
+		@Override
+		public void perform(Database backend) throws Exception {
+			perform(backend, new OperationContext(null, backend.getCredentials(), null, System.currentTimeMillis()));
+		}
+
+		@Override
+		public void perform(Database backend, OperationContext context) throws Exception {
+			backend.setDdlParallelism(degree);
+			try (OperationContext.Phase phase = context.startPhase("parallel-ddl")) {
+				phase.setDetail("degree=" + degree);
+				operation.perform(backend, context);
+			}
+			finally {
+				backend.setDdlParallelism(0);
+			}
+		}
+
+		@Override
+		public void cleanup(Database backend) throws Exception {
+			operation.cleanup(backend);
+		}
+
+		@Override
+		public boolean isSupportedBy(Database backend) {
+			return backend.supports(Feature.PARALLEL_DDL) && operation.isSupportedBy(backend);
+		}
+	}
+
+	private final List<Integer> degrees;
+
+	public ParallelDdlOperations() {
+		this(DEFAULT_DEGREES);
+	}
+
+	/**
+	 * @param degrees The degrees of parallelism to perform every change with.
+	 */
+	public ParallelDdlOperations(List<Integer> degrees) {
+		for (int degree : degrees) {
+			if (degree <= 0) {
+				throw new IllegalArgumentException("The degree of parallelism must be positive");
+			}
+		}
+		this.degrees = degrees;
+	}
+
+	/**
+	 * @return The changes of {@link DefaultOperations} which build an index or rewrite the table, once for every
+	 * degree of parallelism.
+	 */
+	public List<NamedOperation> all() {
+		DefaultOperations changes = new DefaultOperations();
+		return wrap(Lists.newArrayList(
+				changes.createIndexOnColumn(),
+				changes.createIndexOnNullableColumn(),
+				changes.createOnlineIndexOnColumn(),
+				changes.createUniqueConstraintOnColumn(),
+				changes.addNonNullableColumn(),
+				changes.modifyDataTypeOnNullableColumn(),
+				changes.modifyDataTypeOnNonNullableColumn(),
+				changes.modifyDataTypeFromIntToText()));
+	}
+
+	/**
+	 * @return The specified operations, each once for every degree of parallelism.
+	 */
+	public List<NamedOperation> wrap(List<NamedOperation> changes) {
+		List<NamedOperation> operations = Lists.newArrayList();
+		for (NamedOperation operation : changes) {
+			for (int degree : degrees) {
+				operations.add(new NamedOperation(operation.getName() + getSuffix(degree),
+						new ParallelDdl(operation, degree)));
+			}
+		}
+		return operations;
+	}
+
+	/**
+	 * @return The suffixes of the names of the variants, for instance "-parallel-4", in the order of the degrees.
+	 */
+	public List<String> getSuffixes() {
+		List<String> suffixes = Lists.newArrayList();
+		for (int degree : degrees) {
+			suffixes.add(getSuffix(degree));
+		}
+		return suffixes;
+	}
+
+	private static String getSuffix(int degree) {
+		return "-parallel-" + degree;
+	}
+
+}
@@ -13,9 +13,11 @@ import static io.quantumdb.core.schema.operations.SchemaOperations.renameTable;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import io.quantumdb.core.backends.Backend;
 import io.quantumdb.core.backends.Config;
 import io.quantumdb.core.schema.definitions.Catalog;
@@ -24,6 +26,7 @@ import io.quantumdb.core.versioning.Changelog;
 import io.quantumdb.core.versioning.State;
 import io.quantumdb.core.versioning.TableMapping;
 import io.quantumdb.core.versioning.Version;
+import io.quantumdb.nemesis.profiler.DatabaseStructure;
 import io.quantumdb.nemesis.structure.ColumnDefinition;
 import io.quantumdb.nemesis.structure.Database;
 import io.quantumdb.nemesis.structure.DatabaseCredentials;
@@ -32,24 +35,43 @@ import io.quantumdb.nemesis.structure.TableDefinition;
 import io.quantumdb.nemesis.structure.Trigger;
 import lombok.extern.slf4j.Slf4j;
 
-
+/**
+ * Performs the changes of {@link DefaultOperations} as QuantumDB migrations, which copy the table into a ghost table
+ * kept in sync by triggers, and switch over once the copy is complete.
+ *
+ * Every operation loads the full state of QuantumDB (its catalog, changelog and table mappings) when it is prepared.
+ * Only the backends are cached between operations: the cleanup of every operation drops tables behind the back of
+ * QuantumDB, and QuantumDB cannot refresh a loaded state incrementally, so a cached state would describe tables
+ * which no longer exist. On schemas with many tables the preparation of every operation therefore takes longer.
+ */
 @Slf4j
 public class QuantumDbOperations {
 
-	private abstract static class QuantumDbOperation implements Operation {
+	/**
+	 * QuantumDB backends are shared by all operations created by this instance, so that the backend for a database
+	 * is configured only once per profiling session instead of once for every prepare and perform.
+	 */
+	private final Map<DatabaseCredentials, Backend> backends = Maps.newConcurrentMap();
+
+	private abstract class QuantumDbOperation implements Operation {
+
+		/**
+		 * The state loaded when the operation was prepared, which is still current when it is performed.
+		 */
+		private State preparedState;
 
 		abstract void createChangeSet(Changelog changelog);
 
 		@Override
 		public void prepare(Database backendDatabase) throws Exception {
-			Backend backend = createBackend(backendDatabase);
-			prepareQuantumDb(backend);
+			Backend backend = getBackend(backendDatabase);
+			preparedState = prepareQuantumDb(backend);
 		}
 
 		@Override
 		public void perform(Database backendDatabase) throws Exception {
-			Backend backend = createBackend(backendDatabase);
-			State state = prepareQuantumDb(backend);
+			Backend backend = getBackend(backendDatabase);
+			State state = takePreparedState(backend);
 			Changelog changelog = state.getChangelog();
 
 			createChangeSet(changelog);
@@ -59,24 +81,62 @@ public class QuantumDbOperations {
 		}
 
 		@Override
-		public void cleanup(Database backendDatabase) throws Exception {
-			while (true) {
-				List<String> tableNames = backendDatabase.listTables().stream()
-						.map(io.quantumdb.nemesis.structure.Table::getName)
-						.filter(name -> !name.equals("users"))
-						.collect(Collectors.toList());
-
-				while (!tableNames.isEmpty()) {
-					try {
-						backendDatabase.query("DROP TABLE " + tableNames.remove(0) + " CASCADE");
-					}
-					catch (SQLException e) {
-						log.warn(e.getMessage(), e);
-					}
+		public void perform(Database backendDatabase, OperationContext context) throws Exception {
+			Backend backend = getBackend(backendDatabase);
+
+			State state = context.phase("load-state", () -> takePreparedState(backend));
+
+			Changelog changelog = state.getChangelog();
+			context.phase("persist-changelog", () -> {
+				createChangeSet(changelog);
+				backend.persistState(state);
+			});
+
+			Database observer = context.connect();
+			try {
+				MigrationTracer tracer = new MigrationTracer(context, observer, "users");
+				tracer.start();
+				try {
+					backend.getMigrator().migrate(state, changelog.getRoot(), changelog.getLastAdded());
 				}
+				finally {
+					tracer.stop();
+				}
+			}
+			finally {
+				observer.close();
+			}
+		}
+
+		/**
+		 * Drops all tables created by QuantumDB in a single statement, and the triggers it installed on the users
+		 * table. Falls back to dropping the tables one by one if the single statement fails. The tables of the fleet
+		 * are left in place, since they are created once for all methods.
+		 */
+		@Override
+		public void cleanup(Database backendDatabase) throws Exception {
+			preparedState = null;
+
+			List<String> tableNames = backendDatabase.listTables().stream()
+					.map(io.quantumdb.nemesis.structure.Table::getName)
+					.filter(name -> !name.equals("users"))
+					.filter(name -> !name.toLowerCase().startsWith(DatabaseStructure.FLEET_PREFIX))
+					.collect(Collectors.toList());
 
-				if (tableNames.isEmpty()) {
-					break;
+			if (!tableNames.isEmpty()) {
+				try {
+					backendDatabase.query("DROP TABLE " + String.join(", ", tableNames) + " CASCADE");
+				}
+				catch (SQLException e) {
+					log.warn("Could not drop tables: " + tableNames + " at once, dropping them one by one", e);
+					for (String tableName : tableNames) {
+						try {
+							backendDatabase.query("DROP TABLE IF EXISTS " + tableName + " CASCADE");
+						}
+						catch (SQLException e1) {
+							log.warn(e1.getMessage(), e1);
+						}
+					}
 				}
 			}
 
@@ -86,6 +146,12 @@ public class QuantumDbOperations {
 			}
 		}
 
+		private State takePreparedState(Backend backend) throws SQLException {
+			State state = preparedState;
+			preparedState = null;
+			return state != null ? state : prepareQuantumDb(backend);
+		}
+
 		private State prepareQuantumDb(Backend backend) throws SQLException {
 			State state = backend.loadState();
 			Catalog catalog = state.getCatalog();
@@ -101,23 +167,26 @@ public class QuantumDbOperations {
 			return state;
 		}
 
-		private Backend createBackend(Database backendDatabase) {
-			DatabaseCredentials credentials = backendDatabase.getCredentials();
-			String url = credentials.getUrl();
-			String database = credentials.getDatabase();
-			String user = credentials.getUsername();
-			String pass = credentials.getPassword();
-
-			Config config = new Config();
-			config.setUrl(url);
-			config.setUser(user);
-			config.setPassword(pass);
-			config.setCatalog(database);
-			config.setDriver("org.postgresql.Driver");
-			return config.getBackend();
+		private Backend getBackend(Database backendDatabase) {
+			return backends.computeIfAbsent(backendDatabase.getCredentials(), QuantumDbOperations::createBackend);
 		}
 	}
 
+	private static Backend createBackend(DatabaseCredentials credentials) {
+		String url = credentials.getUrl();
+		String database = credentials.getDatabase();
+		String user = credentials.getUsername();
+		String pass = credentials.getPassword();
+
+		Config config = new Config();
+		config.setUrl(url);
+		config.setUser(user);
+		config.setPassword(pass);
+		config.setCatalog(database);
+		config.setDriver("org.postgresql.Driver");
+		return config.getBackend();
+	}
+
 	public List<NamedOperation> all() {
 		return Lists.newArrayList(
 				createIndexOnColumn(),
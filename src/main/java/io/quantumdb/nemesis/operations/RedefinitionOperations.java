@@ -0,0 +1,219 @@
+package io.quantumdb.nemesis.operations;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Lists;
+import io.quantumdb.nemesis.structure.Database;
+import io.quantumdb.nemesis.structure.Table;
+import io.quantumdb.nemesis.structure.oracle11.Oracle11Database;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Performs the changes of {@link DefaultOperations} on Oracle with online redefinition (DBMS_REDEFINITION), which
+ * is the native counterpart of the trigger-based {@link OnlineSchemaChangeOperations}:
+ *
+ * <ol>
+ * <li>An empty interim table with the same columns and primary key is created, and the change is applied to it.</li>
+ * <li>START_REDEF_TABLE copies the rows to the interim table, and starts logging changes to the "users" table.</li>
+ * <li>COPY_TABLE_DEPENDENTS copies the indices, triggers and privileges of the "users" table.</li>
+ * <li>SYNC_INTERIM_TABLE applies the logged changes to the interim table, a configurable number of times.</li>
+ * <li>FINISH_REDEF_TABLE applies the last changes and swaps the tables while briefly locking the "users" table,
+ * after which the interim table (holding the old version) is dropped.</li>
+ * </ol>
+ *
+ * Every step is recorded as a phase of the operation, and every synchronization as a "sync" phase. Between two
+ * synchronizations the operation is held back by the throttle of the session, if any. If a step fails, the
+ * redefinition is aborted with ABORT_REDEF_TABLE. Like with {@link OnlineSchemaChangeOperations}, constraints and
+ * foreign keys are not copied to the interim table.
+ */
+@Slf4j
+public class RedefinitionOperations {
+
+	public static final int DEFAULT_SYNC_ROUNDS = 3;
+	public static final int DEFAULT_SYNC_INTERVAL = 1000;
+
+	static final String TABLE = "users";
+	static final String INTERIM_TABLE = "users_redef";
+
+	private class Redefinition implements Operation {
+
+		private final ShadowChange change;
+
+		private Redefinition(ShadowChange change) {
+			this.change = change;
+		}
+
+		@Override
+		public void prepare(Database backend) throws Exception {
+			change.getChange().prepare(backend);
+		}
+
+		@Override
+		public void perform(Database backend) throws Exception {
+			perform(backend, new OperationContext(null, backend.getCredentials(), null, System.currentTimeMillis()));
+		}
+
+		@Override
+		public void perform(Database backend, OperationContext context) throws Exception {
+			Table table = backend.getTable(TABLE);
+
+			Table interim = context.phase("create-interim-table", () -> {
+				Table created = table.createShadowTable(INTERIM_TABLE);
+				change.getAlteration().alter(created);
+				return created;
+			});
+
+			Connection connection = backend.getConnection();
+			String columns = getColumnMapping(change.mapColumns(table, interim));
+			try {
+				context.phase("start-redef", () -> call(connection,
+						"DBMS_REDEFINITION.START_REDEF_TABLE(USER, ?, ?, ?, DBMS_REDEFINITION.CONS_USE_PK)", columns));
+
+				try (OperationContext.Phase phase = context.startPhase("copy-dependents")) {
+					phase.setDetail("errors=" + copyDependents(connection));
+				}
+
+				for (int round = 1; round <= syncRounds; round++) {
+					try (OperationContext.Phase phase = context.startPhase("sync")) {
+						phase.setDetail("round=" + round);
+						call(connection, "DBMS_REDEFINITION.SYNC_INTERIM_TABLE(USER, ?, ?)");
+					}
+
+					if (syncInterval > 0) {
+						Thread.sleep(syncInterval);
+					}
+					context.throttle();
+				}
+
+				context.phase("finish-redef", () -> call(connection,
+						"DBMS_REDEFINITION.FINISH_REDEF_TABLE(USER, ?, ?)"));
+			}
+			catch (SQLException | InterruptedException e) {
+				abort(connection);
+				throw e;
+			}
+
+			context.phase("drop-old-table", () -> backend.getTable(INTERIM_TABLE).drop());
+		}
+
+		@Override
+		public void cleanup(Database backend) throws Exception {
+			if (backend instanceof Oracle11Database) {
+				abort(backend.getConnection());
+			}
+			if (backend.hasTable(INTERIM_TABLE)) {
+				backend.getTable(INTERIM_TABLE).drop();
+			}
+			change.getChange().cleanup(backend);
+		}
+
+		@Override
+		public boolean isSupportedBy(Database backend) {
+			return backend instanceof Oracle11Database && change.isSupportedBy(backend);
+		}
+
+		/**
+		 * Copies the indices, triggers and privileges of the "users" table to the interim table. Dependents which
+		 * cannot be copied (for instance an index on a column the change drops) are skipped.
+		 *
+		 * @return The number of dependents which could not be copied.
+		 */
+		private int copyDependents(Connection connection) throws SQLException {
+			String query = "{ call DBMS_REDEFINITION.COPY_TABLE_DEPENDENTS(USER, ?, ?, "
+					+ "DBMS_REDEFINITION.CONS_ORIG_PARAMS, TRUE, FALSE, TRUE, TRUE, ?) }";
+
+			try (CallableStatement statement = connection.prepareCall(query)) {
+				statement.setString(1, TABLE.toUpperCase());
+				statement.setString(2, INTERIM_TABLE.toUpperCase());
+				statement.registerOutParameter(3, Types.INTEGER);
+				statement.execute();
+
+				int errors = statement.getInt(3);
+				if (errors > 0) {
+					log.warn("\t\tCould not copy: {} dependent(s) of: {}", errors, TABLE);
+				}
+				return errors;
+			}
+		}
+
+		/**
+		 * Aborts the redefinition, if one is in progress, so that the "users" table no longer logs its changes.
+		 */
+		private void abort(Connection connection) {
+			try {
+				call(connection, "DBMS_REDEFINITION.ABORT_REDEF_TABLE(USER, ?, ?)");
+			}
+			catch (SQLException e) {
+				log.debug("\t\tCould not abort redefinition: {}", e.getMessage());
+			}
+		}
+
+		/**
+		 * Calls a procedure of DBMS_REDEFINITION, whose first parameters are the names of the "users" table and the
+		 * interim table, followed by the specified parameters.
+		 */
+		private void call(Connection connection, String procedure, String... parameters) throws SQLException {
+			try (CallableStatement statement = connection.prepareCall("{ call " + procedure + " }")) {
+				statement.setString(1, TABLE.toUpperCase());
+				statement.setString(2, INTERIM_TABLE.toUpperCase());
+				for (int i = 0; i < parameters.length; i++) {
+					statement.setString(i + 3, parameters[i]);
+				}
+				statement.execute();
+			}
+		}
+
+		/**
+		 * @return The column mapping of START_REDEF_TABLE, which lists every column of the "users" table followed by
+		 * the column of the interim table it is copied to, for instance "id id, email email2".
+		 */
+		private String getColumnMapping(Map<String, String> columns) {
+			StringBuilder mapping = new StringBuilder();
+			for (Map.Entry<String, String> column : columns.entrySet()) {
+				if (mapping.length() > 0) {
+					mapping.append(", ");
+				}
+				mapping.append(column.getKey()).append(' ').append(column.getValue());
+			}
+			return mapping.toString();
+		}
+	}
+
+	private final int syncRounds;
+	private final int syncInterval;
+	private final DefaultOperations changes = new DefaultOperations();
+
+	public RedefinitionOperations() {
+		this(DEFAULT_SYNC_ROUNDS, DEFAULT_SYNC_INTERVAL);
+	}
+
+	/**
+	 * @param syncRounds The number of times the interim table is synchronized before the redefinition is finished.
+	 * @param syncInterval The number of milliseconds to wait after every synchronization.
+	 */
+	public RedefinitionOperations(int syncRounds, int syncInterval) {
+		if (syncRounds < 0) {
+			throw new IllegalArgumentException("The number of synchronizations cannot be negative");
+		}
+		this.syncRounds = syncRounds;
+		this.syncInterval = syncInterval;
+	}
+
+	/**
+	 * @return The changes of {@link DefaultOperations} which can be applied to an interim table, named after those
+	 * operations with a "redef-" prefix.
+	 */
+	public List<NamedOperation> all() {
+		List<NamedOperation> operations = Lists.newArrayList();
+		for (ShadowChange change : ShadowChange.all(changes)) {
+			operations.add(new NamedOperation("redef-" + change.getChange().getName(), new Redefinition(change)));
+		}
+		return operations;
+	}
+
+}
@@ -0,0 +1,162 @@
+package io.quantumdb.nemesis.operations;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import io.quantumdb.nemesis.structure.Column;
+import io.quantumdb.nemesis.structure.ColumnDefinition;
+import io.quantumdb.nemesis.structure.Database;
+import io.quantumdb.nemesis.structure.Database.Feature;
+import io.quantumdb.nemesis.structure.Table;
+import lombok.Getter;
+
+/**
+ * A change of {@link DefaultOperations}, expressed as an alteration of an empty copy of the "users" table. Methods
+ * which build a new version of the table next to the old one and swap them afterwards, such as
+ * {@link OnlineSchemaChangeOperations} and {@link RedefinitionOperations}, apply the change this way.
+ */
+@Getter
+class ShadowChange {
+
+	/**
+	 * Applies a change to the (still empty) shadow table.
+	 */
+	interface Alteration {
+		void alter(Table shadow) throws SQLException;
+	}
+
+	private final NamedOperation change;
+	private final Alteration alteration;
+	private final Map<String, String> renamedColumns;
+	private final Feature[] requiredFeatures;
+
+	private ShadowChange(NamedOperation change, Alteration alteration, Map<String, String> renamedColumns,
+			Feature... requiredFeatures) {
+
+		this.change = change;
+		this.alteration = alteration;
+		this.renamedColumns = renamedColumns;
+		this.requiredFeatures = requiredFeatures;
+	}
+
+	boolean isSupportedBy(Database backend) {
+		for (Feature feature : requiredFeatures) {
+			if (!backend.supports(feature)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Maps every column of the table to the column of the shadow table with the same name, or with its new name
+	 * if the change renames it. Columns which the change drops are not mapped.
+	 */
+	Map<String, String> mapColumns(Table table, Table shadow) throws SQLException {
+		Map<String, String> columns = Maps.newLinkedHashMap();
+		for (Column column : table.listColumns()) {
+			String target = column.getName();
+			for (Map.Entry<String, String> rename : renamedColumns.entrySet()) {
+				if (rename.getKey().equalsIgnoreCase(target)) {
+					target = rename.getValue();
+				}
+			}
+			if (shadow.hasColumn(target)) {
+				columns.put(column.getName(), shadow.getColumn(target).getName());
+			}
+		}
+		return columns;
+	}
+
+	/**
+	 * @return The changes of {@link DefaultOperations} which can be applied to a shadow table. Changes to indices
+	 * which are not copied to the shadow table (renaming and dropping them), and changes which are about how an index
+	 * is built (invisible and online indices) are left out.
+	 */
+	static List<ShadowChange> all(DefaultOperations changes) {
+		return Lists.newArrayList(
+				of(changes.createIndexOnColumn(),
+						shadow -> shadow.createIndex("users_name_idx", false, "name")),
+				of(changes.createUniqueConstraintOnColumn(),
+						shadow -> shadow.createConstraint("name_id_unique_constraint", "UNIQUE", "(id,name)")),
+				of(changes.createIndexOnNullableColumn(),
+						shadow -> shadow.createIndex("users_jobtitle_idx", false, "jobtitle")),
+				of(changes.dropForeignKeyConstraint(),
+						shadow -> {}),
+				of(changes.addNullableColumn(),
+						shadow -> shadow.addColumn(new ColumnDefinition("email", "varchar(255)"))),
+				of(changes.addNonNullableColumn(),
+						shadow -> shadow.addColumn(new ColumnDefinition("life_story", "varchar(255)")
+								.setDefaultExpression("'Simple story'")
+								.setNullable(false))),
+				of(changes.addVirtualColumn(),
+						shadow -> shadow.addColumn(new ColumnDefinition("initials", "varchar(2 CHAR)")
+								.setVirtualColumnExpression("SUBSTR(name, 1, 2)")),
+						Feature.VIRTUAL_COLUMN),
+				of(changes.dropNullableColumn(),
+						shadow -> shadow.getColumn("email").drop()),
+				of(changes.dropNonNullableColumn(),
+						shadow -> shadow.getColumn("email").drop()),
+				of(changes.renameNullableColumn(),
+						shadow -> shadow.getColumn("email").rename("email2"),
+						ImmutableMap.of("email", "email2")),
+				of(changes.renameNonNullableColumn(),
+						shadow -> shadow.getColumn("email").rename("email2"),
+						ImmutableMap.of("email", "email2")),
+				of(changes.modifyDataTypeOnNullableColumn(),
+						shadow -> replaceColumn(shadow, new ColumnDefinition("email", "text"))),
+				of(changes.modifyDataTypeOnNonNullableColumn(),
+						shadow -> replaceColumn(shadow, new ColumnDefinition("email", "text")
+								.setDefaultExpression("'NOT_SET'")
+								.setNullable(false)),
+						Feature.DEFAULT_VALUE_FOR_TEXT),
+				of(changes.modifyDataTypeFromIntToText(),
+						shadow -> replaceColumn(shadow, new ColumnDefinition("cnt", "text")
+								.setDefaultExpression("'8'")
+								.setNullable(false)),
+						Feature.DEFAULT_VALUE_FOR_TEXT),
+				of(changes.setDefaultExpressionOnNullableColumn(),
+						shadow -> shadow.getColumn("email").setDefaultExpression("'SOMETHING ELSE'")),
+				of(changes.setDefaultExpressionOnNonNullableColumn(),
+						shadow -> shadow.getColumn("email").setDefaultExpression("'SOMETHING ELSE'")),
+				of(changes.makeColumnNullable(),
+						shadow -> shadow.getColumn("email").setNullable(true)),
+				of(changes.makeColumnNonNullable(),
+						shadow -> shadow.getColumn("email").setNullable(false)),
+				of(changes.addNonNullableForeignKey(),
+						shadow -> shadow.addForeignKey("users_address", new String[] { "address_id" },
+								"addresses", new String[] { "id" })),
+				of(changes.addNullableForeignKey(),
+						shadow -> shadow.addForeignKey("users_address", new String[] { "address_id" },
+								"addresses", new String[] { "id" })),
+				of(changes.addNullableForeignKeyWithNoValidateOption(),
+						shadow -> shadow.addForeignKey("users_address", new String[] { "address_id" },
+								"addresses", new String[] { "id" }),
+						Feature.CONSTRAINT_NOVALIDATE_OPTION)
+		);
+	}
+
+	private static ShadowChange of(NamedOperation change, Alteration alteration, Feature... requiredFeatures) {
+		return of(change, alteration, ImmutableMap.of(), requiredFeatures);
+	}
+
+	private static ShadowChange of(NamedOperation change, Alteration alteration, Map<String, String> renamedColumns,
+			Feature... requiredFeatures) {
+
+		return new ShadowChange(change, alteration, renamedColumns, requiredFeatures);
+	}
+
+	/**
+	 * Replaces a column of the shadow table with a column of another type. Since the shadow table is still empty,
+	 * this is equivalent to changing the type of the column, also on databases which cannot change types in place.
+	 */
+	private static void replaceColumn(Table shadow, ColumnDefinition column) throws SQLException {
+		shadow.getColumn(column.getName()).drop();
+		shadow.addColumn(column);
+	}
+
+}
@@ -0,0 +1,21 @@
+package io.quantumdb.nemesis.operations;
+
+/**
+ * Decides how fast a long-running operation may proceed. Operations call {@link #await()} between two units of
+ * work (for instance two chunks of a backfill), which blocks for as long as the operation should hold back.
+ */
+public interface Throttle {
+
+	/**
+	 * A throttle which never holds back.
+	 */
+	Throttle NONE = () -> 0;
+
+	/**
+	 * Blocks while the operation should hold back.
+	 *
+	 * @return The number of milliseconds the operation was held back.
+	 */
+	long await() throws InterruptedException;
+
+}
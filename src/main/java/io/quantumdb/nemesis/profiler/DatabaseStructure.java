@@ -2,9 +2,14 @@ package io.quantumdb.nemesis.profiler;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.text.DecimalFormat;
 import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -14,6 +19,8 @@ import java.util.concurrent.atomic.AtomicLong;
 
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
+import io.quantumdb.nemesis.profiler.generators.RandomSources;
+import io.quantumdb.nemesis.profiler.generators.RowGenerator;
 import io.quantumdb.nemesis.structure.ColumnDefinition;
 import io.quantumdb.nemesis.structure.Database;
 import io.quantumdb.nemesis.structure.DatabaseCredentials;
@@ -24,16 +31,23 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class DatabaseStructure {
 
+	public static final String FLEET_PREFIX = "fleet_";
+
 	private static final int BATCH_SIZE = 10_000;
 	private static final DecimalFormat FORMAT = new DecimalFormat("##0");
-	private static final String QUERY = "INSERT INTO users (name) VALUES (?)";
 
 	private final Database.Type type;
 	private final DatabaseCredentials credentials;
+	private final RowGenerator rowGenerator;
 
 	public DatabaseStructure(Database.Type type, DatabaseCredentials credentials) {
+		this(type, credentials, RowGenerator.users());
+	}
+
+	public DatabaseStructure(Database.Type type, DatabaseCredentials credentials, RowGenerator rowGenerator) {
 		this.type = type;
 		this.credentials = credentials;
+		this.rowGenerator = rowGenerator;
 	}
 
 	public void prepareStructureAndRows(int rows) throws SQLException, InterruptedException {
@@ -44,22 +58,119 @@ public class DatabaseStructure {
 	public void prepareStructure() throws SQLException {
 		log.info("Creating table...");
 
-		TableDefinition table = new TableDefinition("users")
-				.withColumn(new ColumnDefinition("id", "bigint")
-						.setNullable(false)
-						.setAutoIncrement(true)
-						.setIdentity(true))
-				.withColumn(new ColumnDefinition("name", "varchar(255)")
-						.setNullable(false));
-
 		Database backend = type.createBackend();
 		backend.connect(credentials);
-		backend.createTable(table);
+		backend.createTable(createDefinition("users"));
 		backend.close();
 
 		log.info("Table created");
 	}
 
+	/**
+	 * @return The names of the tables of a fleet of the specified number of tables.
+	 */
+	public static List<String> getFleetTables(int tables) {
+		List<String> names = Lists.newArrayList();
+		for (int i = 1; i <= tables; i++) {
+			names.add(String.format("%s%05d", FLEET_PREFIX, i));
+		}
+		return names;
+	}
+
+	/**
+	 * Creates a fleet of tables with the same structure as the "users" table, and fills every one of them with the
+	 * specified number of rows. This makes the catalog as large as in production schemas with thousands of tables,
+	 * which affects both the introspection of the structure and the structural changes themselves.
+	 */
+	public void prepareFleet(int tables, int rows) throws SQLException, InterruptedException {
+		log.info("Creating: {} tables...", tables);
+
+		Database backend = type.createBackend();
+		backend.connect(credentials);
+		try {
+			for (String table : getFleetTables(tables)) {
+				backend.createTable(createDefinition(table));
+			}
+		}
+		finally {
+			backend.close();
+		}
+
+		log.info("Filling: {} tables with: {} rows each...", tables, rows);
+
+		ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(5);
+		try {
+			Queue<String> remaining = new ConcurrentLinkedQueue<>(getFleetTables(tables));
+			List<Future<?>> futures = Lists.newArrayList();
+			for (int i = 0; i < executor.getCorePoolSize(); i++) {
+				futures.add(executor.submit(() -> fillFleet(remaining, rows)));
+			}
+
+			for (Future<?> future : futures) {
+				try {
+					future.get();
+				}
+				catch (ExecutionException e) {
+					log.error(e.getMessage(), e);
+				}
+			}
+
+			log.info("Tables filled");
+		}
+		finally {
+			executor.shutdown();
+			executor.awaitTermination(1, TimeUnit.HOURS);
+		}
+	}
+
+	/**
+	 * Fills the tables taken from the queue, until it is empty, on a connection of its own.
+	 */
+	private void fillFleet(Queue<String> tables, int rows) {
+		SplittableRandom random = RandomSources.current();
+		Database backend = type.createBackend();
+		try {
+			backend.connect(credentials);
+			Connection connection = backend.getConnection();
+			connection.setAutoCommit(false);
+
+			for (String table = tables.poll(); table != null; table = tables.poll()) {
+				int remaining = rows;
+				while (remaining > 0) {
+					int batch = Math.min(remaining, BATCH_SIZE);
+					try (PreparedStatement statement = connection.prepareStatement(
+							rowGenerator.createInsertQuery(table))) {
+
+						for (int i = 0; i < batch; i++) {
+							rowGenerator.bind(statement, random);
+							statement.addBatch();
+						}
+						statement.executeBatch();
+					}
+					connection.commit();
+					remaining -= batch;
+				}
+			}
+			backend.close();
+		}
+		catch (SQLException e) {
+			log.error(e.getMessage(), e);
+		}
+	}
+
+	private TableDefinition createDefinition(String name) {
+		TableDefinition table = new TableDefinition(name)
+				.withColumn(new ColumnDefinition("id", "bigint")
+						.setNullable(false)
+						.setAutoIncrement(true)
+						.setIdentity(true));
+
+		for (ColumnDefinition column : rowGenerator.getColumns()) {
+			table.withColumn(column);
+		}
+		return table;
+	}
+
 	public void dropStructure() throws SQLException {
 		log.info("Dropping table...");
 
@@ -71,6 +182,21 @@ public class DatabaseStructure {
 		log.info("Table dropped");
 	}
 	
+	/**
+	 * @return The number of rows the "users" table currently holds.
+	 */
+	public long countRows() throws SQLException {
+		Database backend = type.createBackend();
+		backend.connect(credentials);
+		try (Statement statement = backend.getConnection().createStatement();
+				ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM users")) {
+			return resultSet.next() ? resultSet.getLong(1) : 0;
+		}
+		finally {
+			backend.close();
+		}
+	}
+
 	public void prepareRows(int rows) throws InterruptedException {
 		ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(5);
 
@@ -82,17 +208,20 @@ public class DatabaseStructure {
 
 			int numberOfExecutors = (int) Math.min(Math.ceil(rows / (double) BATCH_SIZE), executor.getCorePoolSize());
 
+			String query = rowGenerator.createInsertQuery("users");
+
 			List<Future<?>> futures = Lists.newArrayList();
 			for (int i = 0; i < numberOfExecutors; i++) {
 				futures.add(executor.submit(() -> {
 					Connection connection;
 					PreparedStatement statement;
+					SplittableRandom random = RandomSources.current();
 					try {
 						Database backend = type.createBackend();
 						backend.connect(credentials);
 						connection = backend.getConnection();
 						connection.setAutoCommit(false);
-						statement = connection.prepareStatement(QUERY);
+						statement = connection.prepareStatement(query);
 					}
 					catch (SQLException e1) {
 						log.error(e1.getMessage(), e1);
@@ -102,7 +231,7 @@ public class DatabaseStructure {
 					int myCounter = 0;
 					while (counter.incrementAndGet() <= rows) {
 						try {
-							statement.setString(1, RandomNameGenerator.generate());
+							rowGenerator.bind(statement, random);
 							statement.addBatch();
 							myCounter++;
 
@@ -111,7 +240,7 @@ public class DatabaseStructure {
 								statement.close();
 								connection.commit();
 
-								statement = connection.prepareStatement(QUERY);
+								statement = connection.prepareStatement(query);
 								myCounter = 0;
 							}
 						}
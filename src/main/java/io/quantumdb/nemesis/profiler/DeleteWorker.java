@@ -10,9 +10,8 @@ import io.quantumdb.nemesis.structure.DatabaseCredentials;
 
 public class DeleteWorker extends Worker {
 
-	private static final String QUERY = "DELETE FROM %s WHERE id = %d";
+	static final String QUERY = "DELETE FROM %s WHERE id = %d";
 
-	private final Database backend;
 	private final String tableName;
 	private final Random random;
 
@@ -20,7 +19,6 @@ public class DeleteWorker extends Worker {
 			long startingTimestamp, String tableName) {
 
 		super(backend, credentials, writer, startingTimestamp);
-		this.backend = backend;
 		this.tableName = tableName;
 		this.random = new Random();
 	}
@@ -28,7 +26,7 @@ public class DeleteWorker extends Worker {
 	@Override
 	void doAction() throws SQLException {
 		int from = random.nextInt(100_000_000);
-		backend.query(String.format(QUERY, tableName, from));
+		execute(String.format(QUERY, tableName, from));
 	}
 	
 }
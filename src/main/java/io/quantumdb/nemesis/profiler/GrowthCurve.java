@@ -0,0 +1,101 @@
+package io.quantumdb.nemesis.profiler;
+
+import java.util.Arrays;
+
+import lombok.Data;
+
+/**
+ * Describes how a measurement (such as the duration of an operation) grows with the number of rows in the table.
+ * The intercept and slope are fitted linearly, while the exponent is the slope of a fit on a log-log scale: an
+ * exponent near 0 indicates a metadata-only change, and an exponent near 1 a change which scans or rewrites the table.
+ */
+@Data
+public class GrowthCurve {
+
+	private static final double CONSTANT = 0.3;
+	private static final double LINEAR = 1.3;
+
+	/**
+	 * Fits a growth curve through the specified points using least squares.
+	 */
+	public static GrowthCurve fit(double[] rows, double[] values) {
+		if (rows.length != values.length) {
+			throw new IllegalArgumentException("Expected as many values as row counts");
+		}
+
+		double[] fit = fitLine(rows, values);
+
+		int points = 0;
+		double[] logRows = new double[rows.length];
+		double[] logValues = new double[values.length];
+		for (int i = 0; i < rows.length; i++) {
+			if (rows[i] > 0 && values[i] > 0) {
+				logRows[points] = Math.log(rows[i]);
+				logValues[points] = Math.log(values[i]);
+				points++;
+			}
+		}
+
+		double exponent = 0;
+		if (points >= 2) {
+			exponent = fitLine(Arrays.copyOf(logRows, points), Arrays.copyOf(logValues, points))[1];
+		}
+		return new GrowthCurve(fit[0], fit[1], exponent, fit[2]);
+	}
+
+	/**
+	 * @return The intercept, slope and coefficient of determination of a least squares line through the points.
+	 */
+	private static double[] fitLine(double[] x, double[] y) {
+		int n = x.length;
+		if (n == 0) {
+			return new double[] { 0, 0, 0 };
+		}
+
+		double meanX = 0;
+		double meanY = 0;
+		for (int i = 0; i < n; i++) {
+			meanX += x[i] / n;
+			meanY += y[i] / n;
+		}
+
+		double covariance = 0;
+		double varianceX = 0;
+		double varianceY = 0;
+		for (int i = 0; i < n; i++) {
+			covariance += (x[i] - meanX) * (y[i] - meanY);
+			varianceX += (x[i] - meanX) * (x[i] - meanX);
+			varianceY += (y[i] - meanY) * (y[i] - meanY);
+		}
+
+		if (varianceX == 0) {
+			return new double[] { meanY, 0, 0 };
+		}
+
+		double slope = covariance / varianceX;
+		double rSquared = varianceY == 0 ? 1 : (covariance * covariance) / (varianceX * varianceY);
+		return new double[] { meanY - slope * meanX, slope, rSquared };
+	}
+
+	private final double intercept;
+	private final double slope;
+	private final double exponent;
+	private final double rSquared;
+
+	/**
+	 * @return A description of the growth: "constant", "sublinear", "linear" or "superlinear".
+	 */
+	public String getGrowth() {
+		if (exponent < CONSTANT) {
+			return "constant";
+		}
+		else if (exponent < 1 - CONSTANT) {
+			return "sublinear";
+		}
+		else if (exponent < LINEAR) {
+			return "linear";
+		}
+		return "superlinear";
+	}
+
+}
@@ -3,28 +3,38 @@ package io.quantumdb.nemesis.profiler;
 import java.io.Writer;
 import java.sql.SQLException;
 
+import io.quantumdb.nemesis.profiler.generators.RandomSources;
+import io.quantumdb.nemesis.profiler.generators.RowGenerator;
 import io.quantumdb.nemesis.structure.Database;
 import io.quantumdb.nemesis.structure.DatabaseCredentials;
 
 
 public class InsertWorker extends Worker {
 
-	private static final String QUERY = "INSERT INTO %s (name) VALUES ('%s')";
-
-	private final Database backend;
 	private final String tableName;
+	private final RowGenerator rows;
+	private final StringBuilder query;
 
 	public InsertWorker(Database backend, DatabaseCredentials credentials, Writer writer,
 			long startingTimestamp, String tableName) {
 
+		this(backend, credentials, writer, startingTimestamp, tableName, RowGenerator.users());
+	}
+
+	public InsertWorker(Database backend, DatabaseCredentials credentials, Writer writer,
+			long startingTimestamp, String tableName, RowGenerator rows) {
+
 		super(backend, credentials, writer, startingTimestamp);
-		this.backend = backend;
 		this.tableName = tableName;
+		this.rows = rows;
+		this.query = new StringBuilder();
 	}
 	
 	@Override
 	void doAction() throws SQLException {
-		backend.query(String.format(QUERY, tableName, RandomNameGenerator.generate()));
+		query.setLength(0);
+		rows.appendInsertQuery(tableName, RandomSources.current(), query);
+		execute(query.toString());
 	}
 	
 }
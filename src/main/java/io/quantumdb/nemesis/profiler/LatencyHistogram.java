@@ -0,0 +1,53 @@
+package io.quantumdb.nemesis.profiler;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts the latencies of queries in buckets of a millisecond. Latencies above the maximum are counted in the last
+ * bucket. Percentiles are computed over the difference between two snapshots, so that every reader can observe its
+ * own window without resetting the histogram.
+ */
+class LatencyHistogram {
+
+	static final int MAXIMUM_LATENCY = 10_000;
+
+	/**
+	 * @return The latency (in milliseconds) below which the specified fraction of the queries recorded between the
+	 * previous and current snapshots fall, or -1 if no queries were recorded in between.
+	 */
+	static long percentile(long[] current, long[] previous, double fraction) {
+		long total = 0;
+		for (int i = 0; i < current.length; i++) {
+			total += current[i] - previous[i];
+		}
+		if (total == 0) {
+			return -1;
+		}
+
+		long threshold = (long) Math.ceil(total * fraction);
+		long count = 0;
+		for (int i = 0; i < current.length; i++) {
+			count += current[i] - previous[i];
+			if (count >= threshold) {
+				return i;
+			}
+		}
+		return MAXIMUM_LATENCY;
+	}
+
+	private final AtomicLongArray counts = new AtomicLongArray(MAXIMUM_LATENCY + 1);
+
+	void record(long millis) {
+		counts.incrementAndGet((int) Math.max(0, Math.min(millis, MAXIMUM_LATENCY)));
+	}
+
+	/**
+	 * Adds the current counts to the specified snapshot.
+	 */
+	void addTo(long[] snapshot) {
+		for (int i = 0; i < snapshot.length; i++) {
+			snapshot[i] += counts.get(i);
+		}
+	}
+
+}
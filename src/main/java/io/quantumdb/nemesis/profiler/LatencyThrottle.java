@@ -0,0 +1,123 @@
+package io.quantumdb.nemesis.profiler;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import io.quantumdb.nemesis.operations.Throttle;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holds back long-running operations based on the live latency of the workers of a session, much like online
+ * schema change tools throttle on replication lag. Every interval the percentile of the latency of the watched
+ * workers is compared with the target. While it is exceeded, operations are paused and the delay between their units
+ * of work is doubled. Once the latency has recovered they resume with that delay, which is halved every interval.
+ * Intervals in which none of the watched workers completed a query leave the throttle as it is.
+ */
+@Slf4j
+class LatencyThrottle implements Throttle {
+
+	private static final int MINIMUM_DELAY = 10;
+
+	private final LiveMetrics metrics;
+	private final ThrottleCriterion criterion;
+
+	private ScheduledExecutorService executor;
+	private long[] previous;
+
+	private long latency = -1;
+	private boolean paused;
+	private long delay;
+
+	LatencyThrottle(LiveMetrics metrics, ThrottleCriterion criterion) {
+		this.metrics = metrics;
+		this.criterion = criterion;
+	}
+
+	void start() {
+		previous = metrics.snapshot(criterion.getWorkers());
+		executor = Executors.newSingleThreadScheduledExecutor();
+		executor.scheduleWithFixedDelay(this::evaluate, criterion.getInterval(), criterion.getInterval(),
+				TimeUnit.MILLISECONDS);
+	}
+
+	void stop() {
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+		synchronized (this) {
+			paused = false;
+			delay = 0;
+			notifyAll();
+		}
+	}
+
+	@Override
+	public long await() throws InterruptedException {
+		long start = System.currentTimeMillis();
+		long currentDelay;
+
+		synchronized (this) {
+			if (!paused && delay == 0) {
+				return 0;
+			}
+
+			long deadline = start + criterion.getMaximumPause();
+			long remaining = criterion.getMaximumPause();
+			while (paused && remaining > 0) {
+				wait(remaining);
+				remaining = deadline - System.currentTimeMillis();
+			}
+
+			if (paused) {
+				log.warn("\tLatency did not recover within: {} ms, proceeding regardless", criterion.getMaximumPause());
+				return System.currentTimeMillis() - start;
+			}
+			currentDelay = delay;
+		}
+
+		if (currentDelay > 0) {
+			Thread.sleep(currentDelay);
+		}
+		return System.currentTimeMillis() - start;
+	}
+
+	private synchronized void evaluate() {
+		long[] current = metrics.snapshot(criterion.getWorkers());
+		long percentile = LatencyHistogram.percentile(current, previous, criterion.getPercentile());
+		previous = current;
+
+		if (percentile < 0) {
+			return;
+		}
+
+		latency = percentile;
+		if (latency > criterion.getTarget()) {
+			if (!paused) {
+				log.info("\tThrottling operation: {}", this);
+			}
+			paused = true;
+			delay = Math.min(Math.max(delay * 2, MINIMUM_DELAY), criterion.getMaximumDelay());
+		}
+		else {
+			if (paused) {
+				log.info("\tResuming operation: {}", this);
+			}
+			paused = false;
+			delay = delay / 2 < MINIMUM_DELAY ? 0 : delay / 2;
+			notifyAll();
+		}
+	}
+
+	@Override
+	public synchronized String toString() {
+		return String.format("p%s=%d ms target=%d ms delay=%d ms", formatPercentile(), latency,
+				criterion.getTarget(), delay);
+	}
+
+	private String formatPercentile() {
+		String percentile = String.valueOf(Math.round(criterion.getPercentile() * 1000) / 10d);
+		return percentile.endsWith(".0") ? percentile.substring(0, percentile.length() - 2) : percentile;
+	}
+
+}
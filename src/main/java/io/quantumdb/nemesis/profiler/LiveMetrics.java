@@ -0,0 +1,83 @@
+package io.quantumdb.nemesis.profiler;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.collect.Maps;
+import lombok.Data;
+
+/**
+ * Collects the throughput and latency of all workers of a session while it runs, so that the session can decide
+ * when the workload has become steady. Workers record into it concurrently, and the session samples it periodically.
+ * The latencies are also kept per type of worker, so that a throttle can watch the percentiles of specific workers.
+ */
+public class LiveMetrics {
+
+	/**
+	 * The throughput and latency of the workload during a single sampling interval.
+	 */
+	@Data
+	public static class Sample {
+		private final double throughput;
+		private final double latency;
+
+		@Override
+		public String toString() {
+			return String.format("%.0f queries/s at %.2f ms", throughput, latency);
+		}
+	}
+
+	private final LongAdder queries = new LongAdder();
+	private final LongAdder latency = new LongAdder();
+	private final Map<String, LatencyHistogram> histograms = Maps.newConcurrentMap();
+
+	private long sampledQueries;
+	private long sampledLatency;
+	private long sampledAt = System.nanoTime();
+
+	void record(long millis) {
+		queries.increment();
+		latency.add(millis);
+	}
+
+	/**
+	 * @return The histogram of the latencies of the specified type of worker.
+	 */
+	LatencyHistogram getHistogram(String workerType) {
+		return histograms.computeIfAbsent(workerType, type -> new LatencyHistogram());
+	}
+
+	/**
+	 * @return The combined latency counts of the specified types of worker, to compute percentiles with.
+	 */
+	long[] snapshot(Collection<String> workerTypes) {
+		long[] snapshot = new long[LatencyHistogram.MAXIMUM_LATENCY + 1];
+		for (String workerType : workerTypes) {
+			LatencyHistogram histogram = histograms.get(workerType);
+			if (histogram != null) {
+				histogram.addTo(snapshot);
+			}
+		}
+		return snapshot;
+	}
+
+	/**
+	 * @return The throughput (in queries per second) and mean latency (in milliseconds) since the previous sample.
+	 */
+	synchronized Sample sample() {
+		long now = System.nanoTime();
+		long currentQueries = queries.sum();
+		long currentLatency = latency.sum();
+
+		long count = currentQueries - sampledQueries;
+		double seconds = Math.max(1, now - sampledAt) / 1_000_000_000d;
+		Sample sample = new Sample(count / seconds, count == 0 ? 0 : (double) (currentLatency - sampledLatency) / count);
+
+		sampledQueries = currentQueries;
+		sampledLatency = currentLatency;
+		sampledAt = now;
+		return sample;
+	}
+
+}
@@ -0,0 +1,126 @@
+package io.quantumdb.nemesis.profiler;
+
+import java.io.Writer;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.quantumdb.nemesis.structure.Database;
+import io.quantumdb.nemesis.structure.DatabaseCredentials;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opens a transaction which reads a row of the table, and keeps it open for a while before committing. Structural
+ * changes have to wait for such transactions to end, and all queries which arrive after the change queue up behind
+ * its lock request. This worker is started right before the operation, so that its first transaction is open when
+ * the operation begins. Every transaction is recorded as a single query lasting as long as it was held open.
+ */
+@Slf4j
+public class LongTransactionWorker extends Worker {
+
+	private final Random random;
+	private final String tableName;
+	private final int duration;
+	private final int interval;
+	private final CountDownLatch opened = new CountDownLatch(1);
+
+	private boolean done;
+
+	/**
+	 * @param duration The number of milliseconds to keep every transaction open.
+	 * @param interval The number of milliseconds between the end of a transaction and the start of the next, or a
+	 * negative number to open a single transaction.
+	 */
+	public LongTransactionWorker(Database backend, DatabaseCredentials credentials, Writer writer,
+			long startingTimestamp, String tableName, int duration, int interval) {
+
+		super(backend, credentials, writer, startingTimestamp);
+		this.tableName = tableName;
+		this.duration = duration;
+		this.interval = interval;
+		this.random = new Random();
+	}
+
+	/**
+	 * The duration of the transactions is deliberate, and would be mistaken for latency by the steady state
+	 * detection and the throttle. Hence it is only written to the log.
+	 */
+	@Override
+	void setMetrics(LiveMetrics metrics) {
+		// Do nothing...
+	}
+
+	/**
+	 * Waits until the first transaction of this worker has touched the table.
+	 *
+	 * @return True if the transaction was opened within the specified number of milliseconds.
+	 */
+	boolean awaitOpened(long timeout) throws InterruptedException {
+		return opened.await(timeout, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	void iterate() {
+		if (done) {
+			pause(100);
+			return;
+		}
+
+		Connection connection = getConnection();
+		try {
+			connection.setAutoCommit(false);
+			measure(getTypeName(), null, this::doAction);
+		}
+		catch (SQLException e) {
+			log.warn("Could not start long-running transaction - {}", e.getMessage());
+			pause(100);
+		}
+		finally {
+			opened.countDown();
+			try {
+				connection.rollback();
+				connection.setAutoCommit(true);
+			}
+			catch (SQLException e) {
+				log.debug("Could not end long-running transaction - {}", e.getMessage());
+			}
+		}
+
+		if (interval < 0) {
+			done = true;
+		}
+		else {
+			pause(interval);
+		}
+	}
+
+	@Override
+	void doAction() throws SQLException {
+		execute(String.format(SelectWorker.QUERY, tableName, random.nextInt(100_000_000)));
+		opened.countDown();
+
+		pause(duration);
+		getConnection().commit();
+	}
+
+	/**
+	 * Sleeps for the specified number of milliseconds, or until the worker is stopped.
+	 */
+	private void pause(long millis) {
+		long deadline = System.currentTimeMillis() + millis;
+		long remaining = millis;
+		while (remaining > 0 && isRunning()) {
+			try {
+				Thread.sleep(Math.min(remaining, 100));
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			remaining = deadline - System.currentTimeMillis();
+		}
+	}
+
+}
@@ -0,0 +1,149 @@
+package io.quantumdb.nemesis.profiler;
+
+import java.io.Writer;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.SplittableRandom;
+
+import io.quantumdb.nemesis.profiler.WorkloadMix.Query;
+import io.quantumdb.nemesis.profiler.WorkloadMix.Transaction;
+import io.quantumdb.nemesis.profiler.generators.RandomSources;
+import io.quantumdb.nemesis.profiler.generators.RowGenerator;
+import io.quantumdb.nemesis.structure.Database;
+import io.quantumdb.nemesis.structure.DatabaseCredentials;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Interleaves reads and writes on a single connection, the way the connections of an application do, by drawing
+ * every transaction from a {@link WorkloadMix}. Every query is recorded under the type of the worker which performs
+ * only that query (for instance "SelectWorker"), so that the latency of each type of query is reported separately.
+ * Transactions of multiple queries are committed after the last one, whose duration includes the commit. When one
+ * of their queries fails, the transaction is rolled back and its remaining queries are skipped.
+ */
+@Slf4j
+public class MixedWorker extends Worker {
+
+	private final String tableName;
+	private final RowGenerator rows;
+	private final WorkloadMix mix;
+	private final StringBuilder query;
+	private final Action pending = this::performPending;
+
+	private String pendingQuery;
+	private boolean pendingCommit;
+
+	private final char[][] typeNames = new char[Query.values().length][];
+	private final LatencyHistogram[] histograms = new LatencyHistogram[Query.values().length];
+
+	public MixedWorker(Database backend, DatabaseCredentials credentials, Writer writer,
+			long startingTimestamp, String tableName, RowGenerator rows, WorkloadMix mix) {
+
+		super(backend, credentials, writer, startingTimestamp);
+		this.tableName = tableName;
+		this.rows = rows;
+		this.mix = mix;
+		this.query = new StringBuilder();
+
+		for (Query type : Query.values()) {
+			typeNames[type.ordinal()] = type.getWorkerType().toCharArray();
+		}
+	}
+
+	@Override
+	void setMetrics(LiveMetrics metrics) {
+		super.setMetrics(metrics);
+		for (Query type : Query.values()) {
+			histograms[type.ordinal()] = metrics.getHistogram(type.getWorkerType());
+		}
+	}
+
+	@Override
+	void iterate() {
+		try {
+			doAction();
+		}
+		catch (SQLException e) {
+			log.warn("Could not perform transaction - {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * Draws one transaction from the mix, and performs and records each of its queries.
+	 */
+	@Override
+	void doAction() throws SQLException {
+		SplittableRandom random = RandomSources.current();
+		Transaction transaction = mix.pick(random);
+		Query[] queries = transaction.getQueries();
+		int id = random.nextInt(100_000_000);
+
+		if (queries.length == 1) {
+			perform(queries[0], id, false);
+			return;
+		}
+
+		Connection connection = getConnection();
+		connection.setAutoCommit(false);
+		boolean completed = false;
+		try {
+			for (int i = 0; i < queries.length; i++) {
+				if (!perform(queries[i], id, i == queries.length - 1)) {
+					break;
+				}
+				completed = i == queries.length - 1;
+			}
+		}
+		finally {
+			try {
+				if (!completed) {
+					connection.rollback();
+				}
+				connection.setAutoCommit(true);
+			}
+			catch (SQLException e) {
+				log.debug("Could not end transaction: {} - {}", transaction.getName(), e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Performs and records a single query of the specified type on the row with the specified id, and commits the
+	 * transaction afterwards if requested.
+	 *
+	 * @return True if the query (and the commit) succeeded.
+	 */
+	private boolean perform(Query type, int id, boolean commit) {
+		pendingQuery = createQuery(type, id);
+		pendingCommit = commit;
+		Outcome outcome = measure(typeNames[type.ordinal()], histograms[type.ordinal()], pending);
+		return outcome == Outcome.SUCCESS;
+	}
+
+	/**
+	 * Executes the query which {@link #perform} prepared, so that no action has to be allocated for every query.
+	 */
+	private void performPending() throws SQLException {
+		execute(pendingQuery);
+		if (pendingCommit) {
+			getConnection().commit();
+		}
+	}
+
+	private String createQuery(Query type, int id) {
+		switch (type) {
+			case SELECT:
+				return String.format(SelectWorker.QUERY, tableName, id);
+			case UPDATE:
+				return String.format(UpdateWorker.QUERY, tableName, id);
+			case DELETE:
+				return String.format(DeleteWorker.QUERY, tableName, id);
+			case INSERT:
+				query.setLength(0);
+				rows.appendInsertQuery(tableName, RandomSources.current(), query);
+				return query.toString();
+			default:
+				throw new IllegalArgumentException("Unknown query: " + type);
+		}
+	}
+
+}
@@ -0,0 +1,78 @@
+package io.quantumdb.nemesis.profiler;
+
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTimeoutException;
+
+/**
+ * The outcome of a single query, as recorded by the workers. Failures are classified by their SQL state and, where
+ * databases do not use distinct SQL states, by their vendor error code.
+ */
+public enum Outcome {
+
+	SUCCESS,
+	TIMEOUT,
+	LOCK_TIMEOUT,
+	DEADLOCK,
+	SERIALIZATION_FAILURE,
+	MISSING_OBJECT,
+	CONSTRAINT_VIOLATION,
+	CONNECTION_LOST,
+	UNSUPPORTED,
+	OTHER;
+
+	private static final int MYSQL_LOCK_WAIT_TIMEOUT = 1205;
+	private static final int MYSQL_DEADLOCK = 1213;
+	private static final int MYSQL_INTERRUPTED = 1317;
+	private static final int MYSQL_EXECUTION_TIME_EXCEEDED = 3024;
+	private static final int MYSQL_ALTER_NOT_SUPPORTED = 1845;
+	private static final int MYSQL_ALTER_NOT_SUPPORTED_REASON = 1846;
+	private static final int ORACLE_DEADLOCK = 60;
+	private static final int ORACLE_MISSING_TABLE = 942;
+	private static final int ORACLE_CANCELLED = 1013;
+	private static final int ORACLE_RESOURCE_BUSY = 54;
+	private static final int H2_LOCK_TIMEOUT = 50200;
+
+	public static Outcome classify(SQLException e) {
+		String state = e.getSQLState() == null ? "" : e.getSQLState();
+		int errorCode = e.getErrorCode();
+
+		if (errorCode == MYSQL_DEADLOCK || errorCode == ORACLE_DEADLOCK || state.equals("40P01")) {
+			return DEADLOCK;
+		}
+		else if (errorCode == MYSQL_LOCK_WAIT_TIMEOUT || errorCode == ORACLE_RESOURCE_BUSY
+				|| errorCode == H2_LOCK_TIMEOUT || state.equals("55P03")) {
+			return LOCK_TIMEOUT;
+		}
+		else if (e instanceof SQLTimeoutException || errorCode == ORACLE_CANCELLED || errorCode == MYSQL_INTERRUPTED
+				|| errorCode == MYSQL_EXECUTION_TIME_EXCEEDED || state.equals("57014")) {
+			return TIMEOUT;
+		}
+		else if (state.equals("40001")) {
+			return SERIALIZATION_FAILURE;
+		}
+		else if (e instanceof SQLNonTransientConnectionException || e instanceof SQLRecoverableException
+				|| state.startsWith("08")) {
+			return CONNECTION_LOST;
+		}
+		else if (errorCode == ORACLE_MISSING_TABLE || state.equals("42P01") || state.equals("42703")
+				|| state.equals("42S02") || state.equals("42S22")) {
+			return MISSING_OBJECT;
+		}
+		else if (state.startsWith("23")) {
+			return CONSTRAINT_VIOLATION;
+		}
+		else if (e instanceof SQLFeatureNotSupportedException || errorCode == MYSQL_ALTER_NOT_SUPPORTED
+				|| errorCode == MYSQL_ALTER_NOT_SUPPORTED_REASON || state.equals("0A000")) {
+			return UNSUPPORTED;
+		}
+		return OTHER;
+	}
+
+	public boolean isFailure() {
+		return this != SUCCESS;
+	}
+
+}
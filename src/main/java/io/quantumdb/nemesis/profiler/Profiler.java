@@ -1,7 +1,9 @@
 package io.quantumdb.nemesis.profiler;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
+import com.google.common.collect.Lists;
 import io.quantumdb.nemesis.operations.NamedOperation;
 import io.quantumdb.nemesis.structure.Database;
 import io.quantumdb.nemesis.structure.DatabaseCredentials;
@@ -26,17 +28,52 @@ public class Profiler {
 		this.teardownTimeout = teardownTimeout;
 	}
 
-	public void profile() throws Exception {
+	/**
+	 * Profiles every operation in turn. A failing operation does not abort the run.
+	 *
+	 * @return The names of the operations which failed.
+	 */
+	public List<String> profile() throws Exception {
+		List<String> failures = Lists.newArrayList();
 		Session session = new Session(type, config, credentials, startupTimeout, teardownTimeout);
 		for (NamedOperation operation : operations) {
 			try {
 				session.start(operation);
 			}
+			catch (Exception e) {
+				log.error("Operation: " + operation.getName() + " failed: " + e.getMessage(), e);
+				failures.add(operation.getName());
+			}
 			finally {
 				// Good moment for GC to happen...
 				System.gc();
 			}
 		}
+		return failures;
+	}
+
+	/**
+	 * Profiles all operations in a single session, in which every operation starts at its offset and runs on its
+	 * own connection. The logs are written to a folder named after all operations, joined by "+".
+	 *
+	 * @param offsets The number of milliseconds to wait before starting every operation.
+	 * @return The name of that folder if any of the operations failed.
+	 */
+	public List<String> profileConcurrently(List<Integer> offsets) throws Exception {
+		String name = operations.stream()
+				.map(NamedOperation::getName)
+				.collect(Collectors.joining("+"));
+
+		List<String> failures = Lists.newArrayList();
+		Session session = new Session(type, config, credentials, startupTimeout, teardownTimeout);
+		try {
+			session.start(name, operations, offsets);
+		}
+		catch (Exception e) {
+			log.error("Operations: " + name + " failed: " + e.getMessage(), e);
+			failures.add(name);
+		}
+		return failures;
 	}
 
 }
@@ -1,6 +1,9 @@
 package io.quantumdb.nemesis.profiler;
 
+import java.util.Collections;
+import java.util.List;
 
+import io.quantumdb.nemesis.profiler.generators.RowGenerator;
 import lombok.Data;
 
 @Data
@@ -11,10 +14,95 @@ public class ProfilerConfig {
 	private final int insertWorkers;
 	private final int deleteWorkers;
 
+	/**
+	 * The tables the workers query, which are assigned to the workers in turn.
+	 */
+	private List<String> tables = Collections.singletonList("users");
+
+	/**
+	 * The number of workers which interleave reads and writes, as described by the workload mix.
+	 */
+	private int mixedWorkers = 0;
+
+	/**
+	 * Describes the transactions the mixed workers perform, and how often they perform each of them.
+	 */
+	private WorkloadMix workloadMix = WorkloadMix.defaultMix();
+
+	/**
+	 * The number of workers which keep a transaction on the "users" table open while the operation starts.
+	 */
+	private int longTransactionWorkers = 0;
+
+	/**
+	 * The number of milliseconds for which the long-running transactions are kept open.
+	 */
+	private int longTransactionDuration = 30_000;
+
+	/**
+	 * The number of milliseconds between two long-running transactions of the same worker, or a negative number to
+	 * open a single transaction per worker.
+	 */
+	private int longTransactionInterval = -1;
+
+	/**
+	 * Describes the values the INSERT (and mixed) workers write into the "users" table.
+	 */
+	private RowGenerator rowGenerator = RowGenerator.users();
+
+	/**
+	 * The number of milliseconds after which the queries of workers are aborted, or 0 to let them wait indefinitely.
+	 */
+	private int queryTimeout = 0;
+
+	/**
+	 * Whether the query timeout is enforced by the database server instead of the JDBC driver.
+	 */
+	private boolean serverSideTimeout = false;
+
+	/**
+	 * When set, the operation is performed as soon as the workload is steady, and the session ends as soon as the
+	 * workload has returned to its baseline. The startup and teardown timeouts then only act as upper bounds.
+	 */
+	private SteadyStateCriterion steadyState = null;
+
+	/**
+	 * The number of milliseconds between two samples of the progress of the operation, or 0 to not sample it.
+	 */
+	private int progressInterval = 0;
+
+	/**
+	 * When set, long-running operations are held back while the latency of the workers exceeds the target.
+	 */
+	private ThrottleCriterion throttle = null;
+
+	/**
+	 * @return A copy of this configuration whose workers query the specified tables. The criteria, the workload mix
+	 * and the row generator are shared with this configuration.
+	 */
+	public ProfilerConfig withTables(List<String> tables) {
+		ProfilerConfig copy = new ProfilerConfig(readWorkers, updateWorkers, insertWorkers, deleteWorkers);
+		copy.setTables(tables);
+		copy.setMixedWorkers(mixedWorkers);
+		copy.setWorkloadMix(workloadMix);
+		copy.setLongTransactionWorkers(longTransactionWorkers);
+		copy.setLongTransactionDuration(longTransactionDuration);
+		copy.setLongTransactionInterval(longTransactionInterval);
+		copy.setRowGenerator(rowGenerator);
+		copy.setQueryTimeout(queryTimeout);
+		copy.setServerSideTimeout(serverSideTimeout);
+		copy.setSteadyState(steadyState);
+		copy.setProgressInterval(progressInterval);
+		copy.setThrottle(throttle);
+		return copy;
+	}
+
 	public int getTotalWorkers() {
 		return  Math.max(0, readWorkers) +
 				Math.max(0, updateWorkers) +
 				Math.max(0, insertWorkers) +
-				Math.max(0, deleteWorkers);
+				Math.max(0, deleteWorkers) +
+				Math.max(0, mixedWorkers) +
+				Math.max(0, longTransactionWorkers);
 	}
 }
@@ -0,0 +1,93 @@
+package io.quantumdb.nemesis.profiler;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import io.quantumdb.nemesis.structure.Database;
+import io.quantumdb.nemesis.structure.DatabaseCredentials;
+import io.quantumdb.nemesis.structure.Progress;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically samples the progress of the operation on a separate connection, and writes it to a timeline with
+ * the columns "time \t phase \t done \t total \t unit", where time is relative to the start of the session.
+ */
+@Slf4j
+class ProgressSampler {
+
+	private final Database backend;
+	private final DatabaseCredentials credentials;
+	private final Writer writer;
+	private final long startingTimestamp;
+
+	private ScheduledExecutorService executor;
+
+	ProgressSampler(Database backend, DatabaseCredentials credentials, Writer writer, long startingTimestamp) {
+		this.backend = backend;
+		this.credentials = credentials;
+		this.writer = writer;
+		this.startingTimestamp = startingTimestamp;
+	}
+
+	void start(int interval) {
+		try {
+			backend.connect(credentials);
+		}
+		catch (SQLException e) {
+			log.warn("\tCould not connect to sample progress of operation: " + e.getMessage(), e);
+			return;
+		}
+
+		executor = Executors.newSingleThreadScheduledExecutor();
+		executor.scheduleWithFixedDelay(this::sample, 0, interval, TimeUnit.MILLISECONDS);
+	}
+
+	void stop() throws SQLException {
+		if (executor == null) {
+			return;
+		}
+
+		executor.shutdown();
+		try {
+			executor.awaitTermination(1, TimeUnit.MINUTES);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		try {
+			backend.stopSamplingProgress();
+		}
+		catch (SQLException e) {
+			log.warn("\tCould not restore the settings changed to sample progress: " + e.getMessage(), e);
+		}
+		finally {
+			backend.close();
+		}
+	}
+
+	private void sample() {
+		try {
+			long time = System.currentTimeMillis() - startingTimestamp;
+			for (Progress progress : backend.sampleProgress()) {
+				writer.write(time + "\t" + progress.getPhase() + "\t" + progress.getDone() + "\t"
+						+ progress.getTotal() + "\t" + progress.getUnit() + "\n");
+			}
+			writer.flush();
+		}
+		catch (SQLFeatureNotSupportedException e) {
+			log.info("\t{}", e.getMessage());
+			executor.shutdown();
+		}
+		catch (SQLException | IOException e) {
+			log.warn("\tCould not sample progress of operation, no longer sampling: " + e.getMessage(), e);
+			executor.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,181 @@
+package io.quantumdb.nemesis.profiler;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import io.quantumdb.nemesis.LogLines;
+import io.quantumdb.nemesis.operations.NamedOperation;
+import io.quantumdb.nemesis.structure.Database;
+import io.quantumdb.nemesis.structure.DatabaseCredentials;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Profiles the same operations at a series of table sizes, topping the table up with rows between sizes instead of
+ * reloading it, and fits the duration of every operation and the longest query stall it causes against the number
+ * of rows. Since the workers insert and delete rows during every session, the rows are counted before every
+ * operation rather than assumed to match the size. The measurements are written to "SCALING.tsv" and the
+ * {@link GrowthCurve}s fitted through the successful ones to "FIT.tsv".
+ */
+@Slf4j
+public class ScalingStudy {
+
+	@Data
+	private static class Measurement {
+		private final int size;
+		private final long rows;
+		private final long duration;
+		private final long maximumStall;
+		private final Outcome outcome;
+	}
+
+	private final ProfilerConfig config;
+	private final Database.Type type;
+	private final DatabaseCredentials credentials;
+	private final List<NamedOperation> operations;
+	private final int startupTimeout;
+	private final int teardownTimeout;
+	private final File folder;
+
+	public ScalingStudy(ProfilerConfig config, Database.Type type, DatabaseCredentials credentials,
+			List<NamedOperation> operations, int startupTimeout, int teardownTimeout, File folder) {
+
+		this.config = config;
+		this.type = type;
+		this.credentials = credentials;
+		this.operations = operations;
+		this.startupTimeout = startupTimeout;
+		this.teardownTimeout = teardownTimeout;
+		this.folder = folder;
+	}
+
+	/**
+	 * Recreates the table, and profiles every operation at each of the specified sizes in ascending order.
+	 *
+	 * @return The operations which failed, suffixed with the size at which they failed.
+	 */
+	public List<String> run(List<Integer> sizes) throws Exception {
+		List<Integer> ascending = Lists.newArrayList(sizes);
+		ascending.sort(Integer::compare);
+
+		DatabaseStructure structure = new DatabaseStructure(type, credentials, config.getRowGenerator());
+		structure.dropStructure();
+		structure.prepareStructure();
+
+		List<String> failures = Lists.newArrayList();
+		Map<String, List<Measurement>> measurements = Maps.newLinkedHashMap();
+
+		for (int size : ascending) {
+			long loaded = structure.countRows();
+			if (loaded < size) {
+				log.info("Topping up table from: {} to: {} rows...", loaded, size);
+				structure.prepareRows((int) (size - loaded));
+			}
+
+			Session session = new Session(type, config, credentials, startupTimeout, teardownTimeout,
+					new File(folder, String.valueOf(size)));
+
+			for (NamedOperation operation : operations) {
+				try {
+					long rows = structure.countRows();
+					File logs = session.start(operation);
+					if (logs != null) {
+						measurements.computeIfAbsent(operation.getName(), name -> Lists.newArrayList())
+								.add(measure(size, rows, logs));
+					}
+				}
+				catch (Exception e) {
+					log.error("Operation: " + operation.getName() + " failed at: " + size + " rows: "
+							+ e.getMessage(), e);
+					failures.add(operation.getName() + "@" + size);
+				}
+				finally {
+					System.gc();
+				}
+			}
+		}
+
+		folder.mkdirs();
+		writeMeasurements(new File(folder, "SCALING.tsv"), measurements);
+		writeFits(new File(folder, "FIT.tsv"), measurements);
+		return failures;
+	}
+
+	private Measurement measure(int size, long rows, File logs) throws IOException {
+		String operation = Files.readAllLines(new File(logs, "OPERATION.log").toPath()).get(0);
+		long start = LogLines.getQueryStart(operation);
+		long end = LogLines.getQueryEnd(operation);
+
+		long maximumStall = 0;
+		File[] workerLogs = logs.listFiles((dir, name) -> name.endsWith(".log") && !name.contains("OPERATION"));
+		for (File file : workerLogs) {
+			for (String line : Files.readAllLines(file.toPath())) {
+				long queryStart = LogLines.getQueryStart(line);
+				long queryEnd = LogLines.getQueryEnd(line);
+				if (queryStart <= end && queryEnd >= start) {
+					maximumStall = Math.max(maximumStall, queryEnd - queryStart);
+				}
+			}
+		}
+
+		return new Measurement(size, rows, end - start, maximumStall, LogLines.getOutcome(operation));
+	}
+
+	private void writeMeasurements(File file, Map<String, List<Measurement>> measurements) throws IOException {
+		try (Writer writer = new FileWriter(file)) {
+			writer.write("operation\tsize\trows\tduration_ms\tmax_stall_ms\toutcome\n");
+			for (Map.Entry<String, List<Measurement>> entry : measurements.entrySet()) {
+				for (Measurement measurement : entry.getValue()) {
+					writer.write(entry.getKey() + "\t" + measurement.getSize() + "\t" + measurement.getRows() + "\t"
+							+ measurement.getDuration() + "\t" + measurement.getMaximumStall() + "\t"
+							+ measurement.getOutcome() + "\n");
+				}
+			}
+		}
+	}
+
+	/**
+	 * Fits the measurements of every operation, leaving out those in which the operation did not succeed since their
+	 * duration says nothing about the size of the table.
+	 */
+	private void writeFits(File file, Map<String, List<Measurement>> measurements) throws IOException {
+		try (Writer writer = new FileWriter(file)) {
+			writer.write("operation\tmetric\tpoints\tintercept_ms\tms_per_million_rows\texponent\tr_squared\t"
+					+ "growth\n");
+			for (Map.Entry<String, List<Measurement>> entry : measurements.entrySet()) {
+				List<Measurement> points = Lists.newArrayList();
+				for (Measurement measurement : entry.getValue()) {
+					if (measurement.getOutcome() == Outcome.SUCCESS) {
+						points.add(measurement);
+					}
+				}
+
+				double[] rows = points.stream().mapToDouble(Measurement::getRows).toArray();
+				double[] durations = points.stream().mapToDouble(Measurement::getDuration).toArray();
+				double[] stalls = points.stream().mapToDouble(Measurement::getMaximumStall).toArray();
+
+				writeFit(writer, entry.getKey(), "duration", points.size(), GrowthCurve.fit(rows, durations));
+				writeFit(writer, entry.getKey(), "max_stall", points.size(), GrowthCurve.fit(rows, stalls));
+			}
+		}
+	}
+
+	private void writeFit(Writer writer, String operation, String metric, int points, GrowthCurve curve)
+			throws IOException {
+
+		String row = String.format("%s\t%s\t%d\t%.1f\t%.3f\t%.2f\t%.3f\t%s", operation, metric, points,
+				curve.getIntercept(), curve.getSlope() * 1_000_000, curve.getExponent(), curve.getRSquared(),
+				curve.getGrowth());
+
+		writer.write(row + "\n");
+		log.info(row);
+	}
+
+}
@@ -3,14 +3,24 @@ package io.quantumdb.nemesis.profiler;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.Writer;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import io.quantumdb.nemesis.operations.NamedOperation;
+import io.quantumdb.nemesis.operations.OperationContext;
+import io.quantumdb.nemesis.operations.Throttle;
+import io.quantumdb.nemesis.profiler.LiveMetrics.Sample;
 import io.quantumdb.nemesis.structure.Database;
 import io.quantumdb.nemesis.structure.DatabaseCredentials;
 import lombok.extern.slf4j.Slf4j;
@@ -23,128 +33,403 @@ public class Session {
 	private final DatabaseCredentials credentials;
 	private final int startupTimeout;
 	private final int teardownTimeout;
+	private final File logs;
 
 	public Session(Database.Type type, ProfilerConfig config, DatabaseCredentials credentials, int startupTimeout,
 			int teardownTimeout) {
 
+		this(type, config, credentials, startupTimeout, teardownTimeout, new File("logs"));
+	}
+
+	/**
+	 * @param logs The folder in which the logs of every operation are written to a "type/operation" sub folder.
+	 */
+	public Session(Database.Type type, ProfilerConfig config, DatabaseCredentials credentials, int startupTimeout,
+			int teardownTimeout, File logs) {
+
 		this.type = type;
 		this.config = config;
 		this.credentials = credentials;
 		this.startupTimeout = startupTimeout;
 		this.teardownTimeout = teardownTimeout;
+		this.logs = logs;
+	}
+
+	/**
+	 * A single operation of a session, performed on its own connection.
+	 */
+	private static class Run {
+
+		private final NamedOperation operation;
+		private final int offset;
+		private final Database backend;
+
+		private boolean connected;
+		private Writer writer;
+		private File phases;
+		private long start;
+		private long end;
+		private Exception failure;
+		private Outcome outcome = Outcome.SUCCESS;
+
+		private Run(NamedOperation operation, int offset, Database backend) {
+			this.operation = operation;
+			this.offset = offset;
+			this.backend = backend;
+		}
 	}
 
+	/**
+	 * Profiles the operation. An operation which the database rejects (for instance a change with an ALGORITHM or
+	 * LOCK clause it cannot honour) is recorded as {@link Outcome#UNSUPPORTED} without waiting for the teardown, and
+	 * does not count as a failure.
+	 *
+	 * @return The folder holding the logs, or null if the backend does not support the operation.
+	 */
 	public File start(NamedOperation operation) throws Exception {
+		return start(operation.getName(), Collections.singletonList(operation), Collections.singletonList(0));
+	}
+
+	/**
+	 * Profiles several operations under the same workload, each on its own connection, to learn how they interact.
+	 * Every operation starts the specified number of milliseconds after the workload has warmed up, so they can run
+	 * at the same time or staggered. The timing of every operation is written to "OPERATION-name.log" and its
+	 * phases to "PHASES-name.tsv", or to "OPERATION.log" and "PHASES.tsv" if there is only one operation. The
+	 * teardown starts once all of them have completed, and is skipped if the database rejected all of them.
+	 *
+	 * @param name The name of the sub folder to write the logs to.
+	 * @param offsets The number of milliseconds to wait before starting every operation.
+	 * @return The folder holding the logs, or null if the backend does not support one of the operations.
+	 */
+	public File start(String name, List<NamedOperation> operations, List<Integer> offsets) throws Exception {
 		File folder = null;
 		ScheduledThreadPoolExecutor executor = null;
-		Database backend = type.createBackend();
 
-		if (!operation.isSupportedBy(backend)) {
-			log.warn("Database: {} does not support operation: {}", backend, operation.getName());
-			return null;
+		List<Run> runs = Lists.newArrayList();
+		for (int i = 0; i < operations.size(); i++) {
+			NamedOperation operation = operations.get(i);
+			Database backend = type.createBackend();
+			if (!operation.isSupportedBy(backend)) {
+				log.warn("Database: {} does not support operation: {}", backend, operation.getName());
+				return null;
+			}
+			runs.add(new Run(operation, offsets.get(i), backend));
 		}
 
 		List<Worker> workers = Lists.newArrayList();
+		List<LongTransactionWorker> longTransactions = Lists.newArrayList();
 		List<Writer> writers = Lists.newArrayList();
+		LiveMetrics metrics = new LiveMetrics();
 
 		try {
-			executor = new ScheduledThreadPoolExecutor(config.getTotalWorkers() + 1);
+			executor = new ScheduledThreadPoolExecutor(config.getTotalWorkers() + runs.size());
 
-			backend.connect(credentials);
-			operation.prepare(backend);
+			for (Run run : runs) {
+				run.backend.connect(credentials);
+				run.connected = true;
+				run.operation.prepare(run.backend);
+			}
 
 			sleep(100);
 
-			folder = new File("logs/" + type + "/" + operation.getName() + "/");
+			folder = new File(logs, type + "/" + name + "/");
 			folder.mkdirs();
 
 			long start = System.currentTimeMillis();
 
-			Writer opWriter = new FileWriter(new File(folder, "OPERATION.log"));
-			writers.add(opWriter);
+			for (Run run : runs) {
+				String suffix = runs.size() == 1 ? "" : "-" + run.operation.getName();
+				run.writer = new FileWriter(new File(folder, "OPERATION" + suffix + ".log"));
+				run.phases = new File(folder, "PHASES" + suffix + ".tsv");
+				writers.add(run.writer);
+			}
 
+			Iterator<String> tables = Iterators.cycle(config.getTables());
 			for (int i = 1; i <= config.getReadWorkers(); i++) {
 				Writer writer = new FileWriter(new File(folder, String.format("READER-%d.log", i)));
-				workers.add(new SelectWorker(type.createBackend(), credentials, writer, start, "users"));
+				workers.add(new SelectWorker(type.createBackend(), credentials, writer, start, tables.next()));
 				writers.add(writer);
 			}
 
 			for (int i = 1; i <= config.getUpdateWorkers(); i++) {
 				Writer writer = new FileWriter(new File(folder, String.format("UPDATE-%d.log", i)));
-				workers.add(new UpdateWorker(type.createBackend(), credentials, writer, start, "users"));
+				workers.add(new UpdateWorker(type.createBackend(), credentials, writer, start, tables.next()));
 				writers.add(writer);
 			}
 
 			for (int i = 1; i <= config.getInsertWorkers(); i++) {
 				Writer writer = new FileWriter(new File(folder, String.format("INSERT-%d.log", i)));
-				workers.add(new InsertWorker(type.createBackend(), credentials, writer, start, "users"));
+				workers.add(new InsertWorker(type.createBackend(), credentials, writer, start, tables.next(),
+						config.getRowGenerator()));
 				writers.add(writer);
 			}
 
 			for (int i = 1; i <= config.getDeleteWorkers(); i++) {
 				Writer writer = new FileWriter(new File(folder, String.format("DELETE-%d.log", i)));
-				workers.add(new DeleteWorker(type.createBackend(), credentials, writer, start, "users"));
+				workers.add(new DeleteWorker(type.createBackend(), credentials, writer, start, tables.next()));
+				writers.add(writer);
+			}
+
+			for (int i = 1; i <= config.getMixedWorkers(); i++) {
+				Writer writer = new FileWriter(new File(folder, String.format("MIXED-%d.log", i)));
+				workers.add(new MixedWorker(type.createBackend(), credentials, writer, start, tables.next(),
+						config.getRowGenerator(), config.getWorkloadMix()));
 				writers.add(writer);
 			}
 
+			for (int i = 1; i <= config.getLongTransactionWorkers(); i++) {
+				Writer writer = new FileWriter(new File(folder, String.format("LONGTX-%d.log", i)));
+				longTransactions.add(new LongTransactionWorker(type.createBackend(), credentials, writer, start,
+						tables.next(), config.getLongTransactionDuration(), config.getLongTransactionInterval()));
+				writers.add(writer);
+			}
+			workers.addAll(longTransactions);
+
+			for (Worker worker : workers) {
+				worker.setQueryTimeout(config.getQueryTimeout(), config.isServerSideTimeout());
+				worker.setMetrics(metrics);
+			}
 			workers.stream().forEach(executor::submit);
 
-			log.info("Benchmarking: {}...", operation.getName());
-			workers.stream().forEach(c -> c.start());
+			log.info("Benchmarking: {}...", name);
+			workers.stream()
+					.filter(worker -> !longTransactions.contains(worker))
+					.forEach(Worker::start);
 
-			sleep(startupTimeout);
+			Sample baseline = awaitSteadyState(metrics);
+			openLongTransactions(longTransactions);
 
-			log.info("\tPerforming operation: {}...", operation.getName());
-			long startOp = System.currentTimeMillis() - start;
+			ProgressSampler sampler = null;
+			if (config.getProgressInterval() > 0) {
+				Writer progressWriter = new FileWriter(new File(folder, "PROGRESS.tsv"));
+				writers.add(progressWriter);
 
-			Future<?> future = executor.submit(() -> {
-				try {
-					operation.perform(backend);
-				}
-				catch (Exception e) {
-					log.error(e.getMessage(), e);
-				}
-			});
+				sampler = new ProgressSampler(type.createBackend(), credentials, progressWriter, start);
+				sampler.start(config.getProgressInterval());
+			}
+
+			LatencyThrottle throttle = null;
+			if (config.getThrottle() != null) {
+				throttle = new LatencyThrottle(metrics, config.getThrottle());
+				throttle.start();
+			}
+
+			Throttle operationThrottle = throttle != null ? throttle : Throttle.NONE;
+			List<Future<?>> futures = Lists.newArrayList();
+			for (Run run : runs) {
+				futures.add(executor.schedule(() -> perform(run, start, operationThrottle), run.offset,
+						TimeUnit.MILLISECONDS));
+			}
 
 			try {
-				future.get();
+				for (Future<?> future : futures) {
+					future.get();
+				}
 			}
 			catch (ExecutionException e) {
 				log.error(e.getMessage(), e);
 			}
+			finally {
+				if (sampler != null) {
+					sampler.stop();
+				}
+				if (throttle != null) {
+					throttle.stop();
+				}
+			}
 
-			log.info("\tOperation: {} completed", operation.getName());
-			long endOp = System.currentTimeMillis() - start;
+			boolean rejected = true;
+			for (Run run : runs) {
+				if (run.failure instanceof SQLException) {
+					run.outcome = Outcome.classify((SQLException) run.failure);
+				}
+				else if (run.failure != null) {
+					run.outcome = Outcome.OTHER;
+				}
 
-			opWriter.write("Operation\t" + startOp + "\t" + endOp + "\t" + (endOp - startOp));
-			opWriter.flush();
+				run.writer.write("Operation\t" + run.start + "\t" + run.end + "\t" + (run.end - run.start) + "\t"
+						+ run.outcome);
+				run.writer.flush();
 
-			sleep(teardownTimeout);
+				if (run.outcome == Outcome.UNSUPPORTED) {
+					log.warn("\tDatabase: {} rejected operation: {} - {}", run.backend, run.operation.getName(),
+							run.failure.getMessage());
+					run.failure = null;
+				}
+				else {
+					rejected = false;
+				}
+			}
+
+			if (!rejected) {
+				awaitBaseline(metrics, baseline);
+			}
 		}
 		finally {
 			workers.stream().forEach(c -> c.stop());
 
 			executor.shutdown();
-			executor.awaitTermination(1, TimeUnit.MINUTES);
+			if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+				log.warn("\tWorkers did not terminate within a minute after being stopped");
+			}
 			executor.shutdownNow();
+			logFailures(workers);
 
 			for (Writer writer : writers) {
 				writer.flush();
 				writer.close();
 			}
 
-			try {
-				operation.cleanup(backend);
-			}
-			finally {
-				backend.close();
+			for (Run run : runs) {
+				if (run.connected) {
+					try {
+						run.operation.cleanup(run.backend);
+					}
+					finally {
+						run.backend.close();
+					}
+				}
 			}
 		}
 
-		log.info("\tDone benchmarking: {}", operation.getName());
+		log.info("\tDone benchmarking: {}", name);
+
+		for (Run run : runs) {
+			if (run.failure != null) {
+				throw run.failure;
+			}
+		}
 		return folder;
 	}
 
+	/**
+	 * Logs how many queries of the workers failed, by outcome, if any did.
+	 */
+	private void logFailures(List<Worker> workers) {
+		Map<Outcome, Integer> failures = Maps.newEnumMap(Outcome.class);
+		for (Worker worker : workers) {
+			for (Outcome outcome : Outcome.values()) {
+				int count = worker.getFailures(outcome);
+				if (outcome != Outcome.SUCCESS && count > 0) {
+					failures.merge(outcome, count, Integer::sum);
+				}
+			}
+		}
+
+		if (!failures.isEmpty()) {
+			log.warn("\tFailed queries by outcome: {}", failures);
+		}
+	}
+
+	/**
+	 * Performs the operation of a run, and records when it started and ended and how it failed, if it did.
+	 */
+	private void perform(Run run, long start, Throttle throttle) {
+		log.info("\tPerforming operation: {}...", run.operation.getName());
+		run.start = System.currentTimeMillis() - start;
+
+		try (OperationContext context = new OperationContext(type, credentials, run.phases, start)) {
+			context.setThrottle(throttle);
+			run.operation.perform(run.backend, context);
+			if (context.getThrottledTime() > 0) {
+				log.info("\tOperation was throttled for: {} ms", context.getThrottledTime());
+			}
+		}
+		catch (Exception e) {
+			log.error(e.getMessage(), e);
+			run.failure = e;
+		}
+
+		run.end = System.currentTimeMillis() - start;
+		log.info("\tOperation: {} completed", run.operation.getName());
+	}
+
+	/**
+	 * Starts the long-running transactions, and waits until they have all touched the table (but no longer than
+	 * the startup timeout), so that the operation has to wait for them.
+	 */
+	private void openLongTransactions(List<LongTransactionWorker> longTransactions) throws InterruptedException {
+		if (longTransactions.isEmpty()) {
+			return;
+		}
+
+		longTransactions.forEach(Worker::start);
+		long deadline = System.currentTimeMillis() + startupTimeout;
+		for (LongTransactionWorker worker : longTransactions) {
+			if (!worker.awaitOpened(Math.max(0, deadline - System.currentTimeMillis()))) {
+				log.warn("\tLong-running transaction was not opened within: {} ms", startupTimeout);
+				return;
+			}
+		}
+		log.info("\tOpened: {} long-running transaction(s) of: {} ms", longTransactions.size(),
+				config.getLongTransactionDuration());
+	}
+
+	/**
+	 * Waits until the workload is steady, but no shorter than the minimum warmup and no longer than the startup
+	 * timeout. Without a steady state criterion this simply waits for the startup timeout.
+	 *
+	 * @return The throughput and latency of the workload before the operation, or null without a criterion.
+	 */
+	private Sample awaitSteadyState(LiveMetrics metrics) {
+		SteadyStateCriterion criterion = config.getSteadyState();
+		if (criterion == null) {
+			sleep(startupTimeout);
+			return null;
+		}
+
+		SteadyStateDetector detector = new SteadyStateDetector(criterion);
+		if (await(metrics, detector, criterion.getMinimumWarmup(), startupTimeout, SteadyStateDetector::isSteady)) {
+			log.info("\tWorkload is steady: {}", detector.getAverage());
+		}
+		else {
+			log.warn("\tWorkload did not become steady within: {} ms", startupTimeout);
+		}
+		return detector.getAverage();
+	}
+
+	/**
+	 * Waits until the workload has returned to the baseline, but no shorter than the minimum cooldown and no
+	 * longer than the teardown timeout. Without a baseline this simply waits for the teardown timeout.
+	 */
+	private void awaitBaseline(LiveMetrics metrics, Sample baseline) {
+		SteadyStateCriterion criterion = config.getSteadyState();
+		if (criterion == null || baseline == null) {
+			sleep(teardownTimeout);
+			return;
+		}
+
+		SteadyStateDetector detector = new SteadyStateDetector(criterion);
+		if (await(metrics, detector, criterion.getMinimumCooldown(), teardownTimeout, d -> d.isSteady(baseline))) {
+			log.info("\tWorkload returned to baseline: {}", detector.getAverage());
+		}
+		else {
+			log.warn("\tWorkload did not return to baseline within: {} ms, now at: {}", teardownTimeout,
+					detector.getAverage());
+		}
+	}
+
+	private boolean await(LiveMetrics metrics, SteadyStateDetector detector, int minimum, int maximum,
+			Predicate<SteadyStateDetector> condition) {
+
+		int interval = config.getSteadyState().getInterval();
+		long start = System.currentTimeMillis();
+		metrics.sample();
+
+		while (true) {
+			sleep(interval);
+			detector.add(metrics.sample());
+
+			long elapsed = System.currentTimeMillis() - start;
+			if (elapsed >= minimum && condition.test(detector)) {
+				return true;
+			}
+			else if (elapsed + interval > maximum) {
+				return false;
+			}
+		}
+	}
+
 	private void sleep(int millis) {
 		try {
 			Thread.sleep(millis);
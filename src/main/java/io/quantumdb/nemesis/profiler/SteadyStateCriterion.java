@@ -0,0 +1,38 @@
+package io.quantumdb.nemesis.profiler;
+
+import lombok.Data;
+
+/**
+ * Describes when the workload of a session is considered steady: the last number of samples all lie within the
+ * tolerance of their mean, both in throughput and in latency. The same tolerance decides whether the workload has
+ * returned to its baseline after the operation.
+ */
+@Data
+public class SteadyStateCriterion {
+
+	/**
+	 * The number of milliseconds between two samples of the live metrics.
+	 */
+	private int interval = 1_000;
+
+	/**
+	 * The number of consecutive samples which must be stable.
+	 */
+	private int samples = 5;
+
+	/**
+	 * The maximum relative deviation of a sample from the mean of the samples (or from the baseline).
+	 */
+	private double tolerance = 0.1;
+
+	/**
+	 * The minimum number of milliseconds to wait before performing the operation, regardless of the workload.
+	 */
+	private int minimumWarmup = 10_000;
+
+	/**
+	 * The minimum number of milliseconds to wait after the operation, regardless of the workload.
+	 */
+	private int minimumCooldown = 5_000;
+
+}
@@ -0,0 +1,76 @@
+package io.quantumdb.nemesis.profiler;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.ToDoubleFunction;
+
+import io.quantumdb.nemesis.profiler.LiveMetrics.Sample;
+
+/**
+ * Keeps the most recent samples of the live metrics, and decides whether they satisfy a {@link SteadyStateCriterion}.
+ */
+class SteadyStateDetector {
+
+	/**
+	 * Latencies are measured in whole milliseconds, so small deviations from small latencies are always accepted.
+	 */
+	private static final double LATENCY_RESOLUTION = 1;
+
+	private final SteadyStateCriterion criterion;
+	private final Deque<Sample> samples = new ArrayDeque<>();
+
+	SteadyStateDetector(SteadyStateCriterion criterion) {
+		this.criterion = criterion;
+	}
+
+	void add(Sample sample) {
+		samples.addLast(sample);
+		while (samples.size() > criterion.getSamples()) {
+			samples.removeFirst();
+		}
+	}
+
+	void clear() {
+		samples.clear();
+	}
+
+	/**
+	 * @return True if enough samples were taken, and all of them lie within the tolerance of their mean.
+	 */
+	boolean isSteady() {
+		return isSteady(getAverage());
+	}
+
+	/**
+	 * @return True if enough samples were taken, and all of them lie within the tolerance of the specified baseline.
+	 */
+	boolean isSteady(Sample baseline) {
+		if (samples.size() < criterion.getSamples()) {
+			return false;
+		}
+
+		for (Sample sample : samples) {
+			if (!isWithinTolerance(sample.getThroughput(), baseline.getThroughput(), 0)
+					|| !isWithinTolerance(sample.getLatency(), baseline.getLatency(), LATENCY_RESOLUTION)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return The mean throughput and latency of the current samples.
+	 */
+	Sample getAverage() {
+		return new Sample(average(Sample::getThroughput), average(Sample::getLatency));
+	}
+
+	private double average(ToDoubleFunction<Sample> metric) {
+		return samples.stream().mapToDouble(metric).average().orElse(0);
+	}
+
+	private boolean isWithinTolerance(double value, double expected, double resolution) {
+		return Math.abs(value - expected) <= Math.max(resolution, expected * criterion.getTolerance());
+	}
+
+}
@@ -0,0 +1,47 @@
+package io.quantumdb.nemesis.profiler;
+
+import java.util.List;
+
+import com.google.common.collect.Lists;
+import lombok.Data;
+
+/**
+ * Describes when long-running operations are held back: as soon as a percentile of the latency of the watched
+ * workers exceeds the target. The operation is paused for as long as the target is breached, and resumes at a
+ * reduced pace once the latency has recovered.
+ */
+@Data
+public class ThrottleCriterion {
+
+	/**
+	 * The latency (in milliseconds) which the percentile of the watched workers should not exceed.
+	 */
+	private final int target;
+
+	/**
+	 * The fraction of queries which should complete within the target.
+	 */
+	private double percentile = 0.99;
+
+	/**
+	 * The number of milliseconds between two evaluations of the latency.
+	 */
+	private int interval = 1_000;
+
+	/**
+	 * The maximum number of milliseconds to pause at once, after which the operation proceeds regardless.
+	 */
+	private int maximumPause = 60_000;
+
+	/**
+	 * The maximum number of milliseconds to wait between two units of work once the latency has recovered.
+	 */
+	private int maximumDelay = 5_000;
+
+	/**
+	 * The types of worker whose latency is watched.
+	 */
+	private List<String> workers = Lists.newArrayList(SelectWorker.class.getSimpleName(),
+			UpdateWorker.class.getSimpleName());
+
+}
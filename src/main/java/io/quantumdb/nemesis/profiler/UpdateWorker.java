@@ -10,17 +10,15 @@ import io.quantumdb.nemesis.structure.DatabaseCredentials;
 
 public class UpdateWorker extends Worker {
 
-	private static final String QUERY = "UPDATE %s SET name = 'Dilbert' WHERE id = %d";
+	static final String QUERY = "UPDATE %s SET name = 'Dilbert' WHERE id = %d";
 
 	private final Random random;
-	private final Database backend;
 	private final String tableName;
 	
 	public UpdateWorker(Database backend, DatabaseCredentials credentials, Writer writer,
 			long startingTimestamp, String tableName) {
 
 		super(backend, credentials, writer, startingTimestamp);
-		this.backend = backend;
 		this.tableName = tableName;
 		this.random = new Random();
 	}
@@ -28,7 +26,7 @@ public class UpdateWorker extends Worker {
 	@Override
 	void doAction() throws SQLException {
 		int from = random.nextInt(100_000_000);
-		backend.query(String.format(QUERY, tableName, from));
+		execute(String.format(QUERY, tableName, from));
 	}
 	
 }
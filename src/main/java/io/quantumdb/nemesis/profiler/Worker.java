@@ -2,9 +2,13 @@ package io.quantumdb.nemesis.profiler;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import io.quantumdb.nemesis.LogLines;
 import io.quantumdb.nemesis.structure.Database;
 import io.quantumdb.nemesis.structure.DatabaseCredentials;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +19,17 @@ import lombok.extern.slf4j.Slf4j;
 public abstract class Worker implements Runnable {
 	
 	private final AtomicBoolean running = new AtomicBoolean();
+	private final String type = getClass().getSimpleName();
+	private final char[] typeName = type.toCharArray();
+	private final char[] record = new char[typeName.length + 128];
+	private final int[] failures = new int[Outcome.values().length];
+
+	private volatile boolean stopped;
+	private volatile Statement current;
+	private int queryTimeout;
+	private boolean serverSideTimeout;
+	private LiveMetrics metrics;
+	private LatencyHistogram histogram;
 	
 	private final Database backend;
 	private final DatabaseCredentials credentials;
@@ -23,10 +38,9 @@ public abstract class Worker implements Runnable {
 
 	@Override
 	public final void run() {
-		String type = getClass().getSimpleName();
-		
 		try {
 			backend.connect(credentials);
+			applyServerSideTimeout();
 		} 
 		catch (SQLException e) {
 			log.error(e.getMessage(), e);
@@ -45,15 +59,7 @@ public abstract class Worker implements Runnable {
 		log.debug("{} is running...", type);
 		
 		while (running.get()) {
-			try {
-				long start = System.currentTimeMillis();
-				doAction();
-				long end = System.currentTimeMillis();
-				writer.write(type + "\t" + (start - startingTimestamp) + "\t" + (end - startingTimestamp) + "\t" + (end - start) + "\n");
-			}
-			catch (IOException | SQLException e) {
-				log.warn(e.getMessage(), e);
-			}
+			iterate();
 		}
 		
 		try {
@@ -66,10 +72,155 @@ public abstract class Worker implements Runnable {
 		log.debug("{} has finished", type);
 	}
 	
+	/**
+	 * An action which performs one or more queries, and is recorded as a single query.
+	 */
+	interface Action {
+		void perform() throws SQLException;
+	}
+
+	private final Action action = this::doAction;
+
+	/**
+	 * Performs and records a single query.
+	 */
+	void iterate() {
+		measure(typeName, histogram, action);
+	}
+
+	/**
+	 * Performs and records a single query under the specified type. Failed queries are recorded as well, together
+	 * with the class of failure, and counted per class so that the session can summarise them once it ends.
+	 *
+	 * @return The outcome of the query, or null if it was cancelled because the worker was stopped.
+	 */
+	Outcome measure(char[] type, LatencyHistogram histogram, Action action) {
+		Outcome outcome = Outcome.SUCCESS;
+		long start = System.currentTimeMillis();
+		try {
+			action.perform();
+		}
+		catch (SQLException e) {
+			if (stopped) {
+				// The query was cancelled by stop(), not by the database.
+				return null;
+			}
+			outcome = Outcome.classify(e);
+			failures[outcome.ordinal()]++;
+			if (log.isDebugEnabled()) {
+				log.debug("{} failed with outcome: {} - {}", new String(type), outcome, e.getMessage());
+			}
+		}
+		long end = System.currentTimeMillis();
+		if (metrics != null) {
+			metrics.record(end - start);
+			histogram.record(end - start);
+		}
+
+		try {
+			int length = LogLines.format(record, type, start - startingTimestamp, end - startingTimestamp,
+					outcome);
+			writer.write(record, 0, length);
+		}
+		catch (IOException e) {
+			log.warn(e.getMessage(), e);
+		}
+		return outcome;
+	}
+
 	abstract void doAction() throws SQLException;
 
+	/**
+	 * Executes a query on a statement which can be cancelled by {@link #stop()}, and which is subject to the query
+	 * timeout unless that timeout is enforced by the database server.
+	 */
+	void execute(String query) throws SQLException {
+		try (Statement statement = backend.getConnection().createStatement()) {
+			if (queryTimeout > 0 && !serverSideTimeout) {
+				statement.setQueryTimeout((queryTimeout + 999) / 1000);
+			}
+
+			current = statement;
+			if (stopped) {
+				throw new SQLException("Worker has been stopped", "57014");
+			}
+			statement.execute(query);
+		}
+		finally {
+			current = null;
+		}
+	}
+
+	/**
+	 * @return The number of queries of this worker which failed with the specified outcome. Only accurate once the
+	 * worker has finished.
+	 */
+	int getFailures(Outcome outcome) {
+		return failures[outcome.ordinal()];
+	}
+
+	Connection getConnection() {
+		return backend.getConnection();
+	}
+
+	char[] getTypeName() {
+		return typeName;
+	}
+
+	boolean isRunning() {
+		return running.get();
+	}
+
+	/**
+	 * Sets the number of milliseconds after which queries are aborted, or 0 to let them run indefinitely. When the
+	 * timeout is server-side it is enforced by the database (for instance using "statement_timeout"), otherwise
+	 * by the JDBC driver with a granularity of seconds. Backends without a server-side timeout fall back to the
+	 * latter. Must be called before the worker is submitted.
+	 */
+	void setQueryTimeout(int millis, boolean serverSide) {
+		this.queryTimeout = millis;
+		this.serverSideTimeout = serverSide;
+	}
+
+	/**
+	 * Makes the worker record the latency of its queries into the specified live metrics as well. Must be called
+	 * before the worker is submitted.
+	 */
+	void setMetrics(LiveMetrics metrics) {
+		this.metrics = metrics;
+		this.histogram = metrics.getHistogram(type);
+	}
+
+	private void applyServerSideTimeout() throws SQLException {
+		if (queryTimeout <= 0 || !serverSideTimeout) {
+			return;
+		}
+
+		try {
+			backend.setStatementTimeout(queryTimeout);
+		}
+		catch (SQLFeatureNotSupportedException e) {
+			log.warn("{} - falling back to a client-side query timeout", e.getMessage());
+			serverSideTimeout = false;
+		}
+	}
+
+	/**
+	 * Stops the worker, and cancels the query it is currently waiting on.
+	 */
 	public void stop() {
+		stopped = true;
 		running.set(false);
+
+		Statement statement = current;
+		if (statement != null) {
+			try {
+				statement.cancel();
+			}
+			catch (SQLException e) {
+				log.debug("Could not cancel query of {}: {}", type, e.getMessage());
+			}
+		}
 	}
 	
 	public void start() {
@@ -0,0 +1,127 @@
+package io.quantumdb.nemesis.profiler;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Describes the transactions which mixed workers perform, and how often they perform each of them relative to the
+ * others. By default 80% of the transactions read a row, 10% update a row, 5% insert a row and 5% delete a row.
+ */
+@EqualsAndHashCode
+public class WorkloadMix {
+
+	/**
+	 * The types of query a transaction consists of. Each query is recorded under the type of the worker which
+	 * performs only that query, so that the latency of every type of query is reported separately.
+	 */
+	public enum Query {
+		SELECT(SelectWorker.class),
+		UPDATE(UpdateWorker.class),
+		INSERT(InsertWorker.class),
+		DELETE(DeleteWorker.class);
+
+		@Getter
+		private final String workerType;
+
+		Query(Class<? extends Worker> workerType) {
+			this.workerType = workerType.getSimpleName();
+		}
+	}
+
+	/**
+	 * The transactions which a mixed worker can perform. The queries of a transaction operate on the same row.
+	 */
+	public enum Transaction {
+		SELECT(Query.SELECT),
+		UPDATE(Query.UPDATE),
+		INSERT(Query.INSERT),
+		DELETE(Query.DELETE),
+		READ_UPDATE(Query.SELECT, Query.UPDATE);
+
+		private final Query[] queries;
+
+		Transaction(Query... queries) {
+			this.queries = queries;
+		}
+
+		Query[] getQueries() {
+			return queries;
+		}
+
+		/**
+		 * @return The name of the transaction as used in scenario files, for instance "read-update".
+		 */
+		public String getName() {
+			return name().toLowerCase().replace('_', '-');
+		}
+
+		public static Transaction fromName(String name) {
+			for (Transaction transaction : values()) {
+				if (transaction.getName().equalsIgnoreCase(name)) {
+					return transaction;
+				}
+			}
+			throw new IllegalArgumentException("Unknown transaction: " + name);
+		}
+	}
+
+	public static WorkloadMix defaultMix() {
+		return new WorkloadMix()
+				.setWeight(Transaction.SELECT, 80)
+				.setWeight(Transaction.UPDATE, 10)
+				.setWeight(Transaction.INSERT, 5)
+				.setWeight(Transaction.DELETE, 5);
+	}
+
+	private final Map<Transaction, Integer> weights = new EnumMap<>(Transaction.class);
+	private int totalWeight;
+
+	public WorkloadMix setWeight(Transaction transaction, int weight) {
+		if (weight < 0) {
+			throw new IllegalArgumentException("The weight of: " + transaction.getName() + " must not be negative");
+		}
+
+		Integer previous = weights.put(transaction, weight);
+		totalWeight += weight - (previous == null ? 0 : previous);
+		return this;
+	}
+
+	public int getWeight(Transaction transaction) {
+		return weights.getOrDefault(transaction, 0);
+	}
+
+	/**
+	 * @return A transaction drawn at random, in proportion to the weights of the transactions.
+	 */
+	Transaction pick(SplittableRandom random) {
+		if (totalWeight <= 0) {
+			throw new IllegalStateException("The workload mix contains no transactions");
+		}
+
+		int remaining = random.nextInt(totalWeight);
+		for (Map.Entry<Transaction, Integer> entry : weights.entrySet()) {
+			remaining -= entry.getValue();
+			if (remaining < 0) {
+				return entry.getKey();
+			}
+		}
+		throw new IllegalStateException("The weights of the workload mix are inconsistent");
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		for (Map.Entry<Transaction, Integer> entry : weights.entrySet()) {
+			if (builder.length() > 0) {
+				builder.append(", ");
+			}
+			builder.append(entry.getKey().getName()).append(':').append(entry.getValue());
+		}
+		return builder.toString();
+	}
+
+}
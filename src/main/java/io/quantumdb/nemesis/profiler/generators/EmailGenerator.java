@@ -0,0 +1,65 @@
+package io.quantumdb.nemesis.profiler.generators;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generates e-mail addresses of the form "first.last123@domain".
+ */
+public class EmailGenerator implements ValueGenerator {
+
+	private static final String[] DOMAINS = {
+			"example.com", "example.org", "example.net", "mail.example.com"
+	};
+
+	private final char[][] firstNames;
+	private final char[][] lastNames;
+	private final char[][] domains;
+
+	public EmailGenerator() {
+		this.firstNames = toLowerCase(NameGenerator.FIRST_NAMES);
+		this.lastNames = toLowerCase(NameGenerator.LAST_NAMES);
+		this.domains = toLowerCase(DOMAINS);
+	}
+
+	@Override
+	public String getType() {
+		return "varchar(255)";
+	}
+
+	@Override
+	public int getMaxLength() {
+		return longest(firstNames) + longest(lastNames) + longest(domains) + 7;
+	}
+
+	@Override
+	public int write(SplittableRandom random, char[] target, int offset) {
+		offset = append(firstNames[random.nextInt(firstNames.length)], target, offset);
+		target[offset++] = '.';
+		offset = append(lastNames[random.nextInt(lastNames.length)], target, offset);
+		offset = Scratch.writeDigits(random.nextInt(10_000), target, offset);
+		target[offset++] = '@';
+		return append(domains[random.nextInt(domains.length)], target, offset);
+	}
+
+	private static int append(char[] source, char[] target, int offset) {
+		System.arraycopy(source, 0, target, offset, source.length);
+		return offset + source.length;
+	}
+
+	private static int longest(char[][] values) {
+		int longest = 0;
+		for (char[] value : values) {
+			longest = Math.max(longest, value.length);
+		}
+		return longest;
+	}
+
+	private static char[][] toLowerCase(String[] values) {
+		char[][] result = new char[values.length][];
+		for (int i = 0; i < values.length; i++) {
+			result[i] = values[i].toLowerCase().toCharArray();
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,65 @@
+package io.quantumdb.nemesis.profiler.generators;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generates full names from a fixed set of first and last names. Every combination is computed up front, so
+ * {@link #generate(SplittableRandom)} returns a shared String instead of concatenating a new one.
+ */
+public class NameGenerator implements ValueGenerator {
+
+	static final String[] FIRST_NAMES = {
+			"Walter", "Skyler", "Jesse", "Hank", "Marie",
+			"Saul", "Steven", "Mike", "Gustavo", "Ted",
+			"Lydia", "Gale", "Leonel", "Marco", "Tuco"
+	};
+
+	static final String[] LAST_NAMES = {
+			"White", "Pinkman", "Schrader", "Goodman",
+			"Gomez", "Ehrmantraut", "Fring", "Beneke",
+			"Rodarte-Quayle", "Boetticher", "Salamanca"
+	};
+
+	private final String[] names;
+	private final char[][] characters;
+	private final int maxLength;
+
+	public NameGenerator() {
+		this.names = new String[FIRST_NAMES.length * LAST_NAMES.length];
+		this.characters = new char[names.length][];
+
+		int maxLength = 0;
+		for (int i = 0; i < FIRST_NAMES.length; i++) {
+			for (int j = 0; j < LAST_NAMES.length; j++) {
+				int index = i * LAST_NAMES.length + j;
+				names[index] = FIRST_NAMES[i] + " " + LAST_NAMES[j];
+				characters[index] = names[index].toCharArray();
+				maxLength = Math.max(maxLength, names[index].length());
+			}
+		}
+		this.maxLength = maxLength;
+	}
+
+	@Override
+	public String getType() {
+		return "varchar(255)";
+	}
+
+	@Override
+	public int getMaxLength() {
+		return maxLength;
+	}
+
+	@Override
+	public int write(SplittableRandom random, char[] target, int offset) {
+		char[] name = characters[random.nextInt(characters.length)];
+		System.arraycopy(name, 0, target, offset, name.length);
+		return offset + name.length;
+	}
+
+	@Override
+	public String generate(SplittableRandom random) {
+		return names[random.nextInt(names.length)];
+	}
+
+}
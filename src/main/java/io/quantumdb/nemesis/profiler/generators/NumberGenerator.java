@@ -0,0 +1,52 @@
+package io.quantumdb.nemesis.profiler.generators;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.SplittableRandom;
+
+/**
+ * Generates uniformly distributed whole numbers in the range [min..max).
+ */
+public class NumberGenerator implements ValueGenerator {
+
+	private final long min;
+	private final long max;
+
+	public NumberGenerator(long min, long max) {
+		if (min >= max) {
+			throw new IllegalArgumentException("The range [" + min + ".." + max + ") is empty");
+		}
+		this.min = min;
+		this.max = max;
+	}
+
+	@Override
+	public String getType() {
+		return "bigint";
+	}
+
+	@Override
+	public int getMaxLength() {
+		return 20;
+	}
+
+	@Override
+	public int write(SplittableRandom random, char[] target, int offset) {
+		return Scratch.writeDigits(next(random), target, offset);
+	}
+
+	@Override
+	public void appendLiteral(SplittableRandom random, StringBuilder target) {
+		target.append(next(random));
+	}
+
+	@Override
+	public void bind(PreparedStatement statement, int index, SplittableRandom random) throws SQLException {
+		statement.setLong(index, next(random));
+	}
+
+	private long next(SplittableRandom random) {
+		return random.nextLong(min, max);
+	}
+
+}
@@ -0,0 +1,27 @@
+package io.quantumdb.nemesis.profiler.generators;
+
+import java.util.SplittableRandom;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Hands out one {@link SplittableRandom} per thread, each split off a shared root. Unlike a shared
+ * {@link java.util.Random} this involves no contended compare-and-set on every draw.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class RandomSources {
+
+	private static final SplittableRandom ROOT = new SplittableRandom();
+
+	private static final ThreadLocal<SplittableRandom> CURRENT = ThreadLocal.withInitial(() -> {
+		synchronized (ROOT) {
+			return ROOT.split();
+		}
+	});
+
+	public static SplittableRandom current() {
+		return CURRENT.get();
+	}
+
+}
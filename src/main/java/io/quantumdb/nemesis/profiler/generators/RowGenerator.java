@@ -0,0 +1,89 @@
+package io.quantumdb.nemesis.profiler.generators;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import io.quantumdb.nemesis.structure.ColumnDefinition;
+
+/**
+ * Describes the generated (non-identity) columns of a row, and produces their values.
+ */
+public class RowGenerator {
+
+	/**
+	 * @return The row layout of the "users" table: a single, non-nullable name.
+	 */
+	public static RowGenerator users() {
+		return new RowGenerator()
+				.withColumn(new ColumnDefinition("name", "varchar(255)").setNullable(false), new NameGenerator());
+	}
+
+	private final List<ColumnDefinition> columns = Lists.newArrayList();
+	private final List<ValueGenerator> generators = Lists.newArrayList();
+
+	public RowGenerator withColumn(String name, ValueGenerator generator) {
+		return withColumn(new ColumnDefinition(name, generator.getType()), generator);
+	}
+
+	public RowGenerator withColumn(ColumnDefinition column, ValueGenerator generator) {
+		columns.add(column);
+		generators.add(generator);
+		return this;
+	}
+
+	public ImmutableList<ColumnDefinition> getColumns() {
+		return ImmutableList.copyOf(columns);
+	}
+
+	/**
+	 * @return A parameterized INSERT statement for the generated columns.
+	 */
+	public String createInsertQuery(String tableName) {
+		List<String> names = Lists.newArrayList();
+		List<String> parameters = Lists.newArrayList();
+		for (ColumnDefinition column : columns) {
+			names.add(column.getName());
+			parameters.add("?");
+		}
+
+		return "INSERT INTO " + tableName + " (" + Joiner.on(", ").join(names) + ") VALUES ("
+				+ Joiner.on(", ").join(parameters) + ")";
+	}
+
+	/**
+	 * Binds freshly generated values to the parameters of a statement created by {@link #createInsertQuery(String)}.
+	 */
+	public void bind(PreparedStatement statement, SplittableRandom random) throws SQLException {
+		for (int i = 0; i < generators.size(); i++) {
+			generators.get(i).bind(statement, i + 1, random);
+		}
+	}
+
+	/**
+	 * Appends a literal INSERT statement with freshly generated values to the target.
+	 */
+	public void appendInsertQuery(String tableName, SplittableRandom random, StringBuilder target) {
+		target.append("INSERT INTO ").append(tableName).append(" (");
+		for (int i = 0; i < columns.size(); i++) {
+			if (i > 0) {
+				target.append(", ");
+			}
+			target.append(columns.get(i).getName());
+		}
+
+		target.append(") VALUES (");
+		for (int i = 0; i < generators.size(); i++) {
+			if (i > 0) {
+				target.append(", ");
+			}
+			generators.get(i).appendLiteral(random, target);
+		}
+		target.append(")");
+	}
+
+}
@@ -0,0 +1,46 @@
+package io.quantumdb.nemesis.profiler.generators;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-thread scratch space for generators which have to be written into a target other than a char[].
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+class Scratch {
+
+	static final int SIZE = 16 * 1024;
+
+	private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[SIZE]);
+
+	static char[] get() {
+		return BUFFER.get();
+	}
+
+	static int writeDigits(long value, char[] target, int offset) {
+		if (value < 0) {
+			target[offset++] = '-';
+			value = -value;
+		}
+
+		int digits = 1;
+		for (long remainder = value / 10; remainder > 0; remainder /= 10) {
+			digits++;
+		}
+
+		for (int i = offset + digits - 1; i >= offset; i--) {
+			target[i] = (char) ('0' + value % 10);
+			value /= 10;
+		}
+		return offset + digits;
+	}
+
+	static int writePadded(int value, int width, char[] target, int offset) {
+		for (int i = offset + width - 1; i >= offset; i--) {
+			target[i] = (char) ('0' + value % 10);
+			value /= 10;
+		}
+		return offset + width;
+	}
+
+}
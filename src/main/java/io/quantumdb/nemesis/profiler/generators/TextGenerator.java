@@ -0,0 +1,96 @@
+package io.quantumdb.nemesis.profiler.generators;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generates text made up of words, with a length drawn from either a uniform or a normal distribution.
+ */
+public class TextGenerator implements ValueGenerator {
+
+	private static final String[] WORDS = {
+			"lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing", "elit", "sed", "do",
+			"eiusmod", "tempor", "incididunt", "ut", "labore", "et", "dolore", "magna", "aliqua", "enim",
+			"ad", "minim", "veniam", "quis", "nostrud", "exercitation", "ullamco", "laboris", "nisi", "aliquip"
+	};
+
+	private static final char[][] CHARACTERS = new char[WORDS.length][];
+
+	static {
+		for (int i = 0; i < WORDS.length; i++) {
+			CHARACTERS[i] = WORDS[i].toCharArray();
+		}
+	}
+
+	/**
+	 * @return A generator of text whose length is uniformly distributed in the range [minLength..maxLength].
+	 */
+	public static TextGenerator uniform(int minLength, int maxLength) {
+		return new TextGenerator(minLength, maxLength, 0);
+	}
+
+	/**
+	 * @return A generator of text whose length is normally distributed around the mean, capped at maxLength.
+	 */
+	public static TextGenerator normal(int meanLength, int standardDeviation, int maxLength) {
+		return new TextGenerator(meanLength, maxLength, standardDeviation);
+	}
+
+	private final int length;
+	private final int maxLength;
+	private final int standardDeviation;
+
+	private TextGenerator(int length, int maxLength, int standardDeviation) {
+		if (length < 0 || standardDeviation < 0) {
+			throw new IllegalArgumentException("The length and its standard deviation may not be negative");
+		}
+		if (maxLength < length) {
+			throw new IllegalArgumentException("The maximum length may not be shorter than " + length + " characters");
+		}
+		if (maxLength > Scratch.SIZE) {
+			throw new IllegalArgumentException("Text may not be longer than " + Scratch.SIZE + " characters");
+		}
+		this.length = length;
+		this.maxLength = maxLength;
+		this.standardDeviation = standardDeviation;
+	}
+
+	@Override
+	public String getType() {
+		return maxLength > 4000 ? "text" : "varchar(" + maxLength + ")";
+	}
+
+	@Override
+	public int getMaxLength() {
+		return maxLength;
+	}
+
+	@Override
+	public int write(SplittableRandom random, char[] target, int offset) {
+		int end = offset + nextLength(random);
+		int position = offset;
+		while (position < end) {
+			if (position > offset) {
+				target[position++] = ' ';
+			}
+
+			char[] word = CHARACTERS[random.nextInt(CHARACTERS.length)];
+			int count = Math.min(word.length, end - position);
+			System.arraycopy(word, 0, target, position, count);
+			position += count;
+		}
+		return position;
+	}
+
+	private int nextLength(SplittableRandom random) {
+		if (standardDeviation == 0) {
+			return length + random.nextInt(maxLength - length + 1);
+		}
+
+		// Box-Muller transform, SplittableRandom has no nextGaussian().
+		double u1 = 1.0 - random.nextDouble();
+		double u2 = random.nextDouble();
+		double gaussian = Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2.0 * Math.PI * u2);
+		return (int) Math.max(0, Math.min(maxLength, Math.round(length + gaussian * standardDeviation)));
+	}
+
+}
@@ -0,0 +1,69 @@
+package io.quantumdb.nemesis.profiler.generators;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generates UTC timestamps formatted as "yyyy-MM-dd HH:mm:ss", uniformly distributed between two moments in time.
+ */
+public class TimestampGenerator implements ValueGenerator {
+
+	private static final int SECONDS_PER_DAY = 86_400;
+
+	private final long fromEpochSecond;
+	private final long toEpochSecond;
+
+	public TimestampGenerator(long fromEpochSecond, long toEpochSecond) {
+		if (fromEpochSecond >= toEpochSecond) {
+			throw new IllegalArgumentException("The range [" + fromEpochSecond + ".." + toEpochSecond + ") is empty");
+		}
+		this.fromEpochSecond = fromEpochSecond;
+		this.toEpochSecond = toEpochSecond;
+	}
+
+	@Override
+	public String getType() {
+		return "timestamp";
+	}
+
+	@Override
+	public int getMaxLength() {
+		return 19;
+	}
+
+	@Override
+	public int write(SplittableRandom random, char[] target, int offset) {
+		long epochSecond = random.nextLong(fromEpochSecond, toEpochSecond);
+		long days = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+		int secondOfDay = (int) Math.floorMod(epochSecond, SECONDS_PER_DAY);
+
+		// Civil date from days since epoch, see: http://howardhinnant.github.io/date_algorithms.html
+		long shifted = days + 719_468;
+		long era = Math.floorDiv(shifted, 146_097);
+		long dayOfEra = shifted - era * 146_097;
+		long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146_096) / 365;
+		long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+		long shiftedMonth = (5 * dayOfYear + 2) / 153;
+		int day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+		int month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+		int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+
+		offset = Scratch.writePadded(year, 4, target, offset);
+		target[offset++] = '-';
+		offset = Scratch.writePadded(month, 2, target, offset);
+		target[offset++] = '-';
+		offset = Scratch.writePadded(day, 2, target, offset);
+		target[offset++] = ' ';
+		offset = Scratch.writePadded(secondOfDay / 3600, 2, target, offset);
+		target[offset++] = ':';
+		offset = Scratch.writePadded(secondOfDay / 60 % 60, 2, target, offset);
+		target[offset++] = ':';
+		return Scratch.writePadded(secondOfDay % 60, 2, target, offset);
+	}
+
+	@Override
+	public void appendLiteral(SplittableRandom random, StringBuilder target) {
+		target.append("TIMESTAMP ");
+		ValueGenerator.super.appendLiteral(random, target);
+	}
+
+}
@@ -0,0 +1,77 @@
+package io.quantumdb.nemesis.profiler.generators;
+
+import java.nio.CharBuffer;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.SplittableRandom;
+
+/**
+ * Generates random column values. Implementations write directly into caller-owned buffers, so that generating a
+ * value does not allocate; only {@link #generate(SplittableRandom)} materializes a String.
+ */
+public interface ValueGenerator {
+
+	/**
+	 * @return The SQL type of the column which holds the generated values.
+	 */
+	String getType();
+
+	/**
+	 * @return The maximum number of characters {@link #write(SplittableRandom, char[], int)} may produce.
+	 */
+	int getMaxLength();
+
+	/**
+	 * Writes a random value into the target, starting at the specified offset.
+	 *
+	 * @return The offset directly after the written value.
+	 */
+	int write(SplittableRandom random, char[] target, int offset);
+
+	default void write(SplittableRandom random, CharBuffer target) {
+		if (target.hasArray()) {
+			int start = target.arrayOffset() + target.position();
+			int end = write(random, target.array(), start);
+			target.position(target.position() + end - start);
+			return;
+		}
+
+		char[] scratch = Scratch.get();
+		int length = write(random, scratch, 0);
+		target.put(scratch, 0, length);
+	}
+
+	/**
+	 * Writes a random value as ASCII bytes into the target, starting at the specified offset.
+	 *
+	 * @return The offset directly after the written value.
+	 */
+	default int write(SplittableRandom random, byte[] target, int offset) {
+		char[] scratch = Scratch.get();
+		int length = write(random, scratch, 0);
+		for (int i = 0; i < length; i++) {
+			target[offset + i] = (byte) scratch[i];
+		}
+		return offset + length;
+	}
+
+	/**
+	 * Appends the value as a SQL literal.
+	 */
+	default void appendLiteral(SplittableRandom random, StringBuilder target) {
+		char[] scratch = Scratch.get();
+		int length = write(random, scratch, 0);
+		target.append('\'').append(scratch, 0, length).append('\'');
+	}
+
+	default void bind(PreparedStatement statement, int index, SplittableRandom random) throws SQLException {
+		statement.setString(index, generate(random));
+	}
+
+	default String generate(SplittableRandom random) {
+		char[] scratch = Scratch.get();
+		int length = write(random, scratch, 0);
+		return new String(scratch, 0, length);
+	}
+
+}
@@ -2,24 +2,41 @@ package io.quantumdb.nemesis.structure;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.util.List;
 
+import io.quantumdb.nemesis.structure.fake.FakeDatabase;
+import io.quantumdb.nemesis.structure.h2.H2Database;
+import io.quantumdb.nemesis.structure.mysql.MysqlDatabase;
+import io.quantumdb.nemesis.structure.mysql.MysqlVersion;
 import io.quantumdb.nemesis.structure.oracle11.Oracle11Database;
 import io.quantumdb.nemesis.structure.postgresql.PostgresDatabase;
 
 public interface Database {
 
 	public enum Type {
+		MYSQL_80 {
+			@Override
+			public Database createBackend() {
+				return new MysqlDatabase(MysqlVersion.MYSQL_80);
+			}
+		},
+		MYSQL_57 {
+			@Override
+			public Database createBackend() {
+				return new MysqlDatabase(MysqlVersion.MYSQL_57);
+			}
+		},
 		MYSQL_56 {
 			@Override
 			public Database createBackend() {
-				return new io.quantumdb.nemesis.structure.mysql56.MysqlDatabase();
+				return new MysqlDatabase(MysqlVersion.MYSQL_56);
 			}
 		},
 		MYSQL_55 {
 			@Override
 			public Database createBackend() {
-				return new io.quantumdb.nemesis.structure.mysql55.MysqlDatabase();
+				return new MysqlDatabase(MysqlVersion.MYSQL_55);
 			}
 		},
 		POSTGRESQL {
@@ -33,6 +50,18 @@ public interface Database {
 			public Database createBackend() {
 				return new Oracle11Database();
 			}
+		},
+		H2 {
+			@Override
+			public Database createBackend() {
+				return new H2Database();
+			}
+		},
+		FAKE {
+			@Override
+			public Database createBackend() {
+				return new FakeDatabase();
+			}
 		};
 
 		public abstract Database createBackend();
@@ -49,7 +78,8 @@ public interface Database {
 		ONLINE_INDEX,
 		VIRTUAL_COLUMN,
 		CONSTRAINT_NOVALIDATE_OPTION,
-		CONSTRAINT_DISABLE_OPTION;
+		CONSTRAINT_DISABLE_OPTION,
+		PARALLEL_DDL;
 	}
 
 	void connect(DatabaseCredentials credentials) throws SQLException;
@@ -91,4 +121,41 @@ public interface Database {
 	void query(String query) throws SQLException;
 	Connection getConnection();
 
+	/**
+	 * Instructs the database server to abort every subsequent statement on this connection which runs for longer
+	 * than the specified number of milliseconds.
+	 */
+	default void setStatementTimeout(int millis) throws SQLException {
+		throw new SQLFeatureNotSupportedException(getClass().getSimpleName() + " has no server-side statement timeout");
+	}
+
+	/**
+	 * Instructs the database server to abort every subsequent statement on this connection which waits for longer
+	 * than the specified number of milliseconds to acquire a lock, or restores the default of the server if 0.
+	 */
+	default void setLockTimeout(int millis) throws SQLException {
+		throw new SQLFeatureNotSupportedException(getClass().getSimpleName() + " has no lock timeout");
+	}
+
+	/**
+	 * Instructs the database to build indices and rewrite tables with the specified degree of parallelism in every
+	 * subsequent structural change on this connection, or restores the default of the server if 0.
+	 */
+	default void setDdlParallelism(int degree) throws SQLException {
+		throw new SQLFeatureNotSupportedException(getClass().getSimpleName() + " cannot change tables in parallel");
+	}
+
+	/**
+	 * Samples the progress of the structural changes which are currently running, as far as the database reports
+	 * it. Since those changes block the connection performing them, this must be called on another connection.
+	 */
+	default List<Progress> sampleProgress() throws SQLException {
+		throw new SQLFeatureNotSupportedException(getClass().getSimpleName() + " does not report progress");
+	}
+
+	/**
+	 * Reverts any setting of the server which {@link #sampleProgress()} changed to be able to report the progress.
+	 */
+	default void stopSamplingProgress() throws SQLException {}
+
 }
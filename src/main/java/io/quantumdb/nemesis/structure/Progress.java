@@ -0,0 +1,17 @@
+package io.quantumdb.nemesis.structure;
+
+import lombok.Data;
+
+/**
+ * This data class describes the progress of a long-running structural change, as reported by the database. The
+ * total is 0 when the database does not know how much work remains.
+ */
+@Data
+public class Progress {
+
+	private final String phase;
+	private final long done;
+	private final long total;
+	private final String unit;
+
+}
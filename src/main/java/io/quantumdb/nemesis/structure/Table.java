@@ -2,6 +2,7 @@ package io.quantumdb.nemesis.structure;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 
 public interface Table {
 
@@ -73,6 +74,33 @@ public interface Table {
 
 	List<Trigger> listTriggers() throws SQLException;
 
+	/**
+	 * Creates triggers which apply every insert, update and delete on this table to the target table as well. Rows
+	 * are matched on the key column, and the values of the columns of this table are written to the columns of the
+	 * target table they are mapped to (which must include the key column).
+	 *
+	 * @return The triggers which were created, all of whose names start with the specified name.
+	 */
+	List<Trigger> createMirrorTriggers(String name, Table target, String key, Map<String, String> columns)
+			throws SQLException;
+
+	/**
+	 * Creates an empty table with the same columns and primary key as this table, to which changes can be applied
+	 * without locking this table. Auto-increment columns of the new table must continue where those of this table
+	 * are, even when rows are copied into it with their keys. Backends may copy secondary indices as well.
+	 */
+	default Table createShadowTable(String name) throws SQLException {
+		TableDefinition definition = new TableDefinition(name);
+		for (Column column : listColumns()) {
+			definition.withColumn(new ColumnDefinition(column.getName(), column.getType())
+					.setNullable(column.isNullable())
+					.setIdentity(column.isIdentity())
+					.setAutoIncrement(column.isAutoIncrement())
+					.setDefaultExpression(column.isAutoIncrement() ? null : column.getDefaultExpression()));
+		}
+		return getParent().createTable(definition);
+	}
+
 	default ForeignKey getForeignKey(String name) throws SQLException {
 		return listForeignKeys().stream()
 				.filter(fk -> fk.getName().equalsIgnoreCase(name))
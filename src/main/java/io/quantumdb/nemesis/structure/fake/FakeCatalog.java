@@ -0,0 +1,566 @@
+package io.quantumdb.nemesis.structure.fake;
+
+import java.sql.SQLException;
+import java.sql.SQLSyntaxErrorException;
+import java.sql.SQLTransientException;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import io.quantumdb.nemesis.structure.ColumnDefinition;
+import io.quantumdb.nemesis.structure.DatabaseCredentials;
+import io.quantumdb.nemesis.structure.Progress;
+import io.quantumdb.nemesis.structure.TableDefinition;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The in-memory state shared by all {@link FakeDatabase} connections to the same URL and database. Tables only keep
+ * track of their structure and the number of rows they contain, not of the rows themselves.
+ */
+class FakeCatalog {
+
+	interface Change<T> {
+		T apply() throws SQLException;
+	}
+
+	@ToString(exclude = { "lock", "deleted" })
+	static class TableData {
+		final ReentrantReadWriteLock lock = new ReentrantReadWriteLock(true);
+		final List<ColumnData> columns = Lists.newArrayList();
+		final List<IndexData> indices = Lists.newArrayList();
+		final List<ConstraintData> constraints = Lists.newArrayList();
+		final List<ForeignKeyData> foreignKeys = Lists.newArrayList();
+		final List<String> triggers = Lists.newArrayList();
+		final BitSet deleted = new BitSet();
+
+		String name;
+		boolean dropped;
+		long nextId = 1;
+		long rows;
+
+		TableData(String name) {
+			this.name = name;
+		}
+
+		int apply(char verb, String condition, int times) {
+			if (verb == 'I') {
+				nextId += times;
+				rows += times;
+				return times;
+			}
+
+			long[] range = getRange(condition);
+			int affected = (int) count(range);
+			if (verb == 'D') {
+				deleted.set((int) range[0], (int) range[1]);
+				rows -= affected;
+			}
+			return affected;
+		}
+
+		/**
+		 * @return The ids [from, to) selected by an "id = n" or "id >= a AND id < b" condition, or all ids if the
+		 * condition has neither.
+		 */
+		long[] getRange(String condition) {
+			Matcher range = RANGE.matcher(condition);
+			if (range.find()) {
+				return clip(Long.parseLong(range.group(1)), Long.parseLong(range.group(2)));
+			}
+			Matcher identifier = IDENTIFIER.matcher(condition);
+			if (identifier.find()) {
+				long id = Long.parseLong(identifier.group(1));
+				return clip(id, id + 1);
+			}
+			return new long[] { 1, nextId };
+		}
+
+		long count(long[] range) {
+			return range[1] - range[0] - deleted.get((int) range[0], (int) range[1]).cardinality();
+		}
+
+		/**
+		 * @return The lowest id in the range which was not deleted, or null if there is none.
+		 */
+		Long getMinimumId(long[] range) {
+			int id = deleted.nextClearBit((int) range[0]);
+			return id < range[1] ? Long.valueOf(id) : null;
+		}
+
+		/**
+		 * @return The highest id in the range which was not deleted, or null if there is none.
+		 */
+		Long getMaximumId(long[] range) {
+			int id = deleted.previousClearBit((int) range[1] - 1);
+			return id >= range[0] ? Long.valueOf(id) : null;
+		}
+
+		private long[] clip(long from, long to) {
+			long start = Math.max(1, from);
+			return new long[] { start, Math.max(start, Math.min(to, nextId)) };
+		}
+	}
+
+	@ToString
+	static class ColumnData {
+		String name;
+		String type;
+		boolean nullable;
+		String defaultExpression;
+		boolean identity;
+		boolean autoIncrement;
+
+		ColumnData(ColumnDefinition column) {
+			this.name = column.getName();
+			this.type = column.getType();
+			this.nullable = column.isNullable();
+			this.defaultExpression = normalize(column.getDefaultExpression());
+			this.identity = column.isIdentity();
+			this.autoIncrement = column.isAutoIncrement();
+		}
+	}
+
+	@ToString
+	static class IndexData {
+		final boolean unique;
+		final boolean primary;
+		final List<String> columns;
+		String name;
+
+		IndexData(String name, boolean unique, boolean primary, List<String> columns) {
+			this.name = name;
+			this.unique = unique;
+			this.primary = primary;
+			this.columns = columns;
+		}
+	}
+
+	@ToString
+	static class ConstraintData {
+		final String name;
+		final String type;
+		final String expression;
+
+		ConstraintData(String name, String type, String expression) {
+			this.name = name;
+			this.type = type;
+			this.expression = expression;
+		}
+	}
+
+	@ToString
+	static class ForeignKeyData {
+		final String name;
+		final List<String> columns;
+		final String referencedTable;
+		final List<String> referencedColumns;
+
+		ForeignKeyData(String name, List<String> columns, String referencedTable, List<String> referencedColumns) {
+			this.name = name;
+			this.columns = columns;
+			this.referencedTable = referencedTable;
+			this.referencedColumns = referencedColumns;
+		}
+	}
+
+	/**
+	 * A scan or rewrite of a table which is in progress. Its progress is derived from the time it is expected to take.
+	 */
+	private static class Scan {
+		final String phase;
+		final long rows;
+		final long start = System.nanoTime();
+		final long duration;
+
+		Scan(String phase, long rows, long duration) {
+			this.phase = phase;
+			this.rows = rows;
+			this.duration = duration;
+		}
+
+		Progress getProgress() {
+			double fraction = duration <= 0 ? 1 : Math.min(1, (double) (System.nanoTime() - start) / duration);
+			return new Progress(phase, (long) (rows * fraction), rows, "rows");
+		}
+	}
+
+	private static final Map<String, FakeCatalog> CATALOGS = Maps.newConcurrentMap();
+
+	private static final long POLL_INTERVAL = TimeUnit.MILLISECONDS.toNanos(5);
+
+	private static final Pattern QUERY = Pattern.compile(
+			"\\s*(SELECT\\s.*?\\sFROM|INSERT\\s+INTO|UPDATE|DELETE\\s+FROM|DROP\\s+TABLE)\\s+(\\w+)(.*)",
+			Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+	private static final Pattern IDENTIFIER = Pattern.compile("\\bid\\s*=\\s*(\\d+)", Pattern.CASE_INSENSITIVE);
+
+	private static final Pattern RANGE = Pattern.compile("\\bid\\s*>=\\s*(\\d+)\\s+AND\\s+(?:\\w+\\.)?id\\s*<\\s*(\\d+)",
+			Pattern.CASE_INSENSITIVE);
+
+	private static final Pattern INSERT_SELECT = Pattern.compile(".*?\\sSELECT\\s.*?\\sFROM\\s+(\\w+)(.*)",
+			Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+	private static final Pattern AGGREGATE = Pattern.compile("(COUNT|MIN|MAX)\\(\\s*(\\*|[\\w.]+)\\s*\\)",
+			Pattern.CASE_INSENSITIVE);
+
+	private static final Splitter SELECTION = Splitter.on(',').trimResults();
+
+	static FakeCatalog get(DatabaseCredentials credentials) {
+		return CATALOGS.computeIfAbsent(getKey(credentials),
+				key -> new FakeCatalog(FakeSettings.parse(credentials.getUrl())));
+	}
+
+	static void remove(DatabaseCredentials credentials) {
+		CATALOGS.remove(getKey(credentials));
+	}
+
+	private static String getKey(DatabaseCredentials credentials) {
+		return credentials.getUrl() + "/" + credentials.getDatabase();
+	}
+
+	static String normalize(String expression) {
+		if ("true".equalsIgnoreCase(expression) || "false".equalsIgnoreCase(expression)) {
+			return expression.toLowerCase();
+		}
+		return expression;
+	}
+
+	@Getter
+	private final FakeSettings settings;
+
+	private final SplittableRandom root;
+	private final ThreadLocal<SplittableRandom> random;
+	private final Map<String, TableData> tables;
+	private final List<Scan> scans = new CopyOnWriteArrayList<>();
+
+	private FakeCatalog(FakeSettings settings) {
+		this.settings = settings;
+		this.root = new SplittableRandom(settings.getSeed());
+		this.random = ThreadLocal.withInitial(this::split);
+		this.tables = Maps.newLinkedHashMap();
+	}
+
+	private synchronized SplittableRandom split() {
+		return root.split();
+	}
+
+	synchronized List<TableData> listTables() {
+		return Lists.newArrayList(tables.values());
+	}
+
+	synchronized TableData getTable(String name) throws SQLException {
+		TableData table = tables.get(name.toLowerCase());
+		if (table == null) {
+			throw new SQLException("Relation does not exist: " + name, "42P01");
+		}
+		return table;
+	}
+
+	TableData createTable(TableDefinition definition) throws SQLException {
+		pause(sample(settings.getMetadataLatency()), null);
+
+		TableData table = new TableData(definition.getName());
+		for (ColumnDefinition column : definition.getColumns()) {
+			table.columns.add(new ColumnData(column));
+			if (column.isIdentity()) {
+				table.indices.add(new IndexData(definition.getName() + "_pkey", true, true,
+						Lists.newArrayList(column.getName())));
+			}
+		}
+
+		synchronized (this) {
+			String key = definition.getName().toLowerCase();
+			if (tables.containsKey(key)) {
+				throw new SQLException("Relation already exists: " + definition.getName(), "42P07");
+			}
+			tables.put(key, table);
+		}
+		return table;
+	}
+
+	void renameTable(TableData table, String newName, long lockTimeout) throws SQLException {
+		alter(table, false, lockTimeout, 1, () -> {
+			synchronized (this) {
+				if (tables.containsKey(newName.toLowerCase())) {
+					throw new SQLException("Relation already exists: " + newName, "42P07");
+				}
+				tables.remove(table.name.toLowerCase());
+				tables.put(newName.toLowerCase(), table);
+				table.name = newName;
+			}
+			return null;
+		});
+	}
+
+	void atomicTableRename(String replacingTableName, String currentTableName, String archivedTableName,
+			long lockTimeout) throws SQLException {
+
+		TableData replacing = getTable(replacingTableName);
+		TableData current = getTable(currentTableName);
+
+		boolean replacingFirst = replacingTableName.compareToIgnoreCase(currentTableName) < 0;
+		TableData first = replacingFirst ? replacing : current;
+		TableData second = replacingFirst ? current : replacing;
+
+		alter(first, false, lockTimeout, 1, () -> alter(second, false, lockTimeout, 1, () -> {
+			synchronized (this) {
+				checkExists(replacing);
+				checkExists(current);
+				if (tables.containsKey(archivedTableName.toLowerCase())) {
+					throw new SQLException("Relation already exists: " + archivedTableName, "42P07");
+				}
+
+				tables.remove(current.name.toLowerCase());
+				tables.remove(replacing.name.toLowerCase());
+				current.name = archivedTableName;
+				replacing.name = currentTableName;
+				tables.put(archivedTableName.toLowerCase(), current);
+				tables.put(currentTableName.toLowerCase(), replacing);
+			}
+			return null;
+		}));
+	}
+
+	void dropTable(TableData table, long lockTimeout) throws SQLException {
+		alter(table, false, lockTimeout, 1, () -> {
+			synchronized (this) {
+				tables.remove(table.name.toLowerCase());
+				table.dropped = true;
+			}
+			return null;
+		});
+	}
+
+	/**
+	 * Executes a DML statement while holding a shared lock on its table. Statements are only recognized by their
+	 * verb and table name, and "id = n" or "id >= a AND id < b" conditions. An "INSERT ... SELECT" inserts as many
+	 * rows as the condition selects from its source table.
+	 *
+	 * @return The number of affected rows.
+	 */
+	int execute(String query, int times, FakeStatement statement) throws SQLException {
+		Matcher matcher = match(query);
+		char verb = Character.toUpperCase(matcher.group(1).charAt(0));
+		TableData table = getTable(matcher.group(2));
+		if (verb == 'D' && matcher.group(1).toUpperCase().startsWith("DROP")) {
+			dropTable(table, statement.getLockTimeout());
+			return 0;
+		}
+
+		int rows = verb == 'I' ? countInserted(matcher.group(3), times) : times;
+		return read(table, statement, () -> table.apply(verb, matcher.group(3), rows));
+	}
+
+	/**
+	 * Executes a query while holding a shared lock on its table. Only queries which select nothing but COUNT, MIN
+	 * and MAX have a result: the number of rows matching the condition, and the lowest and highest of their ids.
+	 * Since the values of other columns are not stored, their minimum and maximum are NULL.
+	 *
+	 * @return The values of the single row of the result, or null if the result is empty.
+	 */
+	Object[] query(String query, FakeStatement statement) throws SQLException {
+		Matcher matcher = match(query);
+		if (!matcher.group(1).toUpperCase().startsWith("SELECT")) {
+			execute(query, 1, statement);
+			return null;
+		}
+
+		String selection = matcher.group(1).replaceAll("(?is)^SELECT\\s+|\\s+FROM$", "");
+		TableData table = getTable(matcher.group(2));
+		return read(table, statement, () -> aggregate(table, selection, matcher.group(3)));
+	}
+
+	private Matcher match(String query) throws SQLException {
+		Matcher matcher = QUERY.matcher(query);
+		if (!matcher.matches()) {
+			throw new SQLSyntaxErrorException("Statement is not supported by the fake backend: " + query, "42601");
+		}
+		return matcher;
+	}
+
+	/**
+	 * Reads or changes the rows of a table while holding a shared lock on it, after the latency of a query.
+	 */
+	private <T> T read(TableData table, FakeStatement statement, Change<T> change) throws SQLException {
+		Lock lock = table.lock.readLock();
+		acquire(lock, statement, statement.getLockTimeout());
+		try {
+			checkExists(table);
+			pause(sample(settings.getQueryLatency()), statement);
+			synchronized (table) {
+				return change.apply();
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return The number of rows inserted by every execution of an INSERT with the specified remainder, which is
+	 * the number of rows selected from the source table for an "INSERT ... SELECT", and 1 otherwise.
+	 */
+	private int countInserted(String remainder, int times) throws SQLException {
+		Matcher select = INSERT_SELECT.matcher(remainder);
+		if (!select.matches()) {
+			return times;
+		}
+
+		TableData source = getTable(select.group(1));
+		synchronized (source) {
+			return times * (int) source.count(source.getRange(select.group(2)));
+		}
+	}
+
+	private static Object[] aggregate(TableData table, String selection, String condition) {
+		List<String> columns = SELECTION.splitToList(selection);
+		long[] range = table.getRange(condition);
+
+		Object[] row = new Object[columns.size()];
+		for (int i = 0; i < row.length; i++) {
+			Matcher matcher = AGGREGATE.matcher(columns.get(i));
+			if (!matcher.matches()) {
+				return null;
+			}
+
+			String function = matcher.group(1).toUpperCase();
+			boolean identifier = matcher.group(2).toLowerCase().matches("(\\w+\\.)?id");
+			if (function.equals("COUNT")) {
+				row[i] = table.count(range);
+			}
+			else if (identifier) {
+				row[i] = function.equals("MIN") ? table.getMinimumId(range) : table.getMaximumId(range);
+			}
+		}
+		return row;
+	}
+
+	/**
+	 * Applies a structural change while holding an exclusive lock on the table, blocking all queries on it.
+	 *
+	 * @param rewrite Whether the change needs to scan or rewrite the table, which takes time for every row.
+	 * @param parallelism The number of threads among which the time for every row of a scan or rewrite is divided.
+	 */
+	<T> T alter(TableData table, boolean rewrite, long lockTimeout, int parallelism, Change<T> change)
+			throws SQLException {
+
+		Lock lock = table.lock.writeLock();
+		acquire(lock, null, lockTimeout);
+		try {
+			checkExists(table);
+			if (rewrite) {
+				scan(table, "rewrite table " + table.name, parallelism);
+			}
+			else {
+				pause(sample(settings.getMetadataLatency()), null);
+			}
+			synchronized (table) {
+				return change.apply();
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Applies a structural change which scans the table without blocking queries, only taking the exclusive lock
+	 * briefly before and after the scan (like PostgreSQL's CREATE INDEX CONCURRENTLY).
+	 */
+	<T> T build(TableData table, long lockTimeout, int parallelism, Change<T> change) throws SQLException {
+		alter(table, false, lockTimeout, 1, () -> null);
+		scan(table, "scan table " + table.name, parallelism);
+		return alter(table, false, lockTimeout, 1, change);
+	}
+
+	/**
+	 * @return The progress of all scans and rewrites of tables which are currently running.
+	 */
+	List<Progress> listProgress() {
+		return scans.stream()
+				.map(Scan::getProgress)
+				.collect(Collectors.toList());
+	}
+
+	private void scan(TableData table, String phase, int parallelism) throws SQLException {
+		long rows;
+		synchronized (table) {
+			rows = table.rows;
+		}
+
+		long duration = sample(settings.getRewriteLatency())
+				+ (long) (rows * settings.getRewriteMillisPerRow() * 1_000_000 / Math.max(1, parallelism));
+		Scan scan = new Scan(phase, rows, duration);
+		scans.add(scan);
+		try {
+			pause(duration, null);
+		}
+		finally {
+			scans.remove(scan);
+		}
+	}
+
+	private long sample(Latency latency) {
+		return latency.sample(random.get());
+	}
+
+	private void checkExists(TableData table) throws SQLException {
+		if (table.dropped) {
+			throw new SQLException("Relation does not exist: " + table.name, "42P01");
+		}
+	}
+
+	/**
+	 * Acquires a lock, failing after the specified number of milliseconds or, if that is 0, after the lock timeout
+	 * of the catalog.
+	 */
+	private void acquire(Lock lock, FakeStatement statement, long lockTimeout) throws SQLException {
+		long timeout = TimeUnit.MILLISECONDS.toNanos(lockTimeout > 0 ? lockTimeout : settings.getLockTimeout());
+		long start = System.nanoTime();
+		try {
+			while (!lock.tryLock(POLL_INTERVAL, TimeUnit.NANOSECONDS)) {
+				check(statement);
+				if (timeout > 0 && System.nanoTime() - start > timeout) {
+					throw new SQLTransientException("Lock timeout exceeded", "55P03");
+				}
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted while waiting for lock", "57014", e);
+		}
+	}
+
+	private void pause(long nanos, FakeStatement statement) throws SQLException {
+		long end = System.nanoTime() + nanos;
+		long remaining = nanos;
+		while (remaining > 0) {
+			LockSupport.parkNanos(Math.min(remaining, POLL_INTERVAL));
+			if (Thread.currentThread().isInterrupted()) {
+				throw new SQLException("Interrupted while executing statement", "57014");
+			}
+			check(statement);
+			remaining = end - System.nanoTime();
+		}
+	}
+
+	private void check(FakeStatement statement) throws SQLException {
+		if (statement != null) {
+			statement.check();
+		}
+	}
+
+}
@@ -0,0 +1,112 @@
+package io.quantumdb.nemesis.structure.fake;
+
+import java.sql.SQLException;
+
+import io.quantumdb.nemesis.structure.Column;
+import io.quantumdb.nemesis.structure.fake.FakeCatalog.ColumnData;
+import io.quantumdb.nemesis.structure.fake.FakeCatalog.IndexData;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@ToString(of = "data")
+@EqualsAndHashCode(of = "data")
+class FakeColumn implements Column {
+
+	private final FakeTable parent;
+	private final ColumnData data;
+
+	FakeColumn(FakeTable parent, ColumnData data) {
+		this.parent = parent;
+		this.data = data;
+	}
+
+	@Override
+	public String getName() {
+		return data.name;
+	}
+
+	@Override
+	public void rename(String newName) throws SQLException {
+		parent.alter(false, () -> {
+			parent.checkColumnIsAbsent(newName);
+			for (IndexData index : parent.getData().indices) {
+				index.columns.replaceAll(column -> column.equalsIgnoreCase(data.name) ? newName : column);
+			}
+			data.name = newName;
+			return null;
+		});
+	}
+
+	@Override
+	public FakeTable getParent() {
+		return parent;
+	}
+
+	@Override
+	public String getType() {
+		return data.type;
+	}
+
+	@Override
+	public void setType(String type) throws SQLException {
+		parent.alter(true, () -> {
+			data.type = type;
+			return null;
+		});
+	}
+
+	@Override
+	public boolean isNullable() {
+		return data.nullable;
+	}
+
+	@Override
+	public void setNullable(boolean nullable) throws SQLException {
+		parent.alter(!nullable, () -> {
+			data.nullable = nullable;
+			return null;
+		});
+	}
+
+	@Override
+	public String getDefaultExpression() {
+		return data.defaultExpression;
+	}
+
+	@Override
+	public void setDefaultExpression(String expression) throws SQLException {
+		parent.alter(false, () -> {
+			data.defaultExpression = FakeCatalog.normalize(expression);
+			return null;
+		});
+	}
+
+	@Override
+	public boolean isIdentity() {
+		return data.identity;
+	}
+
+	@Override
+	public void setIdentity(boolean identity) throws SQLException {
+		parent.alter(identity, () -> {
+			data.identity = identity;
+			return null;
+		});
+	}
+
+	@Override
+	public boolean isAutoIncrement() {
+		return data.autoIncrement;
+	}
+
+	@Override
+	public void drop() throws SQLException {
+		parent.alter(false, () -> {
+			parent.getData().columns.remove(data);
+			parent.getData().indices.removeIf(index -> index.columns.stream()
+					.anyMatch(column -> column.equalsIgnoreCase(data.name)));
+			return null;
+		});
+	}
+
+}
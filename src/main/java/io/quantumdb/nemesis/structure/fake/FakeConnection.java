@@ -0,0 +1,111 @@
+package io.quantumdb.nemesis.structure.fake;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+/**
+ * Implements the subset of {@link Connection} used by Nemesis on top of a {@link FakeCatalog}. The fake backend has
+ * no transactions: every statement is applied immediately, and commits and rollbacks are ignored.
+ */
+class FakeConnection implements InvocationHandler {
+
+	/**
+	 * Sets the number of milliseconds after which statements of the specified connection are aborted, as the
+	 * "statement_timeout" of a server would.
+	 */
+	static void setStatementTimeout(Connection connection, int millis) {
+		((FakeConnection) Proxy.getInvocationHandler(connection)).statementTimeout = millis;
+	}
+
+	/**
+	 * Sets the number of milliseconds after which statements and structural changes of the specified connection
+	 * stop waiting for a lock, overriding the lock timeout of the catalog, or 0 to restore it.
+	 */
+	static void setLockTimeout(Connection connection, int millis) {
+		((FakeConnection) Proxy.getInvocationHandler(connection)).lockTimeout = millis;
+	}
+
+	static int getLockTimeout(Connection connection) {
+		return ((FakeConnection) Proxy.getInvocationHandler(connection)).lockTimeout;
+	}
+
+	/**
+	 * Sets the number of threads among which structural changes of the specified connection divide the time they
+	 * take for every row, or 0 to have them take it serially.
+	 */
+	static void setDdlParallelism(Connection connection, int degree) {
+		((FakeConnection) Proxy.getInvocationHandler(connection)).ddlParallelism = degree;
+	}
+
+	static int getDdlParallelism(Connection connection) {
+		return ((FakeConnection) Proxy.getInvocationHandler(connection)).ddlParallelism;
+	}
+
+	static Connection create(FakeCatalog catalog) {
+		return (Connection) Proxy.newProxyInstance(FakeConnection.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, new FakeConnection(catalog));
+	}
+
+	private final FakeCatalog catalog;
+
+	private volatile boolean autoCommit = true;
+	private volatile boolean closed;
+	private volatile int statementTimeout;
+	private volatile int lockTimeout;
+	private volatile int ddlParallelism;
+
+	private FakeConnection(FakeCatalog catalog) {
+		this.catalog = catalog;
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		switch (method.getName()) {
+			case "createStatement":
+				checkOpen();
+				return FakeStatement.create(catalog, null, statementTimeout, lockTimeout);
+			case "prepareStatement":
+				checkOpen();
+				return FakeStatement.create(catalog, (String) args[0], statementTimeout, lockTimeout);
+			case "setAutoCommit":
+				autoCommit = (Boolean) args[0];
+				return null;
+			case "getAutoCommit":
+				return autoCommit;
+			case "getTransactionIsolation":
+				return Connection.TRANSACTION_READ_COMMITTED;
+			case "commit":
+			case "rollback":
+			case "setTransactionIsolation":
+			case "getWarnings":
+			case "clearWarnings":
+				return null;
+			case "close":
+				closed = true;
+				return null;
+			case "isClosed":
+				return closed;
+			case "isValid":
+				return !closed;
+			case "toString":
+				return "FakeConnection[" + catalog + "]";
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "equals":
+				return proxy == args[0];
+			default:
+				throw new SQLFeatureNotSupportedException("Not supported by the fake backend: " + method.getName());
+		}
+	}
+
+	private void checkOpen() throws SQLException {
+		if (closed) {
+			throw new SQLException("Connection is closed", "08003");
+		}
+	}
+
+}
@@ -0,0 +1,55 @@
+package io.quantumdb.nemesis.structure.fake;
+
+import java.sql.SQLException;
+
+import io.quantumdb.nemesis.structure.Constraint;
+import io.quantumdb.nemesis.structure.fake.FakeCatalog.ConstraintData;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@ToString(of = "data")
+@EqualsAndHashCode(of = "data")
+class FakeConstraint implements Constraint {
+
+	private final FakeTable parent;
+	private final ConstraintData data;
+
+	FakeConstraint(FakeTable parent, ConstraintData data) {
+		this.parent = parent;
+		this.data = data;
+	}
+
+	@Override
+	public String getName() {
+		return data.name;
+	}
+
+	@Override
+	public FakeTable getParent() {
+		return parent;
+	}
+
+	@Override
+	public String getType() {
+		return data.type;
+	}
+
+	@Override
+	public void drop() throws SQLException {
+		parent.alter(false, () -> parent.getData().constraints.remove(data));
+	}
+
+	@Override
+	public void enable(String option) throws SQLException {
+		parent.alter(!"NOVALIDATE".equalsIgnoreCase(option), () -> null);
+	}
+
+	/**
+	 * Validation scans the table without blocking queries, like PostgreSQL's VALIDATE CONSTRAINT.
+	 */
+	@Override
+	public void validate() throws SQLException {
+		parent.build(() -> null);
+	}
+
+}
@@ -0,0 +1,145 @@
+package io.quantumdb.nemesis.structure.fake;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Lists;
+import io.quantumdb.nemesis.structure.Database;
+import io.quantumdb.nemesis.structure.DatabaseCredentials;
+import io.quantumdb.nemesis.structure.Progress;
+import io.quantumdb.nemesis.structure.Sequence;
+import io.quantumdb.nemesis.structure.Table;
+import io.quantumdb.nemesis.structure.TableDefinition;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * An in-process backend which keeps its structure in memory, and simulates the latency of queries and the table
+ * locks taken by structural changes as described by its {@link FakeSettings}. All instances connected to the same
+ * URL and database share the same state, so that the profiler can be exercised without a running database server.
+ */
+@Slf4j
+@ToString(of = "credentials")
+public class FakeDatabase implements Database {
+
+	/**
+	 * @return The (mutable) settings shared by all connections to the specified fake database.
+	 */
+	public static FakeSettings getSettings(DatabaseCredentials credentials) {
+		return FakeCatalog.get(credentials).getSettings();
+	}
+
+	/**
+	 * Discards the structure and settings of the specified fake database.
+	 */
+	public static void reset(DatabaseCredentials credentials) {
+		FakeCatalog.remove(credentials);
+	}
+
+	private FakeCatalog catalog;
+	private Connection connection;
+	private DatabaseCredentials credentials;
+
+	@Override
+	public void connect(DatabaseCredentials credentials) throws SQLException {
+		this.catalog = FakeCatalog.get(credentials);
+		this.connection = FakeConnection.create(catalog);
+		this.credentials = credentials;
+	}
+
+	@Override
+	public DatabaseCredentials getCredentials() {
+		return credentials;
+	}
+
+	@Override
+	public void close() throws SQLException {
+		connection.close();
+	}
+
+	@Override
+	public boolean supports(Feature feature) {
+		return true;
+	}
+
+	@Override
+	public Table createTable(TableDefinition table) throws SQLException {
+		return new FakeTable(this, catalog.createTable(table));
+	}
+
+	@Override
+	public List<Table> listTables() throws SQLException {
+		return catalog.listTables().stream()
+				.map(table -> new FakeTable(this, table))
+				.collect(Collectors.toList());
+	}
+
+	@Override
+	public void atomicTableRename(String replacingTableName, String currentTableName, String archivedTableName)
+			throws SQLException {
+
+		catalog.atomicTableRename(replacingTableName, currentTableName, archivedTableName,
+				FakeConnection.getLockTimeout(connection));
+	}
+
+	@Override
+	public List<Sequence> listSequences() throws SQLException {
+		return Lists.newArrayList();
+	}
+
+	@Override
+	public void dropContents() throws SQLException {
+		for (Table table : listTables()) {
+			table.drop();
+		}
+	}
+
+	@Override
+	public Database getSetupDelegate() {
+		return this;
+	}
+
+	@Override
+	public void query(String query) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute(query);
+		}
+		catch (SQLException e) {
+			log.error(e.getMessage() + " - " + query, e);
+			throw e;
+		}
+	}
+
+	@Override
+	public void setStatementTimeout(int millis) throws SQLException {
+		FakeConnection.setStatementTimeout(connection, millis);
+	}
+
+	@Override
+	public void setLockTimeout(int millis) throws SQLException {
+		FakeConnection.setLockTimeout(connection, millis);
+	}
+
+	@Override
+	public void setDdlParallelism(int degree) throws SQLException {
+		FakeConnection.setDdlParallelism(connection, degree);
+	}
+
+	@Override
+	public List<Progress> sampleProgress() throws SQLException {
+		return catalog.listProgress();
+	}
+
+	@Override
+	public Connection getConnection() {
+		return connection;
+	}
+
+	FakeCatalog getCatalog() {
+		return catalog;
+	}
+
+}
@@ -0,0 +1,36 @@
+package io.quantumdb.nemesis.structure.fake;
+
+import java.sql.SQLException;
+
+import io.quantumdb.nemesis.structure.ForeignKey;
+import io.quantumdb.nemesis.structure.fake.FakeCatalog.ForeignKeyData;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@ToString(of = "data")
+@EqualsAndHashCode(of = "data")
+class FakeForeignKey implements ForeignKey {
+
+	private final FakeTable parent;
+	private final ForeignKeyData data;
+
+	FakeForeignKey(FakeTable parent, ForeignKeyData data) {
+		this.parent = parent;
+		this.data = data;
+	}
+
+	@Override
+	public String getName() {
+		return data.name;
+	}
+
+	@Override
+	public void drop() throws SQLException {
+		parent.alter(false, () -> {
+			parent.getData().foreignKeys.remove(data);
+			parent.getData().constraints.removeIf(constraint -> constraint.name.equalsIgnoreCase(data.name));
+			return null;
+		});
+	}
+
+}
@@ -0,0 +1,55 @@
+package io.quantumdb.nemesis.structure.fake;
+
+import java.sql.SQLException;
+
+import io.quantumdb.nemesis.structure.Index;
+import io.quantumdb.nemesis.structure.fake.FakeCatalog.IndexData;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@ToString(of = "data")
+@EqualsAndHashCode(of = "data")
+class FakeIndex implements Index {
+
+	private final FakeTable parent;
+	private final IndexData data;
+
+	FakeIndex(FakeTable parent, IndexData data) {
+		this.parent = parent;
+		this.data = data;
+	}
+
+	@Override
+	public String getName() {
+		return data.name;
+	}
+
+	@Override
+	public FakeTable getParent() {
+		return parent;
+	}
+
+	@Override
+	public boolean isUnique() {
+		return data.unique;
+	}
+
+	@Override
+	public boolean isPrimary() {
+		return data.primary;
+	}
+
+	@Override
+	public void rename(String name) throws SQLException {
+		parent.alter(false, () -> {
+			data.name = name;
+			return null;
+		});
+	}
+
+	@Override
+	public void drop() throws SQLException {
+		parent.alter(false, () -> parent.getData().indices.remove(data));
+	}
+
+}
@@ -0,0 +1,111 @@
+package io.quantumdb.nemesis.structure.fake;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import lombok.Data;
+
+/**
+ * This data class describes how a {@link FakeDatabase} simulates the cost of statements. Settings can either be
+ * changed through {@link FakeDatabase#getSettings(io.quantumdb.nemesis.structure.DatabaseCredentials)}, or be
+ * specified as parameters of the URL, for instance:
+ *
+ * <pre>
+ * fake://localhost?query=uniform(1,3)&amp;metadata=fixed(5)&amp;rewrite=fixed(50)&amp;rewritePerRow=0.001&amp;lockTimeout=1000&amp;seed=7
+ * </pre>
+ *
+ * Queries hold a shared lock on their table while they "execute", structural changes hold an exclusive lock. A
+ * structural change which needs to rewrite or scan the table takes an additional amount of time per row. A lock
+ * timeout of 0 milliseconds means that statements wait indefinitely for their lock. The latencies are drawn from
+ * random numbers with a fixed seed, so that runs are repeatable. Since the seed is used when the database is first
+ * connected to, it can only be changed through the URL.
+ */
+@Data
+public class FakeSettings {
+
+	public static final long DEFAULT_SEED = 42;
+
+	private static final Pattern DISTRIBUTION = Pattern.compile("\\s*(\\w+)\\s*(?:\\(([^)]*)\\))?\\s*");
+
+	private Latency queryLatency = Latency.none();
+	private Latency metadataLatency = Latency.none();
+	private Latency rewriteLatency = Latency.none();
+	private double rewriteMillisPerRow = 0;
+	private long lockTimeout = 0;
+	private long seed = DEFAULT_SEED;
+
+	static FakeSettings parse(String url) {
+		FakeSettings settings = new FakeSettings();
+		int index = url.indexOf('?');
+		if (index < 0) {
+			return settings;
+		}
+
+		for (String parameter : url.substring(index + 1).split("&")) {
+			int separator = parameter.indexOf('=');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Parameter has no value: " + parameter);
+			}
+
+			String value = parameter.substring(separator + 1);
+			switch (parameter.substring(0, separator)) {
+				case "query":
+					settings.setQueryLatency(parseLatency(value));
+					break;
+				case "metadata":
+					settings.setMetadataLatency(parseLatency(value));
+					break;
+				case "rewrite":
+					settings.setRewriteLatency(parseLatency(value));
+					break;
+				case "rewritePerRow":
+					settings.setRewriteMillisPerRow(Double.parseDouble(value));
+					break;
+				case "lockTimeout":
+					settings.setLockTimeout(Long.parseLong(value));
+					break;
+				case "seed":
+					settings.setSeed(Long.parseLong(value));
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown parameter: " + parameter);
+			}
+		}
+		return settings;
+	}
+
+	/**
+	 * Parses expressions such as "none", "fixed(5)", "uniform(1,3)", "normal(10,2)" or "exponential(4)".
+	 */
+	static Latency parseLatency(String expression) {
+		Matcher matcher = DISTRIBUTION.matcher(expression);
+		if (!matcher.matches()) {
+			throw new IllegalArgumentException("Not a latency distribution: " + expression);
+		}
+
+		String[] arguments = matcher.group(2) == null ? new String[0] : matcher.group(2).split(",");
+		double[] values = new double[arguments.length];
+		for (int i = 0; i < arguments.length; i++) {
+			values[i] = Double.parseDouble(arguments[i].trim());
+		}
+
+		String name = matcher.group(1).toLowerCase();
+		if (name.equals("none") && values.length == 0) {
+			return Latency.none();
+		}
+		else if (name.equals("fixed") && values.length == 1) {
+			return Latency.fixed(values[0]);
+		}
+		else if (name.equals("uniform") && values.length == 2) {
+			return Latency.uniform(values[0], values[1]);
+		}
+		else if (name.equals("normal") && values.length == 2) {
+			return Latency.normal(values[0], values[1]);
+		}
+		else if (name.equals("exponential") && values.length == 1) {
+			return Latency.exponential(values[0]);
+		}
+		throw new IllegalArgumentException("Unknown latency distribution: " + expression);
+	}
+
+}
@@ -0,0 +1,205 @@
+package io.quantumdb.nemesis.structure.fake;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implements {@link Statement} and {@link PreparedStatement} on top of a {@link FakeCatalog}. Parameters of prepared
+ * statements are accepted but ignored, since the catalog does not store any values. Both {@link Statement#cancel()}
+ * and {@link Statement#setQueryTimeout(int)} abort the statement while it waits for a lock or "executes", as does
+ * the statement timeout of its connection. Result sets are empty, except those of queries which only select
+ * aggregates, such as "SELECT MIN(id), MAX(id)", whose single row the catalog derives from the ids of the table.
+ */
+class FakeStatement implements InvocationHandler {
+
+	static Statement create(FakeCatalog catalog, String query, int statementTimeout, int lockTimeout) {
+		Class<?> type = query == null ? Statement.class : PreparedStatement.class;
+		return (Statement) Proxy.newProxyInstance(FakeStatement.class.getClassLoader(), new Class<?>[] { type },
+				new FakeStatement(catalog, query, statementTimeout, lockTimeout));
+	}
+
+	private final FakeCatalog catalog;
+	private final String query;
+	private final int statementTimeout;
+	private final int lockTimeout;
+
+	private volatile boolean cancelled;
+	private volatile long deadline;
+
+	private int queryTimeout;
+	private int batchSize;
+	private boolean closed;
+
+	private FakeStatement(FakeCatalog catalog, String query, int statementTimeout, int lockTimeout) {
+		this.catalog = catalog;
+		this.query = query;
+		this.statementTimeout = statementTimeout;
+		this.lockTimeout = lockTimeout;
+	}
+
+	/**
+	 * @return The lock timeout of the connection of this statement, or 0 if the connection has none.
+	 */
+	int getLockTimeout() {
+		return lockTimeout;
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		String name = method.getName();
+		switch (name) {
+			case "execute":
+				execute(args, 1);
+				return false;
+			case "executeUpdate":
+				return execute(args, 1);
+			case "executeLargeUpdate":
+				return (long) execute(args, 1);
+			case "executeQuery":
+				return createResultSet(proxy, query(args));
+			case "addBatch":
+				if (args != null) {
+					throw new SQLFeatureNotSupportedException("Only prepared statements can be batched");
+				}
+				batchSize++;
+				return null;
+			case "clearBatch":
+				batchSize = 0;
+				return null;
+			case "executeBatch":
+				int[] results = new int[batchSize];
+				if (batchSize > 0) {
+					execute(null, batchSize);
+					Arrays.fill(results, 1);
+				}
+				batchSize = 0;
+				return results;
+			case "cancel":
+				cancelled = true;
+				return null;
+			case "setQueryTimeout":
+				queryTimeout = (Integer) args[0];
+				return null;
+			case "getQueryTimeout":
+				return queryTimeout;
+			case "getUpdateCount":
+				return -1;
+			case "getResultSet":
+			case "getWarnings":
+			case "clearWarnings":
+				return null;
+			case "close":
+				closed = true;
+				return null;
+			case "isClosed":
+				return closed;
+			case "toString":
+				return "FakeStatement[" + query + "]";
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "equals":
+				return proxy == args[0];
+			default:
+				if (name.startsWith("set")) {
+					return null;
+				}
+				throw new SQLFeatureNotSupportedException("Not supported by the fake backend: " + name);
+		}
+	}
+
+	/**
+	 * Throws an exception if the statement has been cancelled, or has exceeded its query timeout.
+	 */
+	void check() throws SQLException {
+		if (cancelled) {
+			throw new SQLTimeoutException("Canceling statement due to user request", "57014");
+		}
+		if (deadline != 0 && System.nanoTime() - deadline > 0) {
+			throw new SQLTimeoutException("Canceling statement due to statement timeout", "57014");
+		}
+	}
+
+	private int execute(Object[] args, int times) throws SQLException {
+		String statement = getQuery(args);
+		return run(() -> catalog.execute(statement, times, this));
+	}
+
+	private Object[] query(Object[] args) throws SQLException {
+		String statement = getQuery(args);
+		return run(() -> catalog.query(statement, this));
+	}
+
+	private <T> T run(FakeCatalog.Change<T> action) throws SQLException {
+		if (closed) {
+			throw new SQLException("Statement is closed");
+		}
+
+		long timeout = queryTimeout > 0 ? TimeUnit.SECONDS.toNanos(queryTimeout)
+				: TimeUnit.MILLISECONDS.toNanos(statementTimeout);
+
+		deadline = timeout > 0 ? System.nanoTime() + timeout : 0;
+		try {
+			check();
+			return action.apply();
+		}
+		finally {
+			deadline = 0;
+			cancelled = false;
+		}
+	}
+
+	private String getQuery(Object[] args) {
+		return args != null && args.length > 0 ? (String) args[0] : query;
+	}
+
+	/**
+	 * @param row The values of the single row of the result set, or null for an empty result set.
+	 */
+	private static ResultSet createResultSet(Object statement, Object[] row) {
+		int[] position = { row == null ? 1 : 0 };
+		Object[] last = { null };
+		return (ResultSet) Proxy.newProxyInstance(FakeStatement.class.getClassLoader(),
+				new Class<?>[] { ResultSet.class }, (proxy, method, args) -> {
+					switch (method.getName()) {
+						case "next":
+							return ++position[0] == 1;
+						case "getLong":
+							last[0] = row[(Integer) args[0] - 1];
+							return last[0] == null ? 0L : ((Number) last[0]).longValue();
+						case "getInt":
+							last[0] = row[(Integer) args[0] - 1];
+							return last[0] == null ? 0 : ((Number) last[0]).intValue();
+						case "getObject":
+							last[0] = row[(Integer) args[0] - 1];
+							return last[0];
+						case "wasNull":
+							return last[0] == null;
+						case "isClosed":
+							return false;
+						case "close":
+							return null;
+						case "getStatement":
+							return statement;
+						case "toString":
+							return "FakeResultSet" + Arrays.toString(row == null ? new Object[0] : row);
+						case "hashCode":
+							return System.identityHashCode(proxy);
+						case "equals":
+							return proxy == args[0];
+						default:
+							throw new SQLFeatureNotSupportedException("Not supported by the fake backend: "
+									+ method.getName());
+					}
+				});
+	}
+
+}
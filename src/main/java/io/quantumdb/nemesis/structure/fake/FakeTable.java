@@ -0,0 +1,234 @@
+package io.quantumdb.nemesis.structure.fake;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Lists;
+import io.quantumdb.nemesis.structure.Column;
+import io.quantumdb.nemesis.structure.ColumnDefinition;
+import io.quantumdb.nemesis.structure.Constraint;
+import io.quantumdb.nemesis.structure.ForeignKey;
+import io.quantumdb.nemesis.structure.Index;
+import io.quantumdb.nemesis.structure.Table;
+import io.quantumdb.nemesis.structure.Trigger;
+import io.quantumdb.nemesis.structure.fake.FakeCatalog.ColumnData;
+import io.quantumdb.nemesis.structure.fake.FakeCatalog.ConstraintData;
+import io.quantumdb.nemesis.structure.fake.FakeCatalog.ForeignKeyData;
+import io.quantumdb.nemesis.structure.fake.FakeCatalog.IndexData;
+import io.quantumdb.nemesis.structure.fake.FakeCatalog.TableData;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@ToString(of = "data")
+@EqualsAndHashCode(of = "data")
+class FakeTable implements Table {
+
+	private final FakeDatabase parent;
+	private final TableData data;
+
+	FakeTable(FakeDatabase parent, TableData data) {
+		this.parent = parent;
+		this.data = data;
+	}
+
+	@Override
+	public String getName() {
+		return data.name;
+	}
+
+	@Override
+	public void rename(String newName) throws SQLException {
+		getCatalog().renameTable(data, newName, getLockTimeout());
+	}
+
+	@Override
+	public FakeDatabase getParent() {
+		return parent;
+	}
+
+	@Override
+	public List<Column> listColumns() throws SQLException {
+		synchronized (data) {
+			return data.columns.stream()
+					.map(column -> new FakeColumn(this, column))
+					.collect(Collectors.toList());
+		}
+	}
+
+	@Override
+	public Column addColumn(ColumnDefinition column) throws SQLException {
+		ColumnData columnData = new ColumnData(column);
+		alter(!column.isNullable(), () -> {
+			checkColumnIsAbsent(column.getName());
+			data.columns.add(columnData);
+			return null;
+		});
+		return new FakeColumn(this, columnData);
+	}
+
+	@Override
+	public List<Index> listIndices() throws SQLException {
+		synchronized (data) {
+			return data.indices.stream()
+					.map(index -> new FakeIndex(this, index))
+					.collect(Collectors.toList());
+		}
+	}
+
+	@Override
+	public Index createIndex(String name, boolean unique, String... columnNames) throws SQLException {
+		IndexData index = new IndexData(name, unique, false, Lists.newArrayList(columnNames));
+		alter(true, () -> addIndex(index));
+		return new FakeIndex(this, index);
+	}
+
+	@Override
+	public Index createInvisibleIndex(String name, boolean unique, String... columnNames) throws SQLException {
+		return createIndex(name, unique, columnNames);
+	}
+
+	@Override
+	public Index createOnlineIndex(String name, boolean unique, String... columnNames) throws SQLException {
+		IndexData index = new IndexData(name, unique, false, Lists.newArrayList(columnNames));
+		build(() -> addIndex(index));
+		return new FakeIndex(this, index);
+	}
+
+	@Override
+	public List<Constraint> listConstraints() throws SQLException {
+		synchronized (data) {
+			return data.constraints.stream()
+					.map(constraint -> new FakeConstraint(this, constraint))
+					.collect(Collectors.toList());
+		}
+	}
+
+	@Override
+	public Constraint createConstraint(String name, String type, String expression) throws SQLException {
+		ConstraintData constraint = new ConstraintData(name, type, expression);
+		alter(true, () -> addConstraint(constraint));
+		return new FakeConstraint(this, constraint);
+	}
+
+	@Override
+	public List<ForeignKey> listForeignKeys() throws SQLException {
+		synchronized (data) {
+			return data.foreignKeys.stream()
+					.map(foreignKey -> new FakeForeignKey(this, foreignKey))
+					.collect(Collectors.toList());
+		}
+	}
+
+	@Override
+	public List<Trigger> listTriggers() throws SQLException {
+		synchronized (data) {
+			return data.triggers.stream()
+					.map(trigger -> new FakeTrigger(this, trigger))
+					.collect(Collectors.toList());
+		}
+	}
+
+	/**
+	 * The fake backend does not keep rows, so its mirror triggers only exist in the structure of the table.
+	 */
+	@Override
+	public List<Trigger> createMirrorTriggers(String name, Table target, String key, Map<String, String> columns)
+			throws SQLException {
+
+		getCatalog().getTable(target.getName());
+		alter(false, () -> {
+			for (String trigger : data.triggers) {
+				if (trigger.equalsIgnoreCase(name)) {
+					throw new SQLException("Trigger already exists: " + name, "42710");
+				}
+			}
+			data.triggers.add(name);
+			return null;
+		});
+		return Lists.newArrayList(new FakeTrigger(this, name));
+	}
+
+	@Override
+	public ForeignKey addForeignKey(String constraint, String[] columns, String referencedTable,
+			String[] referencedColumns, boolean enabled) throws SQLException {
+
+		getCatalog().getTable(referencedTable);
+
+		ForeignKeyData foreignKey = new ForeignKeyData(constraint, Lists.newArrayList(columns), referencedTable,
+				Lists.newArrayList(referencedColumns));
+
+		alter(enabled, () -> {
+			addConstraint(new ConstraintData(constraint, "FOREIGN KEY", null));
+			data.foreignKeys.add(foreignKey);
+			return null;
+		});
+		return new FakeForeignKey(this, foreignKey);
+	}
+
+	@Override
+	public void drop() throws SQLException {
+		getCatalog().dropTable(data, getLockTimeout());
+	}
+
+	FakeCatalog getCatalog() {
+		return parent.getCatalog();
+	}
+
+	/**
+	 * Applies a structural change to this table while holding an exclusive lock on it, which is acquired within the
+	 * lock timeout of the connection.
+	 */
+	<T> T alter(boolean rewrite, FakeCatalog.Change<T> change) throws SQLException {
+		return getCatalog().alter(data, rewrite, getLockTimeout(), getDdlParallelism(), change);
+	}
+
+	/**
+	 * Applies a structural change to this table which scans it without blocking queries.
+	 */
+	<T> T build(FakeCatalog.Change<T> change) throws SQLException {
+		return getCatalog().build(data, getLockTimeout(), getDdlParallelism(), change);
+	}
+
+	private int getLockTimeout() {
+		return FakeConnection.getLockTimeout(parent.getConnection());
+	}
+
+	private int getDdlParallelism() {
+		return FakeConnection.getDdlParallelism(parent.getConnection());
+	}
+
+	TableData getData() {
+		return data;
+	}
+
+	void checkColumnIsAbsent(String name) throws SQLException {
+		for (ColumnData column : data.columns) {
+			if (column.name.equalsIgnoreCase(name)) {
+				throw new SQLException("Column already exists: " + name, "42701");
+			}
+		}
+	}
+
+	private Void addIndex(IndexData index) throws SQLException {
+		for (IndexData other : data.indices) {
+			if (other.name.equalsIgnoreCase(index.name)) {
+				throw new SQLException("Relation already exists: " + index.name, "42P07");
+			}
+		}
+		data.indices.add(index);
+		return null;
+	}
+
+	private Void addConstraint(ConstraintData constraint) throws SQLException {
+		for (ConstraintData other : data.constraints) {
+			if (other.name.equalsIgnoreCase(constraint.name)) {
+				throw new SQLException("Constraint already exists: " + constraint.name, "42710");
+			}
+		}
+		data.constraints.add(constraint);
+		return null;
+	}
+
+}
@@ -0,0 +1,44 @@
+package io.quantumdb.nemesis.structure.fake;
+
+import java.sql.SQLException;
+
+import io.quantumdb.nemesis.structure.Trigger;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@ToString(of = "name")
+@EqualsAndHashCode(of = { "parent", "name" })
+class FakeTrigger implements Trigger {
+
+	private final FakeTable parent;
+	private final String name;
+
+	FakeTrigger(FakeTable parent, String name) {
+		this.parent = parent;
+		this.name = name;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public FakeTable getParent() {
+		return parent;
+	}
+
+	@Override
+	public void drop() throws SQLException {
+		parent.alter(false, () -> {
+			for (String trigger : parent.getData().triggers) {
+				if (trigger.equalsIgnoreCase(name)) {
+					parent.getData().triggers.remove(trigger);
+					return null;
+				}
+			}
+			throw new SQLException("Trigger does not exist: " + name, "42704");
+		});
+	}
+
+}
@@ -0,0 +1,48 @@
+package io.quantumdb.nemesis.structure.fake;
+
+import java.util.SplittableRandom;
+
+/**
+ * A distribution of simulated execution times, as used by the {@link FakeDatabase}. All factory methods accept
+ * milliseconds, samples are returned in nanoseconds.
+ */
+@FunctionalInterface
+public interface Latency {
+
+	long sample(SplittableRandom random);
+
+	static Latency none() {
+		return random -> 0;
+	}
+
+	static Latency fixed(double millis) {
+		long nanos = (long) (millis * 1_000_000);
+		return random -> nanos;
+	}
+
+	static Latency uniform(double minMillis, double maxMillis) {
+		long min = (long) (minMillis * 1_000_000);
+		long max = (long) (maxMillis * 1_000_000);
+		if (max <= min) {
+			return random -> min;
+		}
+		return random -> random.nextLong(min, max + 1);
+	}
+
+	static Latency normal(double meanMillis, double standardDeviationMillis) {
+		double mean = meanMillis * 1_000_000;
+		double standardDeviation = standardDeviationMillis * 1_000_000;
+		return random -> {
+			double u1 = 1.0 - random.nextDouble();
+			double u2 = random.nextDouble();
+			double gaussian = Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2.0 * Math.PI * u2);
+			return Math.max(0, (long) (mean + gaussian * standardDeviation));
+		};
+	}
+
+	static Latency exponential(double meanMillis) {
+		double mean = meanMillis * 1_000_000;
+		return random -> (long) (-Math.log(1.0 - random.nextDouble()) * mean);
+	}
+
+}
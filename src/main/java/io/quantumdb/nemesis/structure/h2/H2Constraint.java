@@ -1,4 +1,4 @@
-package io.quantumdb.nemesis.structure.mysql56;
+package io.quantumdb.nemesis.structure.h2;
 
 import java.sql.SQLException;
 
@@ -10,14 +10,14 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @ToString
 @EqualsAndHashCode
-class MysqlConstraint implements Constraint {
+class H2Constraint implements Constraint {
 
-	private final MysqlTable parent;
+	private final H2Table parent;
 	private final String name;
 	private final String type;
 	private final String expression;
 
-	MysqlConstraint(MysqlTable parent, String name, String type, String expression) {
+	H2Constraint(H2Table parent, String name, String type, String expression) {
 		this.parent = parent;
 		this.name = name;
 		this.type = type;
@@ -30,7 +30,7 @@ class MysqlConstraint implements Constraint {
 	}
 
 	@Override
-	public MysqlTable getParent() {
+	public H2Table getParent() {
 		return parent;
 	}
 
@@ -41,13 +41,16 @@ class MysqlConstraint implements Constraint {
 
 	@Override
 	public void drop() throws SQLException {
-		execute(String.format("ALTER ONLINE TABLE %s DROP CONSTRAINT %s", parent.getName(), name));
+		execute(String.format("ALTER TABLE %s DROP CONSTRAINT %s", parent.getName(), name));
 	}
 
 	private void execute(String query) throws SQLException {
 		getParent().getParent().execute(query);
 	}
 
+	/**
+	 * H2 constraints are always enabled and validated.
+	 */
 	@Override
 	public void enable(String option) throws SQLException {
 	}
@@ -0,0 +1,242 @@
+package io.quantumdb.nemesis.structure.h2;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
+import io.quantumdb.nemesis.structure.ColumnDefinition;
+import io.quantumdb.nemesis.structure.Database;
+import io.quantumdb.nemesis.structure.DatabaseCredentials;
+import io.quantumdb.nemesis.structure.QueryBuilder;
+import io.quantumdb.nemesis.structure.Sequence;
+import io.quantumdb.nemesis.structure.Table;
+import io.quantumdb.nemesis.structure.TableDefinition;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A backend for the embedded H2 database. The database name is appended to the URL, so "jdbc:h2:mem" creates an
+ * in-memory database which lives as long as the JVM, and "jdbc:h2:./data" or "jdbc:h2:tcp://localhost" create or
+ * connect to a database on disk. Settings such as ";LOCK_TIMEOUT=10000" may be appended to the URL.
+ */
+@Slf4j
+@ToString
+@EqualsAndHashCode
+public class H2Database implements Database {
+
+	static final String SCHEMA = "PUBLIC";
+
+	private Connection connection;
+	private DatabaseCredentials credentials;
+	private int defaultLockTimeout = -1;
+
+	public void connect(DatabaseCredentials credentials) throws SQLException {
+		try {
+			Class.forName("org.h2.Driver");
+			this.connection = DriverManager.getConnection(createUrl(credentials), credentials.getUsername(),
+					credentials.getPassword());
+			this.credentials = credentials;
+		}
+		catch (ClassNotFoundException e) {
+			throw new SQLException(e);
+		}
+	}
+
+	private String createUrl(DatabaseCredentials credentials) {
+		String url = credentials.getUrl();
+		String settings = "";
+		int index = url.indexOf(';');
+		if (index >= 0) {
+			settings = url.substring(index);
+			url = url.substring(0, index);
+		}
+
+		if (url.endsWith(":mem")) {
+			return url + ":" + credentials.getDatabase() + ";DB_CLOSE_DELAY=-1" + settings;
+		}
+		return url + "/" + credentials.getDatabase() + settings;
+	}
+
+	@Override
+	public DatabaseCredentials getCredentials() {
+		return credentials;
+	}
+
+	@Override
+	public void close() throws SQLException {
+		connection.close();
+	}
+
+	/**
+	 * H2 commits implicitly before every DDL statement, and has no invisible indices, online or parallel index
+	 * creation or constraints which can be added without validating them.
+	 */
+	@Override
+	public boolean supports(Feature feature) {
+		switch (feature) {
+			case RENAME_TABLE_IN_ONE_TX:
+			case INVISIBLE_INDEX:
+			case ONLINE_INDEX:
+			case CONSTRAINT_DISABLE_OPTION:
+			case CONSTRAINT_NOVALIDATE_OPTION:
+			case PARALLEL_DDL:
+				return false;
+			default:
+				return true;
+		}
+	}
+
+	@Override
+	public List<Table> listTables() throws SQLException {
+		String query = new QueryBuilder()
+				.append("SELECT table_name ")
+				.append("FROM information_schema.tables ")
+				.append("WHERE table_schema = ? AND table_type = 'TABLE' ")
+				.append("ORDER BY table_name ASC")
+				.toString();
+
+		List<Table> tables = Lists.newArrayList();
+		try (PreparedStatement statement = connection.prepareStatement(query)) {
+			statement.setString(1, SCHEMA);
+
+			log.debug(query);
+			ResultSet resultSet = statement.executeQuery();
+
+			while (resultSet.next()) {
+				String tableName = resultSet.getString("table_name");
+				tables.add(new H2Table(connection, this, tableName));
+			}
+		}
+
+		return tables;
+	}
+
+	/**
+	 * H2 commits before every DDL statement, so the two renames are not atomic.
+	 */
+	@Override
+	public void atomicTableRename(String replacingTableName, String currentTableName, String archivedTableName)
+			throws SQLException {
+
+		String query = "ALTER TABLE %s RENAME TO %s";
+		execute(String.format(query, currentTableName, archivedTableName));
+		execute(String.format(query, replacingTableName, currentTableName));
+	}
+
+	@Override
+	public List<Sequence> listSequences() throws SQLException {
+		String query = new QueryBuilder()
+				.append("SELECT sequence_name ")
+				.append("FROM information_schema.sequences ")
+				.append("WHERE sequence_schema = ? AND is_generated = FALSE")
+				.toString();
+
+		List<Sequence> sequences = Lists.newArrayList();
+		try (PreparedStatement statement = connection.prepareStatement(query)) {
+			statement.setString(1, SCHEMA);
+			ResultSet resultSet = statement.executeQuery();
+
+			while (resultSet.next()) {
+				String name = resultSet.getString("sequence_name");
+				sequences.add(new H2Sequence(this, name));
+			}
+		}
+		return sequences;
+	}
+
+	@Override
+	public void dropContents() throws SQLException {
+		for (Table table : listTables()) {
+			table.drop();
+		}
+		for (Sequence sequence : listSequences()) {
+			sequence.drop();
+		}
+	}
+
+	@Override
+	public Database getSetupDelegate() {
+		return this;
+	}
+
+	@Override
+	public Table createTable(TableDefinition table) throws SQLException {
+		QueryBuilder queryBuilder = new QueryBuilder();
+		queryBuilder.append("CREATE TABLE " + table.getName() + " (");
+
+		List<String> identityColumns = Lists.newArrayList();
+		boolean columnAdded = false;
+		for (ColumnDefinition column : table.getColumns()) {
+			if (columnAdded) {
+				queryBuilder.append(", ");
+			}
+
+			queryBuilder.append(H2Table.createColumnDefinition(column));
+			if (column.isIdentity()) {
+				identityColumns.add(column.getName());
+			}
+
+			columnAdded = true;
+		}
+
+		if (!identityColumns.isEmpty()) {
+			queryBuilder.append(", PRIMARY KEY (" + Joiner.on(',').join(identityColumns) + ")");
+		}
+
+		queryBuilder.append(")");
+		execute(queryBuilder.toString());
+
+		// H2 stores unquoted names in upper case.
+		return new H2Table(connection, this, table.getName().toUpperCase());
+	}
+
+	void execute(String query) throws SQLException {
+		query(query);
+		log.debug(query);
+	}
+
+	@Override
+	public void query(String query) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute(query);
+		}
+		catch (SQLException e) {
+			log.error(e.getMessage() + " - " + query, e);
+			throw e;
+		}
+	}
+
+	@Override
+	public void setStatementTimeout(int millis) throws SQLException {
+		query("SET QUERY_TIMEOUT " + millis);
+	}
+
+	/**
+	 * The default is the lock timeout the session had before it was first changed, which may have been set in the
+	 * URL of the database.
+	 */
+	@Override
+	public void setLockTimeout(int millis) throws SQLException {
+		if (defaultLockTimeout < 0) {
+			try (Statement statement = connection.createStatement()) {
+				ResultSet resultSet = statement.executeQuery("CALL LOCK_TIMEOUT()");
+				resultSet.next();
+				defaultLockTimeout = resultSet.getInt(1);
+			}
+		}
+		query("SET LOCK_TIMEOUT " + (millis > 0 ? millis : defaultLockTimeout));
+	}
+
+	@Override
+	public Connection getConnection() {
+		return connection;
+	}
+
+}
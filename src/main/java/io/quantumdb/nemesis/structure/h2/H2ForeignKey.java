@@ -1,15 +1,15 @@
-package io.quantumdb.nemesis.structure.mysql55;
+package io.quantumdb.nemesis.structure.h2;
 
 import java.sql.SQLException;
 
 import io.quantumdb.nemesis.structure.ForeignKey;
 
-class MysqlForeignKey implements ForeignKey {
+class H2ForeignKey implements ForeignKey {
 
-	private final MysqlTable parent;
+	private final H2Table parent;
 	private final String name;
 
-	MysqlForeignKey(MysqlTable parent, String name) {
+	H2ForeignKey(H2Table parent, String name) {
 		this.parent = parent;
 		this.name = name;
 	}
@@ -21,7 +21,7 @@ class MysqlForeignKey implements ForeignKey {
 
 	@Override
 	public void drop() throws SQLException {
-		execute(String.format("ALTER TABLE %s DROP FOREIGN KEY %s", parent.getName(), name));
+		execute(String.format("ALTER TABLE %s DROP CONSTRAINT %s", parent.getName(), name));
 	}
 
 	private void execute(String query) throws SQLException {
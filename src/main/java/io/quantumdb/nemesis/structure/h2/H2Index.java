@@ -1,4 +1,4 @@
-package io.quantumdb.nemesis.structure.mysql55;
+package io.quantumdb.nemesis.structure.h2;
 
 import java.sql.SQLException;
 
@@ -10,15 +10,15 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @ToString
 @EqualsAndHashCode
-class MysqlIndex implements Index {
+class H2Index implements Index {
 
-	private final MysqlTable parent;
+	private final H2Table parent;
 	private final String name;
 
 	private final boolean unique;
 	private final boolean primary;
 
-	MysqlIndex(MysqlTable parent, String name, boolean unique, boolean primary) {
+	H2Index(H2Table parent, String name, boolean unique, boolean primary) {
 		this.parent = parent;
 		this.name = name;
 		this.unique = unique;
@@ -31,7 +31,7 @@ class MysqlIndex implements Index {
 	}
 
 	@Override
-	public MysqlTable getParent() {
+	public H2Table getParent() {
 		return parent;
 	}
 
@@ -47,12 +47,12 @@ class MysqlIndex implements Index {
 
 	@Override
 	public void rename(String name) throws SQLException {
-		throw new UnsupportedOperationException("Mysql 5.5 does not support renaming indices.");
+		execute(String.format("ALTER INDEX %s RENAME TO %s", this.name, name));
 	}
 
 	@Override
 	public void drop() throws SQLException {
-		execute(String.format("ALTER TABLE %s DROP INDEX %s", parent.getName(), name));
+		execute(String.format("DROP INDEX %s", name));
 	}
 
 	private void execute(String query) throws SQLException {
@@ -0,0 +1,126 @@
+package io.quantumdb.nemesis.structure.h2;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.h2.api.Trigger;
+
+/**
+ * Applies every insert, update and delete on a table to a target table as well. H2 implements triggers as Java
+ * classes which it instantiates itself, so the target table and the mapping of the columns are registered under the
+ * name of the trigger before the trigger is created. This requires the database to run embedded, in the same JVM.
+ */
+public class H2MirrorTrigger implements Trigger {
+
+	private static class Mirror {
+		private final String target;
+		private final String key;
+		private final Map<String, String> columns;
+
+		private Mirror(String target, String key, Map<String, String> columns) {
+			this.target = target;
+			this.key = key;
+			this.columns = columns;
+		}
+	}
+
+	private static final Map<String, Mirror> MIRRORS = Maps.newConcurrentMap();
+
+	static void register(String triggerName, String target, String key, Map<String, String> columns) {
+		MIRRORS.put(getKey(H2Database.SCHEMA, triggerName), new Mirror(target, key, columns));
+	}
+
+	private static String getKey(String schemaName, String triggerName) {
+		return (schemaName + "." + triggerName).toUpperCase();
+	}
+
+	private String registration;
+	private String delete;
+	private String insert;
+	private int keyIndex;
+	private int[] columnIndices;
+
+	@Override
+	public void init(Connection connection, String schemaName, String triggerName, String tableName, boolean before,
+			int type) throws SQLException {
+
+		registration = getKey(schemaName, triggerName);
+		Mirror mirror = MIRRORS.get(registration);
+		if (mirror == null) {
+			throw new SQLException("No mirror has been registered for trigger: " + triggerName);
+		}
+
+		List<String> sourceColumns = Lists.newArrayList();
+		String query = "SELECT column_name FROM information_schema.columns "
+				+ "WHERE table_schema = ? AND table_name = ? ORDER BY ordinal_position ASC";
+
+		try (PreparedStatement statement = connection.prepareStatement(query)) {
+			statement.setString(1, schemaName);
+			statement.setString(2, tableName);
+			ResultSet resultSet = statement.executeQuery();
+			while (resultSet.next()) {
+				sourceColumns.add(resultSet.getString("column_name").toUpperCase());
+			}
+		}
+
+		List<String> targetColumns = Lists.newArrayList();
+		List<String> placeholders = Lists.newArrayList();
+		columnIndices = new int[mirror.columns.size()];
+
+		int i = 0;
+		for (Map.Entry<String, String> column : mirror.columns.entrySet()) {
+			columnIndices[i++] = indexOf(sourceColumns, column.getKey());
+			targetColumns.add(column.getValue());
+			placeholders.add("?");
+		}
+
+		keyIndex = indexOf(sourceColumns, mirror.key);
+		delete = String.format("DELETE FROM %s WHERE %s = ?", mirror.target, mirror.columns.get(mirror.key));
+		insert = String.format("INSERT INTO %s (%s) VALUES (%s)", mirror.target, Joiner.on(", ").join(targetColumns),
+				Joiner.on(", ").join(placeholders));
+	}
+
+	@Override
+	public void fire(Connection connection, Object[] oldRow, Object[] newRow) throws SQLException {
+		if (oldRow != null) {
+			try (PreparedStatement statement = connection.prepareStatement(delete)) {
+				statement.setObject(1, oldRow[keyIndex]);
+				statement.executeUpdate();
+			}
+		}
+		if (newRow != null) {
+			try (PreparedStatement statement = connection.prepareStatement(insert)) {
+				for (int i = 0; i < columnIndices.length; i++) {
+					statement.setObject(i + 1, newRow[columnIndices[i]]);
+				}
+				statement.executeUpdate();
+			}
+		}
+	}
+
+	@Override
+	public void close() {
+		// Nothing to release.
+	}
+
+	@Override
+	public void remove() {
+		MIRRORS.remove(registration);
+	}
+
+	private static int indexOf(List<String> columns, String column) throws SQLException {
+		int index = columns.indexOf(column.toUpperCase());
+		if (index < 0) {
+			throw new SQLException("Could not find column: " + column);
+		}
+		return index;
+	}
+
+}
@@ -1,4 +1,4 @@
-package io.quantumdb.nemesis.structure.mysql56;
+package io.quantumdb.nemesis.structure.h2;
 
 import java.sql.SQLException;
 
@@ -10,12 +10,12 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @ToString
 @EqualsAndHashCode
-class MysqlSequence implements Sequence {
+class H2Sequence implements Sequence {
 
-	private final MysqlDatabase parent;
+	private final H2Database parent;
 	private final String name;
 
-	MysqlSequence(MysqlDatabase parent, String name) {
+	H2Sequence(H2Database parent, String name) {
 		this.parent = parent;
 		this.name = name;
 	}
@@ -26,7 +26,7 @@ class MysqlSequence implements Sequence {
 	}
 
 	@Override
-	public MysqlDatabase getParent() {
+	public H2Database getParent() {
 		return parent;
 	}
 
@@ -0,0 +1,321 @@
+package io.quantumdb.nemesis.structure.h2;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import io.quantumdb.nemesis.operations.Operation;
+import io.quantumdb.nemesis.structure.Column;
+import io.quantumdb.nemesis.structure.ColumnDefinition;
+import io.quantumdb.nemesis.structure.Constraint;
+import io.quantumdb.nemesis.structure.ForeignKey;
+import io.quantumdb.nemesis.structure.Index;
+import io.quantumdb.nemesis.structure.QueryBuilder;
+import io.quantumdb.nemesis.structure.Table;
+import io.quantumdb.nemesis.structure.Trigger;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@ToString
+@EqualsAndHashCode
+class H2Table implements Table {
+
+	static String createColumnDefinition(ColumnDefinition column) {
+		QueryBuilder queryBuilder = new QueryBuilder();
+		queryBuilder.append(column.getName() + " " + column.getType());
+
+		if (column.isVirtual()) {
+			queryBuilder.append(" AS " + column.getVirtualColumnExpression());
+		}
+		else if (!Strings.isNullOrEmpty(column.getDefaultExpression()) && !column.isAutoIncrement()) {
+			queryBuilder.append(" DEFAULT " + column.getDefaultExpression());
+		}
+
+		if (column.isAutoIncrement()) {
+			queryBuilder.append(" AUTO_INCREMENT");
+		}
+		if (!column.isNullable()) {
+			queryBuilder.append(" NOT NULL");
+		}
+		return queryBuilder.toString();
+	}
+
+	private final Connection connection;
+	private final H2Database parent;
+	private final String name;
+
+	H2Table(Connection connection, H2Database parent, String name) {
+		this.connection = connection;
+		this.parent = parent;
+		this.name = name;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public void rename(String newName) throws SQLException {
+		execute(String.format("ALTER TABLE %s RENAME TO %s", name, newName));
+	}
+
+	@Override
+	public H2Database getParent() {
+		return parent;
+	}
+
+	private List<String> listPrimaryKeyColumns() throws SQLException {
+		String query = new QueryBuilder()
+				.append("SELECT column_name ")
+				.append("FROM information_schema.indexes ")
+				.append("WHERE table_schema = ? AND table_name = ? AND primary_key = TRUE")
+				.toString();
+
+		List<String> primaryKeyColumns = Lists.newArrayList();
+		try (PreparedStatement statement = connection.prepareStatement(query)) {
+			statement.setString(1, H2Database.SCHEMA);
+			statement.setString(2, name);
+			ResultSet resultSet = statement.executeQuery();
+
+			while (resultSet.next()) {
+				primaryKeyColumns.add(resultSet.getString("column_name"));
+			}
+		}
+		return primaryKeyColumns;
+	}
+
+	@Override
+	public List<Column> listColumns() throws SQLException {
+		String query = new QueryBuilder()
+				.append("SELECT column_name, column_default, is_nullable, type_name, sequence_name ")
+				.append("FROM information_schema.columns ")
+				.append("WHERE table_schema = ? AND table_name = ? ")
+				.append("ORDER BY ordinal_position ASC")
+				.toString();
+
+		List<String> primaryKeyColumns = listPrimaryKeyColumns();
+
+		List<Column> columns = Lists.newArrayList();
+		try (PreparedStatement statement = connection.prepareStatement(query)) {
+			statement.setString(1, H2Database.SCHEMA);
+			statement.setString(2, name);
+
+			log.debug(query);
+			ResultSet resultSet = statement.executeQuery();
+
+			while (resultSet.next()) {
+				String columnName = resultSet.getString("column_name");
+				String expression = normalize(resultSet.getString("column_default"));
+				boolean nullable = "yes".equalsIgnoreCase(resultSet.getString("is_nullable"));
+				String type = resultSet.getString("type_name");
+				boolean identity = primaryKeyColumns.contains(columnName);
+				boolean autoIncrement = resultSet.getString("sequence_name") != null;
+
+				columns.add(new H2Column(this, columnName, expression, nullable, type, identity, autoIncrement));
+			}
+		}
+
+		return columns;
+	}
+
+	/**
+	 * H2 reports boolean literals in upper case, other databases report them as "false" or "0".
+	 */
+	private String normalize(String expression) {
+		if ("TRUE".equals(expression) || "FALSE".equals(expression)) {
+			return expression.toLowerCase();
+		}
+		return expression;
+	}
+
+	@Override
+	public Column addColumn(ColumnDefinition column) throws SQLException {
+		execute(String.format("ALTER TABLE %s ADD %s", name, createColumnDefinition(column)));
+
+		if (column.isIdentity()) {
+			getColumn(column.getName()).setIdentity(true);
+		}
+
+		return new H2Column(this, column);
+	}
+
+	@Override
+	public List<Index> listIndices() throws SQLException {
+		String query = new QueryBuilder()
+				.append("SELECT DISTINCT index_name, non_unique, primary_key ")
+				.append("FROM information_schema.indexes ")
+				.append("WHERE table_schema = ? AND table_name = ? ")
+				.append("ORDER BY index_name ASC")
+				.toString();
+
+		List<Index> indices = Lists.newArrayList();
+		try (PreparedStatement statement = connection.prepareStatement(query)) {
+			statement.setString(1, H2Database.SCHEMA);
+			statement.setString(2, name);
+
+			log.debug(query);
+			ResultSet resultSet = statement.executeQuery();
+
+			while (resultSet.next()) {
+				String indexName = resultSet.getString("index_name");
+				boolean isUnique = !resultSet.getBoolean("non_unique");
+				boolean isPrimary = resultSet.getBoolean("primary_key");
+				indices.add(new H2Index(this, indexName, isUnique, isPrimary));
+			}
+		}
+
+		return indices;
+	}
+
+	@Override
+	public Index createIndex(String name, boolean unique, String... columnNames) throws SQLException {
+		String columns = Joiner.on(',').join(columnNames);
+		if (unique) {
+			execute(String.format("CREATE UNIQUE INDEX %s ON %s (%s)", name, this.name, columns));
+		}
+		else {
+			execute(String.format("CREATE INDEX %s ON %s (%s)", name, this.name, columns));
+		}
+		return new H2Index(this, name, unique, false);
+	}
+
+	/**
+	 * H2 does not support invisible indices.
+	 * We expect that this should have been checked via {@link Operation#isSupportedBy(io.quantumdb.nemesis.structure.Database)}
+	 */
+	@Override
+	public Index createInvisibleIndex(String name, boolean unique, String... columnNames) throws SQLException {
+		throw new UnsupportedOperationException("This feature is not supported by H2");
+	}
+
+	/**
+	 * H2 does not support online index creation.
+	 * We expect that this should have been checked via {@link Operation#isSupportedBy(io.quantumdb.nemesis.structure.Database)}
+	 */
+	@Override
+	public Index createOnlineIndex(String name, boolean unique, String... columnNames) throws SQLException {
+		throw new UnsupportedOperationException("This feature is not supported by H2");
+	}
+
+	@Override
+	public List<Constraint> listConstraints() throws SQLException {
+		String query = new QueryBuilder()
+				.append("SELECT constraint_name, constraint_type, column_list ")
+				.append("FROM information_schema.constraints ")
+				.append("WHERE table_schema = ? AND table_name = ?")
+				.toString();
+
+		List<Constraint> constraints = Lists.newArrayList();
+		try (PreparedStatement statement = connection.prepareStatement(query)) {
+			statement.setString(1, H2Database.SCHEMA);
+			statement.setString(2, name);
+			ResultSet resultSet = statement.executeQuery();
+
+			while (resultSet.next()) {
+				String constraintName = resultSet.getString("constraint_name");
+				String constraintType = resultSet.getString("constraint_type");
+				String columnList = resultSet.getString("column_list");
+
+				constraints.add(new H2Constraint(this, constraintName, constraintType, columnList));
+			}
+		}
+		return constraints;
+	}
+
+	@Override
+	public Constraint createConstraint(String name, String type, String expression) throws SQLException {
+		execute(String.format("ALTER TABLE %s ADD CONSTRAINT %s %s %s", this.name, name, type, expression));
+		return new H2Constraint(this, name, type, expression);
+	}
+
+	@Override
+	public List<ForeignKey> listForeignKeys() throws SQLException {
+		String query = new QueryBuilder()
+				.append("SELECT DISTINCT fk_name ")
+				.append("FROM information_schema.cross_references ")
+				.append("WHERE fktable_schema = ? AND fktable_name = ?")
+				.toString();
+
+		List<ForeignKey> foreignKeys = Lists.newArrayList();
+		try (PreparedStatement statement = connection.prepareStatement(query)) {
+			statement.setString(1, H2Database.SCHEMA);
+			statement.setString(2, name);
+			ResultSet resultSet = statement.executeQuery();
+
+			while (resultSet.next()) {
+				String constraintName = resultSet.getString("fk_name");
+				foreignKeys.add(new H2ForeignKey(this, constraintName));
+			}
+		}
+		return foreignKeys;
+	}
+
+	@Override
+	public List<Trigger> listTriggers() throws SQLException {
+		String query = new QueryBuilder()
+				.append("SELECT trigger_name ")
+				.append("FROM information_schema.triggers ")
+				.append("WHERE table_schema = ? AND table_name = ?")
+				.toString();
+
+		List<Trigger> triggers = Lists.newArrayList();
+		try (PreparedStatement statement = connection.prepareStatement(query)) {
+			statement.setString(1, H2Database.SCHEMA);
+			statement.setString(2, name);
+			ResultSet resultSet = statement.executeQuery();
+
+			while (resultSet.next()) {
+				String triggerName = resultSet.getString("trigger_name");
+				triggers.add(new H2Trigger(this, triggerName));
+			}
+		}
+
+		return triggers;
+	}
+
+	/**
+	 * Creates a single trigger which is implemented by {@link H2MirrorTrigger}.
+	 */
+	@Override
+	public List<Trigger> createMirrorTriggers(String name, Table target, String key, Map<String, String> columns)
+			throws SQLException {
+
+		H2MirrorTrigger.register(name, target.getName(), key, columns);
+		execute(String.format("CREATE TRIGGER %s AFTER INSERT, UPDATE, DELETE ON %s FOR EACH ROW CALL \"%s\"", name,
+				this.name, H2MirrorTrigger.class.getName()));
+
+		return Lists.newArrayList(new H2Trigger(this, name));
+	}
+
+	/**
+	 * H2 always validates foreign keys when they are added. Hence, just ignore this option...
+	 */
+	@Override
+	public ForeignKey addForeignKey(String constraint, String[] columns, String referencedTable,
+			String[] referencedColumns, boolean enabled) throws SQLException {
+
+		execute(String.format("ALTER TABLE %s ADD CONSTRAINT %s FOREIGN KEY (%s) REFERENCES %s (%s)", name, constraint,
+				Joiner.on(',').join(columns), referencedTable, Joiner.on(',').join(referencedColumns)));
+
+		return new H2ForeignKey(this, constraint);
+	}
+
+	@Override
+	public void drop() throws SQLException {
+		execute(String.format("DROP TABLE %s", name));
+	}
+
+	private void execute(String query) throws SQLException {
+		getParent().execute(query);
+	}
+
+}
@@ -0,0 +1,42 @@
+package io.quantumdb.nemesis.structure.h2;
+
+import java.sql.SQLException;
+
+import io.quantumdb.nemesis.structure.Trigger;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@ToString
+@EqualsAndHashCode
+class H2Trigger implements Trigger {
+
+	private final H2Table parent;
+	private final String name;
+
+	H2Trigger(H2Table parent, String name) {
+		this.parent = parent;
+		this.name = name;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public H2Table getParent() {
+		return parent;
+	}
+
+	@Override
+	public void drop() throws SQLException {
+		execute(String.format("DROP TRIGGER %s", name));
+	}
+
+	private void execute(String query) throws SQLException {
+		getParent().getParent().execute(query);
+	}
+
+}
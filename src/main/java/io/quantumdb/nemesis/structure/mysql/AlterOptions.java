@@ -0,0 +1,57 @@
+package io.quantumdb.nemesis.structure.mysql;
+
+import lombok.Data;
+
+/**
+ * The ALGORITHM and LOCK clauses of a structural change. The ALGORITHM clause decides whether MySQL copies the table,
+ * rebuilds it in place or only changes its metadata, and the LOCK clause how much concurrent access it permits
+ * meanwhile. MySQL rejects a change it cannot perform with the requested algorithm or lock, rather than falling back
+ * to a more expensive one. A clause which is left to its DEFAULT is omitted.
+ */
+@Data
+public class AlterOptions {
+
+	public enum Algorithm {
+		DEFAULT, COPY, INPLACE, INSTANT
+	}
+
+	public enum Lock {
+		DEFAULT, NONE, SHARED, EXCLUSIVE
+	}
+
+	public static final AlterOptions DEFAULT = new AlterOptions(Algorithm.DEFAULT, Lock.DEFAULT);
+
+	private final Algorithm algorithm;
+	private final Lock lock;
+
+	/**
+	 * @return The clauses to append to an ALTER TABLE statement, for instance ", ALGORITHM=INPLACE, LOCK=NONE".
+	 */
+	public String toAlterTableClause() {
+		return toClause(", ", ", ");
+	}
+
+	/**
+	 * @return The clauses to append to a CREATE INDEX statement, for instance " ALGORITHM=INPLACE LOCK=NONE".
+	 */
+	public String toCreateIndexClause() {
+		return toClause(" ", " ");
+	}
+
+	private String toClause(String prefix, String separator) {
+		StringBuilder builder = new StringBuilder();
+		if (algorithm != Algorithm.DEFAULT) {
+			builder.append(prefix).append("ALGORITHM=").append(algorithm);
+		}
+		if (lock != Lock.DEFAULT) {
+			builder.append(builder.length() == 0 ? prefix : separator).append("LOCK=").append(lock);
+		}
+		return builder.toString();
+	}
+
+	@Override
+	public String toString() {
+		return "algorithm=" + algorithm + " lock=" + lock;
+	}
+
+}
@@ -0,0 +1,31 @@
+package io.quantumdb.nemesis.structure.mysql;
+
+/**
+ * Decides with which ALGORITHM and LOCK clauses every kind of structural change is performed on MySQL.
+ */
+@FunctionalInterface
+public interface AlterStrategy {
+
+	/**
+	 * The kinds of structural change which accept ALGORITHM and LOCK clauses.
+	 */
+	enum Change {
+		ADD_COLUMN,
+		RENAME_COLUMN,
+		MODIFY_DATA_TYPE,
+		SET_NULLABLE,
+		SET_DEFAULT,
+		SET_PRIMARY_KEY,
+		DROP_COLUMN,
+		DROP_PRIMARY_KEY_COLUMN,
+		CREATE_INDEX,
+		RENAME_INDEX,
+		DROP_INDEX,
+		ADD_FOREIGN_KEY,
+		DROP_FOREIGN_KEY,
+		DROP_CONSTRAINT
+	}
+
+	AlterOptions getOptions(Change change);
+
+}
@@ -1,4 +1,4 @@
-package io.quantumdb.nemesis.structure.mysql55;
+package io.quantumdb.nemesis.structure.mysql;
 
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -10,6 +10,7 @@ import com.google.common.base.Strings;
 import io.quantumdb.nemesis.structure.Column;
 import io.quantumdb.nemesis.structure.ColumnDefinition;
 import io.quantumdb.nemesis.structure.QueryBuilder;
+import io.quantumdb.nemesis.structure.mysql.AlterStrategy.Change;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
@@ -54,8 +55,9 @@ class MysqlColumn implements Column {
 
 	@Override
 	public void rename(String newName) throws SQLException {
-		execute(String.format("ALTER TABLE %s CHANGE COLUMN %s %s", parent.getName(), name,
-				getDefinition(newName, type, nullable, autoIncrement, defaultExpression)));
+		execute(String.format("ALTER TABLE %s CHANGE COLUMN %s %s%s", parent.getName(), name,
+				getDefinition(newName, type, nullable, autoIncrement, defaultExpression),
+				parent.getAlterClause(Change.RENAME_COLUMN)));
 		this.name = newName;
 	}
 
@@ -71,8 +73,9 @@ class MysqlColumn implements Column {
 
 	@Override
 	public void setType(String newType) throws SQLException {
-		execute(String.format("ALTER TABLE %s MODIFY COLUMN %s", parent.getName(),
-				getDefinition(name, newType, nullable, autoIncrement, defaultExpression)));
+		execute(String.format("ALTER TABLE %s MODIFY COLUMN %s%s", parent.getName(),
+				getDefinition(name, newType, nullable, autoIncrement, defaultExpression),
+				parent.getAlterClause(Change.MODIFY_DATA_TYPE)));
 
 		this.type = newType;
 	}
@@ -84,8 +87,9 @@ class MysqlColumn implements Column {
 
 	@Override
 	public void setNullable(boolean isNullable) throws SQLException {
-		execute(String.format("ALTER TABLE %s MODIFY COLUMN %s", parent.getName(),
-				getDefinition(name, type, isNullable, autoIncrement, defaultExpression)));
+		execute(String.format("ALTER TABLE %s MODIFY COLUMN %s%s", parent.getName(),
+				getDefinition(name, type, isNullable, autoIncrement, defaultExpression),
+				parent.getAlterClause(Change.SET_NULLABLE)));
 
 		this.nullable = isNullable;
 	}
@@ -101,8 +105,9 @@ class MysqlColumn implements Column {
 			newExpression = null;
 		}
 
-		execute(String.format("ALTER TABLE %s MODIFY COLUMN %s", parent.getName(),
-				getDefinition(name, type, nullable, autoIncrement, newExpression)));
+		execute(String.format("ALTER TABLE %s MODIFY COLUMN %s%s", parent.getName(),
+				getDefinition(name, type, nullable, autoIncrement, newExpression),
+				parent.getAlterClause(Change.SET_DEFAULT)));
 
 		this.defaultExpression = newExpression;
 	}
@@ -123,8 +128,8 @@ class MysqlColumn implements Column {
 			identityColumns.add(name);
 		}
 
-		execute(String.format("ALTER TABLE %s DROP PRIMARY KEY, ADD PRIMARY KEY(%s);", getParent().getName(),
-				Joiner.on(',').join(identityColumns)));
+		execute(String.format("ALTER TABLE %s DROP PRIMARY KEY, ADD PRIMARY KEY(%s)%s;", getParent().getName(),
+				Joiner.on(',').join(identityColumns), parent.getAlterClause(Change.SET_PRIMARY_KEY)));
 
 		this.identity = identity;
 	}
@@ -136,7 +141,9 @@ class MysqlColumn implements Column {
 
 	@Override
 	public void drop() throws SQLException {
-		execute(String.format("ALTER TABLE %s DROP COLUMN %s", parent.getName(), name));
+		Change change = isIdentity() ? Change.DROP_PRIMARY_KEY_COLUMN : Change.DROP_COLUMN;
+		execute(String.format("ALTER TABLE %s DROP COLUMN %s%s", parent.getName(), name,
+				parent.getAlterClause(change)));
 	}
 
 	private void execute(String query) throws SQLException {
@@ -1,8 +1,9 @@
-package io.quantumdb.nemesis.structure.mysql55;
+package io.quantumdb.nemesis.structure.mysql;
 
 import java.sql.SQLException;
 
 import io.quantumdb.nemesis.structure.Constraint;
+import io.quantumdb.nemesis.structure.mysql.AlterStrategy.Change;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
@@ -41,7 +42,8 @@ class MysqlConstraint implements Constraint {
 
 	@Override
 	public void drop() throws SQLException {
-		execute(String.format("ALTER TABLE %s DROP CONSTRAINT %s", parent.getName(), name));
+		execute(String.format("ALTER TABLE %s DROP CONSTRAINT %s%s", parent.getName(), name,
+				parent.getAlterClause(Change.DROP_CONSTRAINT)));
 	}
 
 	private void execute(String query) throws SQLException {
@@ -0,0 +1,395 @@
+package io.quantumdb.nemesis.structure.mysql;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.List;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import io.quantumdb.nemesis.structure.ColumnDefinition;
+import io.quantumdb.nemesis.structure.Database;
+import io.quantumdb.nemesis.structure.DatabaseCredentials;
+import io.quantumdb.nemesis.structure.Progress;
+import io.quantumdb.nemesis.structure.QueryBuilder;
+import io.quantumdb.nemesis.structure.Sequence;
+import io.quantumdb.nemesis.structure.Table;
+import io.quantumdb.nemesis.structure.TableDefinition;
+import io.quantumdb.nemesis.structure.mysql.AlterStrategy.Change;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Backend for MySQL 5.5 and newer. The version, refined by the release the server reports when connecting, decides
+ * with which ALGORITHM and LOCK clauses structural changes are performed, unless another {@link AlterStrategy} is
+ * set.
+ */
+@Slf4j
+@ToString
+@EqualsAndHashCode
+public class MysqlDatabase implements Database {
+
+	private static final int DEFAULT_DDL_BUFFER_SIZE = 1_048_576;
+	private static final int UNKNOWN_SYSTEM_VARIABLE = 1193;
+
+	private final MysqlVersion version;
+
+	private Connection connection;
+	private DatabaseCredentials credentials;
+	private AlterStrategy defaultStrategy;
+	private AlterStrategy alterStrategy;
+	private boolean stagesInstrumented;
+
+	/**
+	 * The names and previous ENABLED and TIMED settings of the stage instruments enabled by {@link #sampleProgress()},
+	 * and the names of the consumers it enabled.
+	 */
+	private final List<String[]> enabledInstruments = Lists.newArrayList();
+	private final List<String> enabledConsumers = Lists.newArrayList();
+
+	public MysqlDatabase(MysqlVersion version) {
+		this.version = version;
+		this.defaultStrategy = version;
+	}
+
+	public MysqlVersion getVersion() {
+		return version;
+	}
+
+	/**
+	 * Overrides the ALGORITHM and LOCK clauses with which structural changes are performed, or restores those of
+	 * the server when null.
+	 */
+	public void setAlterStrategy(AlterStrategy alterStrategy) {
+		this.alterStrategy = alterStrategy;
+	}
+
+	/**
+	 * @return The ALGORITHM and LOCK clauses with which to perform the specified kind of change.
+	 */
+	AlterOptions getOptions(Change change) {
+		AlterStrategy strategy = alterStrategy != null ? alterStrategy : defaultStrategy;
+		return strategy.getOptions(change);
+	}
+
+	public void connect(DatabaseCredentials credentials) throws SQLException {
+		try {
+			Class.forName("com.mysql.jdbc.Driver");
+			this.connection = DriverManager.getConnection(credentials.getUrl() + "/" + credentials.getDatabase(),
+					credentials.getUsername(), credentials.getPassword());
+			this.credentials = credentials;
+			this.defaultStrategy = version.getStrategy(connection.getMetaData().getDatabaseProductVersion());
+		}
+		catch (ClassNotFoundException e) {
+			throw new SQLException(e);
+		}
+	}
+
+	@Override
+	public DatabaseCredentials getCredentials() {
+		return credentials;
+	}
+
+	@Override
+	public void close() throws SQLException {
+		connection.close();
+	}
+
+	@Override
+	public boolean supports(Feature feature) {
+		switch (feature) {
+			case RENAME_INDEX:
+				return version.supportsIndexRename();
+			case PARALLEL_DDL:
+				return version.supportsParallelDdl();
+			case COLUMN_CONSTRAINTS:
+			case DEFAULT_VALUE_FOR_TEXT:
+			case MULTIPLE_AUTO_INCREMENT_COLUMNS:
+			case INVISIBLE_INDEX:
+			case ONLINE_INDEX:
+			case VIRTUAL_COLUMN:
+			case CONSTRAINT_DISABLE_OPTION:
+			case CONSTRAINT_NOVALIDATE_OPTION:
+				return false;
+			default:
+				return true;
+		}
+	}
+
+	@Override
+	public List<Table> listTables() throws SQLException {
+		String query = "SHOW TABLES";
+		List<Table> tables = Lists.newArrayList();
+		try (PreparedStatement statement = connection.prepareStatement(query)) {
+			log.debug(query);
+
+			ResultSet resultSet = statement.executeQuery();
+			while (resultSet.next()) {
+				String tableName = resultSet.getString(1);
+				tables.add(new MysqlTable(connection, this, tableName));
+			}
+		}
+
+		return tables;
+	}
+
+	@Override
+	public void atomicTableRename(String replacingTableName, String currentTableName, String archivedTableName)
+			throws SQLException {
+
+		Savepoint save = null;
+		boolean autoCommit = false;
+		try {
+			autoCommit = connection.getAutoCommit();
+			connection.setAutoCommit(false);
+			save = connection.setSavepoint();
+
+			String query = "RENAME TABLE %s TO %s, %s TO %s";
+			String formatted = String.format(query, currentTableName, archivedTableName, replacingTableName, currentTableName);
+			connection.createStatement().execute(formatted);
+
+			connection.commit();
+		}
+		catch (SQLException e) {
+			connection.rollback(save);
+			throw e;
+		}
+		finally {
+			connection.setAutoCommit(autoCommit);
+		}
+	}
+
+	@Override
+	public List<Sequence> listSequences() throws SQLException {
+		// MySQL doesn't support sequences...?!?
+		return Lists.newArrayList();
+	}
+
+	@Override
+	public void dropContents() throws SQLException {
+		while (!listTables().isEmpty()) {
+			for (Table table : listTables()) {
+				try {
+					table.drop();
+				}
+				catch (SQLException e) {
+					log.warn(e.getMessage(), e);
+				}
+			}
+		}
+		for (Sequence sequence : listSequences()) {
+			sequence.drop();
+		}
+	}
+
+	@Override
+	public Database getSetupDelegate() {
+		return this;
+	}
+
+	@Override
+	public Table createTable(TableDefinition table) throws SQLException {
+		QueryBuilder queryBuilder = new QueryBuilder();
+		queryBuilder.append("CREATE TABLE " + table.getName() + " (");
+
+		boolean columnAdded = false;
+		for (ColumnDefinition column : table.getColumns()) {
+			if (columnAdded) {
+				queryBuilder.append(", ");
+			}
+
+			queryBuilder.append(column.getName() + " " + column.getType());
+			if (column.isIdentity()) {
+				queryBuilder.append(" PRIMARY KEY");
+			}
+			if (!column.isNullable()) {
+				queryBuilder.append(" NOT NULL");
+			}
+
+			if (column.isAutoIncrement()) {
+				queryBuilder.append(" AUTO_INCREMENT");
+			}
+			else if (!Strings.isNullOrEmpty(column.getDefaultExpression())) {
+				queryBuilder.append(" DEFAULT " + column.getDefaultExpression());
+			}
+
+			columnAdded = true;
+		}
+
+		queryBuilder.append(")");
+		execute(queryBuilder.toString());
+
+		return new MysqlTable(connection, this, table.getName());
+	}
+
+	void execute(String query) throws SQLException {
+		query(query);
+		log.debug(query);
+	}
+
+	@Override
+	public void query(String query) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute(query);
+		}
+		catch (SQLException e) {
+			log.error(e.getMessage() + " - " + query, e);
+			throw e;
+		}
+	}
+
+	/**
+	 * Reports the stage of every running ALTER, CREATE or DROP statement from the performance schema, together with
+	 * the time spent in that stage. The work of a stage is not estimated, so the total is always 0. The stage
+	 * instruments are enabled on first use until {@link #stopSamplingProgress()}, which requires the UPDATE privilege
+	 * on the performance schema. Without it only the stages which are already instrumented are reported. MySQL 5.5
+	 * has no stage instruments.
+	 */
+	@Override
+	public List<Progress> sampleProgress() throws SQLException {
+		if (!version.supportsStages()) {
+			throw new SQLFeatureNotSupportedException(version + " does not report progress");
+		}
+		if (!stagesInstrumented) {
+			stagesInstrumented = true;
+			try {
+				instrumentStages();
+			}
+			catch (SQLException e) {
+				log.warn("Could not enable the stage instruments, only reporting the instrumented stages: "
+						+ e.getMessage());
+			}
+		}
+
+		String query = new QueryBuilder()
+				.append("SELECT stage.EVENT_NAME, stage.TIMER_WAIT ")
+				.append("FROM performance_schema.events_stages_current stage ")
+				.append("JOIN performance_schema.events_statements_current statement ")
+				.append("ON statement.THREAD_ID = stage.THREAD_ID ")
+				.append("WHERE statement.SQL_TEXT REGEXP '^[[:space:]]*(ALTER|CREATE|DROP)'")
+				.toString();
+
+		List<Progress> progress = Lists.newArrayList();
+		try (Statement statement = connection.createStatement()) {
+			ResultSet resultSet = statement.executeQuery(query);
+			while (resultSet.next()) {
+				long millis = resultSet.getLong(2) / 1_000_000_000L;
+				progress.add(new Progress(resultSet.getString(1), millis, 0, "ms"));
+			}
+		}
+		return progress;
+	}
+
+	/**
+	 * Restores the stage instruments and consumers which {@link #sampleProgress()} enabled to their previous settings,
+	 * since those settings apply to the whole server.
+	 */
+	@Override
+	public void stopSamplingProgress() throws SQLException {
+		if (!enabledInstruments.isEmpty()) {
+			String query = "UPDATE performance_schema.setup_instruments SET ENABLED = ?, TIMED = ? WHERE NAME = ?";
+			try (PreparedStatement statement = connection.prepareStatement(query)) {
+				for (String[] instrument : enabledInstruments) {
+					statement.setString(1, instrument[1]);
+					statement.setString(2, instrument[2]);
+					statement.setString(3, instrument[0]);
+					statement.addBatch();
+				}
+				statement.executeBatch();
+			}
+			enabledInstruments.clear();
+		}
+		if (!enabledConsumers.isEmpty()) {
+			query("UPDATE performance_schema.setup_consumers SET ENABLED = 'NO' "
+					+ "WHERE NAME IN ('" + Joiner.on("', '").join(enabledConsumers) + "')");
+			enabledConsumers.clear();
+		}
+		stagesInstrumented = false;
+	}
+
+	/**
+	 * Enables and times the stage instruments, and enables the consumers of the current stages and statements,
+	 * recording the settings of those which were not enabled yet.
+	 */
+	private void instrumentStages() throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			ResultSet resultSet = statement.executeQuery("SELECT NAME, ENABLED, TIMED "
+					+ "FROM performance_schema.setup_instruments "
+					+ "WHERE NAME LIKE 'stage/%' AND (ENABLED = 'NO' OR TIMED = 'NO')");
+			while (resultSet.next()) {
+				enabledInstruments.add(new String[] {
+						resultSet.getString(1), resultSet.getString(2), resultSet.getString(3) });
+			}
+
+			resultSet = statement.executeQuery("SELECT NAME FROM performance_schema.setup_consumers "
+					+ "WHERE NAME IN ('events_stages_current', 'events_statements_current') AND ENABLED = 'NO'");
+			while (resultSet.next()) {
+				enabledConsumers.add(resultSet.getString(1));
+			}
+		}
+
+		if (!enabledInstruments.isEmpty()) {
+			query("UPDATE performance_schema.setup_instruments SET ENABLED = 'YES', TIMED = 'YES' "
+					+ "WHERE NAME LIKE 'stage/%'");
+		}
+		if (!enabledConsumers.isEmpty()) {
+			query("UPDATE performance_schema.setup_consumers SET ENABLED = 'YES' "
+					+ "WHERE NAME IN ('events_stages_current', 'events_statements_current')");
+		}
+	}
+
+	/**
+	 * Sets the timeout for metadata locks, which structural changes acquire, with a granularity of seconds.
+	 */
+	@Override
+	public void setLockTimeout(int millis) throws SQLException {
+		if (millis > 0) {
+			query("SET SESSION lock_wait_timeout = " + (millis + 999) / 1000);
+		}
+		else {
+			query("SET SESSION lock_wait_timeout = DEFAULT");
+		}
+	}
+
+	/**
+	 * Sets the number of threads with which InnoDB scans the table, and sorts and loads the entries of indices when
+	 * building indices and rebuilding tables, which requires MySQL 8.0.27 or newer. Since the threads share the DDL
+	 * buffer, it is enlarged by its default size for every thread.
+	 */
+	@Override
+	public void setDdlParallelism(int degree) throws SQLException {
+		if (!version.supportsParallelDdl()) {
+			throw new SQLFeatureNotSupportedException(version + " cannot change tables in parallel");
+		}
+
+		try {
+			if (degree > 0) {
+				query(String.format("SET SESSION innodb_ddl_threads = %d, innodb_parallel_read_threads = %d, "
+						+ "innodb_ddl_buffer_size = %d", degree, degree, degree * DEFAULT_DDL_BUFFER_SIZE));
+			}
+			else {
+				query("SET SESSION innodb_ddl_threads = DEFAULT, innodb_parallel_read_threads = DEFAULT, "
+						+ "innodb_ddl_buffer_size = DEFAULT");
+			}
+		}
+		catch (SQLException e) {
+			if (e.getErrorCode() == UNKNOWN_SYSTEM_VARIABLE) {
+				throw new SQLFeatureNotSupportedException("Changing tables in parallel requires MySQL 8.0.27", e);
+			}
+			throw e;
+		}
+	}
+
+	@Override
+	public Connection getConnection() {
+		return connection;
+	}
+
+}
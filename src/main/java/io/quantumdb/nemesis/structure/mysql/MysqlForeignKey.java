@@ -1,8 +1,9 @@
-package io.quantumdb.nemesis.structure.mysql56;
+package io.quantumdb.nemesis.structure.mysql;
 
 import java.sql.SQLException;
 
 import io.quantumdb.nemesis.structure.ForeignKey;
+import io.quantumdb.nemesis.structure.mysql.AlterStrategy.Change;
 
 class MysqlForeignKey implements ForeignKey {
 
@@ -21,7 +22,8 @@ class MysqlForeignKey implements ForeignKey {
 
 	@Override
 	public void drop() throws SQLException {
-		execute(String.format("ALTER TABLE %s DROP FOREIGN KEY %s, ALGORITHM=INPLACE, LOCK=NONE", parent.getName(), name));
+		execute(String.format("ALTER TABLE %s DROP FOREIGN KEY %s%s", parent.getName(), name,
+				parent.getAlterClause(Change.DROP_FOREIGN_KEY)));
 	}
 
 	private void execute(String query) throws SQLException {
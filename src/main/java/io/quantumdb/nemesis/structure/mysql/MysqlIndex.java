@@ -1,8 +1,10 @@
-package io.quantumdb.nemesis.structure.mysql56;
+package io.quantumdb.nemesis.structure.mysql;
 
 import java.sql.SQLException;
 
+import io.quantumdb.nemesis.structure.Database.Feature;
 import io.quantumdb.nemesis.structure.Index;
+import io.quantumdb.nemesis.structure.mysql.AlterStrategy.Change;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
@@ -45,14 +47,23 @@ class MysqlIndex implements Index {
 		return primary;
 	}
 
+	/**
+	 * Only MySQL 5.7 and newer can rename an index, which should have been checked via the RENAME_INDEX feature.
+	 */
 	@Override
 	public void rename(String name) throws SQLException {
-		throw new UnsupportedOperationException("Mysql 5.5 does not support renaming indices.");
+		if (!parent.getParent().supports(Feature.RENAME_INDEX)) {
+			throw new UnsupportedOperationException(parent.getParent().getVersion()
+					+ " does not support renaming indices.");
+		}
+		execute(String.format("ALTER TABLE %s RENAME INDEX %s TO %s%s", parent.getName(), this.name, name,
+				parent.getAlterClause(Change.RENAME_INDEX)));
 	}
 
 	@Override
 	public void drop() throws SQLException {
-		execute(String.format("ALTER TABLE %s DROP INDEX %s, ALGORITHM=INPLACE", parent.getName(), name));
+		execute(String.format("ALTER TABLE %s DROP INDEX %s%s", parent.getName(), name,
+				parent.getAlterClause(Change.DROP_INDEX)));
 	}
 
 	private void execute(String query) throws SQLException {
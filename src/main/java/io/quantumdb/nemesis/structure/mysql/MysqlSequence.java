@@ -1,4 +1,4 @@
-package io.quantumdb.nemesis.structure.mysql55;
+package io.quantumdb.nemesis.structure.mysql;
 
 import java.sql.SQLException;
 
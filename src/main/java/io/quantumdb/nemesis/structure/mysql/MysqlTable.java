@@ -1,4 +1,4 @@
-package io.quantumdb.nemesis.structure.mysql55;
+package io.quantumdb.nemesis.structure.mysql;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -6,6 +6,8 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Strings;
@@ -20,6 +22,7 @@ import io.quantumdb.nemesis.structure.Index;
 import io.quantumdb.nemesis.structure.QueryBuilder;
 import io.quantumdb.nemesis.structure.Table;
 import io.quantumdb.nemesis.structure.Trigger;
+import io.quantumdb.nemesis.structure.mysql.AlterStrategy.Change;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
@@ -82,7 +85,7 @@ class MysqlTable implements Table {
 	@Override
 	public Column addColumn(ColumnDefinition column) throws SQLException {
 		if (column.isAutoIncrement() && listColumns().stream().filter(Column::isIdentity).count() > 0) {
-			throw new UnsupportedOperationException("Mysql 5.5 does not support auto increment on non primary key.");
+			throw new UnsupportedOperationException("MySQL does not support auto increment on non primary key.");
 		}
 
 		QueryBuilder queryBuilder = new QueryBuilder();
@@ -100,6 +103,7 @@ class MysqlTable implements Table {
 			queryBuilder.append(" DEFAULT " + column.getDefaultExpression());
 		}
 
+		queryBuilder.append(getAlterClause(Change.ADD_COLUMN));
 		execute(queryBuilder.toString());
 
 		MysqlColumn created = new MysqlColumn(connection, this, column);
@@ -134,11 +138,12 @@ class MysqlTable implements Table {
 	@Override
 	public Index createIndex(String name, boolean unique, String... columnNames) throws SQLException {
 		String columns = Joiner.on(',').join(columnNames);
+		String options = parent.getOptions(Change.CREATE_INDEX).toCreateIndexClause();
 		if (unique) {
-			execute(String.format("CREATE UNIQUE INDEX %s ON %s (%s)", name, this.name, columns));
+			execute(String.format("CREATE UNIQUE INDEX %s ON %s (%s)%s", name, this.name, columns, options));
 		}
 		else {
-			execute(String.format("CREATE INDEX %s ON %s (%s)", name, this.name, columns));
+			execute(String.format("CREATE INDEX %s ON %s (%s)%s", name, this.name, columns, options));
 		}
 		return new MysqlIndex(this, name, unique, false);
 	}
@@ -199,16 +204,68 @@ class MysqlTable implements Table {
 
 	@Override
 	public List<Trigger> listTriggers() throws SQLException {
-		// TODO: Add support for listing triggers.
-		return Lists.newArrayList();
+		String query = new QueryBuilder()
+				.append("SELECT trigger_name ")
+				.append("FROM information_schema.triggers ")
+				.append("WHERE event_object_schema = DATABASE() AND event_object_table = ?")
+				.toString();
+
+		List<Trigger> triggers = Lists.newArrayList();
+		try (PreparedStatement statement = connection.prepareStatement(query)) {
+			statement.setString(1, name);
+			ResultSet resultSet = statement.executeQuery();
+
+			while (resultSet.next()) {
+				String triggerName = resultSet.getString("trigger_name");
+				triggers.add(new MysqlTrigger(this, triggerName));
+			}
+		}
+
+		return triggers;
+	}
+
+	/**
+	 * MySQL allows only one trigger per event and timing, so a trigger is created for each of the three events,
+	 * suffixed with "_ins", "_upd" and "_del".
+	 */
+	@Override
+	public List<Trigger> createMirrorTriggers(String name, Table target, String key, Map<String, String> columns)
+			throws SQLException {
+
+		String replace = String.format("REPLACE INTO %s (%s) VALUES (%s)", target.getName(),
+				Joiner.on(", ").join(columns.values()),
+				columns.keySet().stream().map(column -> "NEW." + column).collect(Collectors.joining(", ")));
+		String delete = String.format("DELETE IGNORE FROM %s WHERE %s = OLD.%s", target.getName(), columns.get(key),
+				key);
+
+		execute(String.format("CREATE TRIGGER %s_ins AFTER INSERT ON %s FOR EACH ROW %s", name, this.name, replace));
+		execute(String.format("CREATE TRIGGER %s_upd AFTER UPDATE ON %s FOR EACH ROW BEGIN %s; %s; END", name,
+				this.name, delete, replace));
+		execute(String.format("CREATE TRIGGER %s_del AFTER DELETE ON %s FOR EACH ROW %s", name, this.name, delete));
+
+		return Lists.newArrayList(
+				new MysqlTrigger(this, name + "_ins"),
+				new MysqlTrigger(this, name + "_upd"),
+				new MysqlTrigger(this, name + "_del"));
+	}
+
+	/**
+	 * Copies the indices of this table as well. InnoDB moves the auto-increment counter past every key inserted
+	 * explicitly, so copied rows keep the counter in line with this table.
+	 */
+	@Override
+	public Table createShadowTable(String name) throws SQLException {
+		execute(String.format("CREATE TABLE %s LIKE %s", name, this.name));
+		return new MysqlTable(connection, parent, name);
 	}
 
 	@Override
 	public ForeignKey addForeignKey(String constraint, String[] columns, String referencedTable, String[] referencedColumns)
 			throws SQLException {
 
-		execute(String.format("ALTER TABLE %s ADD CONSTRAINT %s FOREIGN KEY (%s) REFERENCES %s (%s)", name, constraint,
-				Joiner.on(',').join(columns), referencedTable, Joiner.on(',').join(referencedColumns)));
+		execute(String.format("ALTER TABLE %s ADD CONSTRAINT %s FOREIGN KEY (%s) REFERENCES %s (%s)%s", name, constraint,
+				Joiner.on(',').join(columns), referencedTable, Joiner.on(',').join(referencedColumns),
+				getAlterClause(Change.ADD_FOREIGN_KEY)));
 
 		return new MysqlForeignKey(this, constraint);
 	}
@@ -222,6 +279,12 @@ class MysqlTable implements Table {
 		getParent().execute(query);
 	}
 
+	/**
+	 * @return The ALGORITHM and LOCK clauses to append to an ALTER TABLE statement performing the specified change.
+	 */
+	String getAlterClause(Change change) {
+		return parent.getOptions(change).toAlterTableClause();
+	}
 
 	/**
 	 * MySQL does not support invisible index.
@@ -229,7 +292,7 @@ class MysqlTable implements Table {
 	 */
 	@Override
 	public Index createInvisibleIndex(String name, boolean unique, String... columnNames) throws SQLException {
-		throw new RuntimeException("This feature is not supported by MySQL5-5");
+		throw new RuntimeException("This feature is not supported by MySQL");
 	}
 
 	/**
@@ -238,7 +301,7 @@ class MysqlTable implements Table {
 	 */
 	@Override
 	public Index createOnlineIndex(String name, boolean unique, String... columnNames) throws SQLException {
-		throw new RuntimeException("This feature is not supported by MySQL5-5");
+		throw new RuntimeException("This feature is not supported by MySQL");
 	}
 
 	/**
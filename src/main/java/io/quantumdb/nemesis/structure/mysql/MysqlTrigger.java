@@ -0,0 +1,36 @@
+package io.quantumdb.nemesis.structure.mysql;
+
+import java.sql.SQLException;
+
+import io.quantumdb.nemesis.structure.Trigger;
+
+class MysqlTrigger implements Trigger {
+
+	private final MysqlTable parent;
+	private final String name;
+
+	MysqlTrigger(MysqlTable parent, String name) {
+		this.parent = parent;
+		this.name = name;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public MysqlTable getParent() {
+		return parent;
+	}
+
+	@Override
+	public void drop() throws SQLException {
+		execute(String.format("DROP TRIGGER %s", name));
+	}
+
+	private void execute(String query) throws SQLException {
+		parent.getParent().execute(query);
+	}
+
+}
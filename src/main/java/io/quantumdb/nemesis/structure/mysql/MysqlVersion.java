@@ -0,0 +1,161 @@
+package io.quantumdb.nemesis.structure.mysql;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.common.base.Strings;
+import io.quantumdb.nemesis.structure.mysql.AlterOptions.Algorithm;
+import io.quantumdb.nemesis.structure.mysql.AlterOptions.Lock;
+
+/**
+ * The versions of MySQL which are supported, each with the ALGORITHM and LOCK clauses which perform every kind of
+ * structural change with the least impact that version offers.
+ */
+public enum MysqlVersion implements AlterStrategy {
+
+	/**
+	 * MySQL 5.5 does not accept ALGORITHM and LOCK clauses, and copies the table for most changes.
+	 */
+	MYSQL_55("5.5") {
+		@Override
+		public AlterOptions getOptions(Change change) {
+			return AlterOptions.DEFAULT;
+		}
+	},
+
+	/**
+	 * MySQL 5.6 introduced online DDL, which performs most changes in place while permitting concurrent writes.
+	 */
+	MYSQL_56("5.6") {
+		@Override
+		public AlterOptions getOptions(Change change) {
+			switch (change) {
+				case ADD_COLUMN:
+				case RENAME_COLUMN:
+				case SET_DEFAULT:
+				case SET_PRIMARY_KEY:
+				case DROP_COLUMN:
+				case DROP_FOREIGN_KEY:
+					return new AlterOptions(Algorithm.INPLACE, Lock.NONE);
+				case CREATE_INDEX:
+				case DROP_INDEX:
+					return new AlterOptions(Algorithm.INPLACE, Lock.DEFAULT);
+				case MODIFY_DATA_TYPE:
+				case DROP_PRIMARY_KEY_COLUMN:
+				case DROP_CONSTRAINT:
+					return new AlterOptions(Algorithm.DEFAULT, Lock.NONE);
+				case SET_NULLABLE:
+				case ADD_FOREIGN_KEY:
+					return new AlterOptions(Algorithm.DEFAULT, Lock.SHARED);
+				default:
+					return AlterOptions.DEFAULT;
+			}
+		}
+	},
+
+	/**
+	 * MySQL 5.7 can also rename indices in place. Like renaming a column, that only changes the metadata of the
+	 * table, but 5.7 lacks the INSTANT algorithm which 8.0 uses for such changes.
+	 */
+	MYSQL_57("5.7") {
+		@Override
+		public AlterOptions getOptions(Change change) {
+			switch (change) {
+				case RENAME_INDEX:
+					return new AlterOptions(Algorithm.INPLACE, Lock.NONE);
+				default:
+					return MYSQL_56.getOptions(change);
+			}
+		}
+	},
+
+	/**
+	 * MySQL 8.0 adds columns, and changes defaults and the names of indices by only changing the metadata of the
+	 * table. From 8.0.29 on it renames and drops columns this way as well, see {@link #getStrategy(String)} for older
+	 * releases. INSTANT does not accept a LOCK clause.
+	 */
+	MYSQL_80("8.0") {
+		@Override
+		public AlterOptions getOptions(Change change) {
+			switch (change) {
+				case ADD_COLUMN:
+				case RENAME_COLUMN:
+				case SET_DEFAULT:
+				case DROP_COLUMN:
+				case RENAME_INDEX:
+					return new AlterOptions(Algorithm.INSTANT, Lock.DEFAULT);
+				default:
+					return MYSQL_57.getOptions(change);
+			}
+		}
+	};
+
+	private static final Pattern RELEASE = Pattern.compile("(\\d+)\\.(\\d+)\\.(\\d+).*");
+	private static final int INSTANT_COLUMN_RELEASE = 29;
+
+	private final String name;
+
+	MysqlVersion(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * @param serverVersion The version the server reports, for instance "8.0.28-log".
+	 * @return The clauses with which the server can perform every kind of change. MySQL 8.0 before 8.0.29 cannot
+	 * rename or drop columns instantly, and does so in place instead.
+	 */
+	AlterStrategy getStrategy(String serverVersion) {
+		if (this != MYSQL_80 || getRelease(serverVersion) >= INSTANT_COLUMN_RELEASE) {
+			return this;
+		}
+
+		return change -> {
+			switch (change) {
+				case RENAME_COLUMN:
+				case DROP_COLUMN:
+					return MYSQL_57.getOptions(change);
+				default:
+					return MYSQL_80.getOptions(change);
+			}
+		};
+	}
+
+	/**
+	 * @return The third number of the version, for instance 28 for "8.0.28-log", or the largest integer if the
+	 * version cannot be parsed.
+	 */
+	private static int getRelease(String serverVersion) {
+		Matcher matcher = RELEASE.matcher(Strings.nullToEmpty(serverVersion).trim());
+		if (!matcher.matches()) {
+			return Integer.MAX_VALUE;
+		}
+		return Integer.parseInt(matcher.group(3));
+	}
+
+	/**
+	 * @return True if this version reports the stages of running statements in the performance schema.
+	 */
+	boolean supportsStages() {
+		return this != MYSQL_55;
+	}
+
+	/**
+	 * @return True if this version can rename an index without recreating it.
+	 */
+	boolean supportsIndexRename() {
+		return this == MYSQL_57 || this == MYSQL_80;
+	}
+
+	/**
+	 * @return True if this version can build indices and rebuild tables with multiple threads per statement.
+	 */
+	boolean supportsParallelDdl() {
+		return this == MYSQL_80;
+	}
+
+	@Override
+	public String toString() {
+		return "MySQL " + name;
+	}
+
+}
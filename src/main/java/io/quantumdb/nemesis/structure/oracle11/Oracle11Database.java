@@ -17,6 +17,7 @@ import com.google.common.collect.Lists;
 import io.quantumdb.nemesis.structure.ColumnDefinition;
 import io.quantumdb.nemesis.structure.Database;
 import io.quantumdb.nemesis.structure.DatabaseCredentials;
+import io.quantumdb.nemesis.structure.Progress;
 import io.quantumdb.nemesis.structure.QueryBuilder;
 import io.quantumdb.nemesis.structure.Sequence;
 import io.quantumdb.nemesis.structure.Table;
@@ -35,6 +36,7 @@ public class Oracle11Database implements Database {
 
 	private Connection connection;
 	private DatabaseCredentials credentials;
+	private int ddlParallelism;
 
 
 	@Override
@@ -172,14 +174,22 @@ public class Oracle11Database implements Database {
 		this.execute(query.toString());
 	}
 
-	private String getAutoIncrementTriggerName(String columnName, String tableName) {
+	String getAutoIncrementTriggerName(String columnName, String tableName) {
 		return "trg_autoinc_" + tableName + "_" + columnName;
 	}
 
-	private String getAutoIncrementSequenceName(String columnName, String tableName) {
+	String getAutoIncrementSequenceName(String columnName, String tableName) {
 		return "seq_autoinc_" + tableName + "_" + columnName;
 	}
 
+	boolean hasSequence(String name) throws SQLException {
+		String query = "SELECT sequence_name FROM user_sequences WHERE sequence_name = ?";
+		try (PreparedStatement statement = connection.prepareStatement(query)) {
+			statement.setString(1, name.toUpperCase());
+			return statement.executeQuery().next();
+		}
+	}
+
 	void execute(String query) throws SQLException {
 		query(query);
 		log.debug(query);
@@ -266,6 +276,47 @@ public class Oracle11Database implements Database {
 		}
 	}
 
+	/**
+	 * select opname, target, sofar, totalwork, units from v$session_longops;
+	 */
+	@Override
+	public List<Progress> sampleProgress() throws SQLException {
+		List<Progress> progress = Lists.newArrayList();
+		try (Statement statement = connection.createStatement()) {
+			ResultSet resultSet = statement.executeQuery("SELECT opname, target, sofar, totalwork, units "
+					+ "FROM v$session_longops WHERE sofar < totalwork");
+
+			while (resultSet.next()) {
+				String phase = resultSet.getString(1) + " " + Strings.nullToEmpty(resultSet.getString(2));
+				progress.add(new Progress(phase.trim(), resultSet.getLong(3), resultSet.getLong(4),
+						resultSet.getString(5)));
+			}
+		}
+		return progress;
+	}
+
+	/**
+	 * Oracle only applies the timeout to DDL statements, with a granularity of seconds.
+	 */
+	@Override
+	public void setLockTimeout(int millis) throws SQLException {
+		int seconds = millis > 0 ? (millis + 999) / 1000 : ORACLE_DDL_LOCK_TIMEOUT_IN_SECONDS;
+		execute("ALTER SESSION SET DDL_LOCK_TIMEOUT=" + seconds);
+	}
+
+	/**
+	 * Builds indices with a PARALLEL clause of the specified degree. Since Oracle keeps the degree as an attribute of
+	 * the index, which then also applies to queries, the index is set back to NOPARALLEL once it has been built.
+	 */
+	@Override
+	public void setDdlParallelism(int degree) throws SQLException {
+		this.ddlParallelism = degree;
+	}
+
+	int getDdlParallelism() {
+		return this.ddlParallelism;
+	}
+
 	@Override
 	public Connection getConnection() {
 		return this.connection;
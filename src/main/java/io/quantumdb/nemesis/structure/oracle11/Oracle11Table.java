@@ -8,7 +8,9 @@ import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Strings;
@@ -228,10 +230,15 @@ public class Oracle11Table implements Table {
 		String columns = Joiner.on(',').join(columnNames);
 		String invisibleOption = invisible ? "INVISIBLE" : "";
 		String onlineOption = online ? "ONLINE" : "";
+		int degree = getParent().getDdlParallelism();
+		String parallelOption = degree > 0 ? "PARALLEL " + degree : "";
 		if (unique) {
-			execute(String.format("CREATE UNIQUE INDEX %s ON %s (%s) %s %s", name, this.name, columns, invisibleOption, onlineOption));
+			execute(String.format("CREATE UNIQUE INDEX %s ON %s (%s) %s %s %s", name, this.name, columns, invisibleOption, onlineOption, parallelOption));
 		} else {
-			execute(String.format("CREATE INDEX %s ON %s (%s) %s %s", name, this.name, columns, invisibleOption, onlineOption));
+			execute(String.format("CREATE INDEX %s ON %s (%s) %s %s %s", name, this.name, columns, invisibleOption, onlineOption, parallelOption));
+		}
+		if (degree > 0) {
+			execute(String.format("ALTER INDEX %s NOPARALLEL", name));
 		}
 		return new Oracle11Index(this, name, unique, false);
 	}
@@ -337,6 +344,102 @@ public class Oracle11Table implements Table {
 		return triggers;
 	}
 
+	/**
+	 * CREATE OR REPLACE TRIGGER name AFTER INSERT OR UPDATE OR DELETE ON users FOR EACH ROW BEGIN ... END;
+	 */
+	@Override
+	public List<Trigger> createMirrorTriggers(String name, Table target, String key, Map<String, String> columns)
+			throws SQLException {
+
+		String insert = String.format("INSERT INTO %s (%s) VALUES (%s);", target.getName(),
+				Joiner.on(", ").join(columns.values()),
+				columns.keySet().stream().map(column -> ":new." + column).collect(Collectors.joining(", ")));
+
+		execute(new QueryBuilder()
+				.append("CREATE OR REPLACE TRIGGER " + name)
+				.append(" AFTER INSERT OR UPDATE OR DELETE ON " + this.name)
+				.append(" FOR EACH ROW")
+				.append(" BEGIN")
+				.append(" IF UPDATING OR DELETING THEN")
+				.append(" DELETE FROM " + target.getName() + " WHERE " + columns.get(key) + " = :old." + key + ";")
+				.append(" END IF;")
+				.append(" IF INSERTING OR UPDATING THEN ")
+				.append(insert)
+				.append(" END IF;")
+				.append(" END;")
+				.toString());
+
+		return Lists.newArrayList(new Oracle11Trigger(this, name));
+	}
+
+	/**
+	 * CREATE TABLE users_new AS SELECT * FROM users WHERE 1 = 0
+	 *
+	 * This copies the types and NOT NULL constraints of the columns, after which the primary key and the defaults
+	 * are added. Auto-increment columns are emulated with a sequence and a trigger, so the new table gets a trigger
+	 * which draws from the sequence of this table, but only for rows inserted without a key, so that copied rows
+	 * keep their keys.
+	 */
+	@Override
+	public Table createShadowTable(String name) throws SQLException {
+		execute(String.format("CREATE TABLE %s AS SELECT * FROM %s WHERE 1 = 0", name, this.name));
+
+		List<String> primaryKeyColumns = Lists.newArrayList();
+		String query = new QueryBuilder()
+				.append("SELECT cols.column_name FROM user_constraints cons ")
+				.append("JOIN user_cons_columns cols ON cons.constraint_name = cols.constraint_name ")
+				.append("WHERE cons.table_name = ? AND cons.constraint_type = 'P' ")
+				.append("ORDER BY cols.position")
+				.toString();
+
+		try (PreparedStatement statement = connection.prepareStatement(query)) {
+			statement.setString(1, this.name.toUpperCase());
+			ResultSet resultSet = statement.executeQuery();
+			while (resultSet.next()) {
+				primaryKeyColumns.add(resultSet.getString(1));
+			}
+		}
+
+		if (!primaryKeyColumns.isEmpty()) {
+			execute(String.format("ALTER TABLE %s ADD PRIMARY KEY (%s)", name, Joiner.on(", ").join(primaryKeyColumns)));
+		}
+
+		query = "SELECT column_name, data_default FROM user_tab_columns WHERE table_name = ? AND data_default IS NOT NULL";
+		List<String> defaults = Lists.newArrayList();
+		try (PreparedStatement statement = connection.prepareStatement(query)) {
+			statement.setString(1, this.name.toUpperCase());
+			ResultSet resultSet = statement.executeQuery();
+			while (resultSet.next()) {
+				String columnName = resultSet.getString("column_name");
+				String expression = resultSet.getString("data_default");
+				defaults.add(columnName + " DEFAULT " + expression.trim());
+			}
+		}
+
+		for (String columnDefault : defaults) {
+			execute(String.format("ALTER TABLE %s MODIFY (%s)", name, columnDefault));
+		}
+
+		for (String column : primaryKeyColumns) {
+			String sequenceName = getParent().getAutoIncrementSequenceName(column, this.name);
+			if (getParent().hasSequence(sequenceName)) {
+				execute(new QueryBuilder()
+						.append("CREATE OR REPLACE TRIGGER " + getParent().getAutoIncrementTriggerName(column, name))
+						.append(" BEFORE INSERT ON " + name)
+						.append(" FOR EACH ROW")
+						.append(" WHEN (new." + column + " IS NULL)")
+						.append(" BEGIN")
+						.append(" SELECT " + sequenceName + ".NEXTVAL")
+						.append(" INTO :new." + column)
+						.append(" FROM dual;")
+						.append(" END;")
+						.toString());
+			}
+		}
+
+		return new Oracle11Table(connection, parent, name);
+	}
+
 	/**
 	 * alter table cust_table add constraint fk_cust_name FOREIGN KEY (person_name) references person_table (person_name)
 	 */
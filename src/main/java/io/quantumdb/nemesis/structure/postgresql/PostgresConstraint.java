@@ -48,12 +48,22 @@ class PostgresConstraint implements Constraint {
 		getParent().getParent().execute(query);
 	}
 
+	/**
+	 * Constraints in Postgres are always enabled, so this does nothing. A constraint which was added as NOT VALID is
+	 * already enforced for new rows, which is what enabling it with the NOVALIDATE option means elsewhere.
+	 */
 	@Override
 	public void enable(String option) throws SQLException {
+		// Do nothing...
 	}
 
+	/**
+	 * Checks the existing rows against a constraint which was added as NOT VALID. This only takes a SHARE UPDATE
+	 * EXCLUSIVE lock on the table, which does not block reads or writes.
+	 */
 	@Override
 	public void validate() throws SQLException {
+		execute(String.format("ALTER TABLE %s VALIDATE CONSTRAINT %s", parent.getName(), name));
 	}
 
 }
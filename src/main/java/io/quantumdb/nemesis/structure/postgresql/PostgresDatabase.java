@@ -5,6 +5,7 @@ import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.sql.Savepoint;
 import java.sql.Statement;
 import java.util.List;
@@ -14,6 +15,7 @@ import com.google.common.collect.Lists;
 import io.quantumdb.nemesis.structure.ColumnDefinition;
 import io.quantumdb.nemesis.structure.Database;
 import io.quantumdb.nemesis.structure.DatabaseCredentials;
+import io.quantumdb.nemesis.structure.Progress;
 import io.quantumdb.nemesis.structure.QueryBuilder;
 import io.quantumdb.nemesis.structure.Sequence;
 import io.quantumdb.nemesis.structure.Table;
@@ -56,10 +58,8 @@ public class PostgresDatabase implements Database {
 	public boolean supports(Feature feature) {
 		switch (feature) {
 		case INVISIBLE_INDEX:
-		case ONLINE_INDEX:
 		case VIRTUAL_COLUMN:
 		case CONSTRAINT_DISABLE_OPTION:
-		case CONSTRAINT_NOVALIDATE_OPTION:
 			return false;
 		default:
 			return true;
@@ -110,6 +110,9 @@ public class PostgresDatabase implements Database {
 		}
 		catch (SQLException e) {
 			connection.rollback(save);
+			throw e;
+		}
+		finally {
 			connection.setAutoCommit(autoCommit);
 		}
 	}
@@ -203,6 +206,69 @@ public class PostgresDatabase implements Database {
 		}
 	}
 
+	@Override
+	public void setStatementTimeout(int millis) throws SQLException {
+		query("SET statement_timeout = " + millis);
+	}
+
+	@Override
+	public void setLockTimeout(int millis) throws SQLException {
+		query("SET lock_timeout = " + millis);
+	}
+
+	/**
+	 * Sets the number of parallel workers which help to build B-tree indices, on PostgreSQL 11 and newer. The process
+	 * of the connection takes part in the build as well, so a degree of n allows n - 1 workers. PostgreSQL may plan
+	 * fewer workers for small tables, and table rewrites by ALTER TABLE always run serially.
+	 */
+	@Override
+	public void setDdlParallelism(int degree) throws SQLException {
+		if (connection.getMetaData().getDatabaseMajorVersion() < 11) {
+			throw new SQLFeatureNotSupportedException("PostgreSQL builds indices in parallel as of version 11");
+		}
+		else if (degree > 0) {
+			query("SET max_parallel_maintenance_workers = " + (degree - 1));
+		}
+		else {
+			query("RESET max_parallel_maintenance_workers");
+		}
+	}
+
+	/**
+	 * Reports the progress of index builds and of table rewrites by CLUSTER and VACUUM FULL on PostgreSQL 12 and
+	 * newer. Other changes (such as rewrites by ALTER TABLE) report no progress, and their new relation is invisible
+	 * to other transactions until it commits. For those the growth of the database on disk is reported instead.
+	 */
+	@Override
+	public List<Progress> sampleProgress() throws SQLException {
+		List<Progress> progress = Lists.newArrayList();
+		try (Statement statement = connection.createStatement()) {
+			if (connection.getMetaData().getDatabaseMajorVersion() >= 12) {
+				ResultSet resultSet = statement.executeQuery(new QueryBuilder()
+						.append("SELECT 'create index on ' || c.relname || ': ' || p.phase, p.blocks_done, p.blocks_total ")
+						.append("FROM pg_stat_progress_create_index p JOIN pg_class c ON c.oid = p.relid ")
+						.append("UNION ALL ")
+						.append("SELECT lower(p.command) || ' ' || c.relname || ': ' || p.phase, p.heap_blks_scanned, ")
+						.append("p.heap_blks_total ")
+						.append("FROM pg_stat_progress_cluster p JOIN pg_class c ON c.oid = p.relid")
+						.toString());
+
+				while (resultSet.next()) {
+					progress.add(new Progress(resultSet.getString(1), resultSet.getLong(2), resultSet.getLong(3),
+							"blocks"));
+				}
+			}
+
+			if (progress.isEmpty()) {
+				ResultSet resultSet = statement.executeQuery("SELECT pg_database_size(current_database())");
+				if (resultSet.next()) {
+					progress.add(new Progress("database size", resultSet.getLong(1), 0, "bytes"));
+				}
+			}
+		}
+		return progress;
+	}
+
 	@Override
 	public Connection getConnection() {
 		return connection;
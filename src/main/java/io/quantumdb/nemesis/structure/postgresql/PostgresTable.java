@@ -6,6 +6,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import com.google.common.base.Joiner;
@@ -196,10 +197,10 @@ class PostgresTable implements Table {
 	public Index createIndex(String name, boolean unique, String... columnNames) throws SQLException {
 		String columns = Joiner.on(',').join(columnNames);
 		if (unique) {
-			execute(String.format("CREATE UNIQUE INDEX CONCURRENTLY %s ON %s (%s)", name, this.name, columns));
+			execute(String.format("CREATE UNIQUE INDEX %s ON %s (%s)", name, this.name, columns));
 		}
 		else {
-			execute(String.format("CREATE INDEX CONCURRENTLY %s ON %s (%s)", name, this.name, columns));
+			execute(String.format("CREATE INDEX %s ON %s (%s)", name, this.name, columns));
 		}
 		return new PostgresIndex(this, name, unique, false);
 	}
@@ -284,6 +285,55 @@ class PostgresTable implements Table {
 		return triggers;
 	}
 
+	/**
+	 * Creates a single trigger which calls a PL/pgSQL function of the same name for every modified row.
+	 */
+	@Override
+	public List<Trigger> createMirrorTriggers(String name, Table target, String key, Map<String, String> columns)
+			throws SQLException {
+
+		String insert = String.format("INSERT INTO %s (%s) VALUES (%s);", target.getName(),
+				Joiner.on(", ").join(columns.values()),
+				columns.keySet().stream().map(column -> "NEW." + column).collect(Collectors.joining(", ")));
+
+		execute(new QueryBuilder()
+				.append("CREATE OR REPLACE FUNCTION " + name + "() RETURNS TRIGGER AS $$ ")
+				.append("BEGIN ")
+				.append("  IF TG_OP IN ('UPDATE', 'DELETE') THEN ")
+				.append("    DELETE FROM " + target.getName() + " WHERE " + columns.get(key) + " = OLD." + key + "; ")
+				.append("  END IF; ")
+				.append("  IF TG_OP IN ('INSERT', 'UPDATE') THEN ")
+				.append("    " + insert + " ")
+				.append("  END IF; ")
+				.append("  RETURN NULL; ")
+				.append("END; ")
+				.append("$$ LANGUAGE plpgsql")
+				.toString());
+
+		execute(String.format("CREATE TRIGGER %s AFTER INSERT OR UPDATE OR DELETE ON %s "
+				+ "FOR EACH ROW EXECUTE PROCEDURE %s()", name, this.name, name));
+
+		return Lists.newArrayList(new PostgresTrigger(this, name));
+	}
+
+	/**
+	 * Copies the defaults, constraints and indices of this table as well. The defaults of auto-increment columns
+	 * refer to the sequences of this table, which are detached from it so that they survive whichever of the two
+	 * tables is dropped.
+	 */
+	@Override
+	public Table createShadowTable(String name) throws SQLException {
+		execute(String.format("CREATE TABLE %s (LIKE %s INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING INDEXES)",
+				name, this.name));
+
+		for (Column column : listColumns()) {
+			if (column.isAutoIncrement()) {
+				execute("ALTER SEQUENCE " + this.name + "_" + column.getName() + "_seq OWNED BY NONE");
+			}
+		}
+		return new PostgresTable(connection, parent, name);
+	}
+
 	@Override
 	public PostgresForeignKey addForeignKey(String constraint, String[] columns, String referencedTable, String[] referencedColumns)
 			throws SQLException {
@@ -319,21 +369,34 @@ class PostgresTable implements Table {
 	}
 
 	/**
-	 * postgres does not support ONLINE index creation.
-	 * We expect that this should have been checked via {@link Operation#isSupportedBy(io.quantumdb.nemesis.structure.Database)}
+	 * Builds the index without blocking writes to the table. This scans the table twice and waits for every
+	 * transaction which could still use the old snapshot, so it takes longer than {@link #createIndex}.
 	 */
 	@Override
 	public Index createOnlineIndex(String name, boolean unique, String... columnNames) throws SQLException {
-		throw new RuntimeException("This feature is not supported by Postgres");
+		String columns = Joiner.on(',').join(columnNames);
+		String uniqueOption = unique ? "UNIQUE " : "";
+		execute(String.format("CREATE %sINDEX CONCURRENTLY %s ON %s (%s)", uniqueOption, name, this.name, columns));
+		return new PostgresIndex(this, name, unique, false);
 	}
 
 	/**
-	 * Postgres does not distinguish between enabled/disabled constraint. Hence, just ignore this option...
+	 * Postgres cannot disable a constraint. A constraint which is not enabled is added as NOT VALID instead: it is
+	 * enforced for new rows, but the existing rows are only checked once it is validated (which does not block
+	 * writes to the table).
 	 */
 	@Override
 	public ForeignKey addForeignKey(String constraint, String[] columns, String referencedTable,
 			String[] referencedColumns, boolean enabled) throws SQLException {
-		return addForeignKey(constraint, columns, referencedTable, referencedColumns);
+
+		if (enabled) {
+			return addForeignKey(constraint, columns, referencedTable, referencedColumns);
+		}
+
+		execute(String.format("ALTER TABLE %s ADD CONSTRAINT %s FOREIGN KEY (%s) REFERENCES %s (%s) NOT VALID", name,
+				constraint, Joiner.on(',').join(columns), referencedTable, Joiner.on(',').join(referencedColumns)));
+
+		return new PostgresForeignKey(this, constraint);
 	}
 
 }
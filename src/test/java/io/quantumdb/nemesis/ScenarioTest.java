@@ -0,0 +1,128 @@
+package io.quantumdb.nemesis;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+import io.quantumdb.nemesis.profiler.ProfilerConfig;
+import io.quantumdb.nemesis.profiler.WorkloadMix.Transaction;
+import io.quantumdb.nemesis.profiler.generators.RowGenerator;
+import io.quantumdb.nemesis.structure.ColumnDefinition;
+import io.quantumdb.nemesis.structure.Database;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ScenarioTest {
+
+	@Test
+	public void appliesDefaults() {
+		Scenario scenario = Scenario.parse(properties("backends", "POSTGRESQL, MYSQL_80"));
+
+		Assert.assertEquals(Arrays.asList(Database.Type.POSTGRESQL, Database.Type.MYSQL_80), scenario.getBackends());
+		Assert.assertEquals(10_000_000, scenario.getRows());
+		Assert.assertTrue(scenario.isPrepare());
+		Assert.assertEquals(Collections.singletonList("naive"), scenario.getMethods());
+		Assert.assertEquals(Collections.emptyList(), scenario.getScaling());
+		Assert.assertFalse(scenario.isConcurrent());
+		Assert.assertNull(scenario.getConfig().getSteadyState());
+		Assert.assertNull(scenario.getConfig().getThrottle());
+	}
+
+	@Test
+	public void parsesWorkersAndCriteria() {
+		Scenario scenario = Scenario.parse(properties(
+				"backends", "H2",
+				"rows", "1_000",
+				"methods", "naive, backfill",
+				"workers.read", "4",
+				"workers.mixed", "2",
+				"workers.mix", "read-update: 3, delete: 1",
+				"steadystate", "true",
+				"steadystate.samples", "7",
+				"throttle.latency", "50",
+				"throttle.workers", "SelectWorker",
+				"scaling", "1_000, 10_000"));
+
+		Assert.assertEquals(1_000, scenario.getRows());
+		Assert.assertEquals(Arrays.asList("naive", "backfill"), scenario.getMethods());
+		Assert.assertEquals(Arrays.asList(1_000, 10_000), scenario.getScaling());
+
+		ProfilerConfig config = scenario.getConfig();
+		Assert.assertEquals(4, config.getReadWorkers());
+		Assert.assertEquals(2, config.getMixedWorkers());
+		Assert.assertEquals(3, config.getWorkloadMix().getWeight(Transaction.READ_UPDATE));
+		Assert.assertEquals(1, config.getWorkloadMix().getWeight(Transaction.DELETE));
+		Assert.assertEquals(0, config.getWorkloadMix().getWeight(Transaction.SELECT));
+		Assert.assertEquals(7, config.getSteadyState().getSamples());
+		Assert.assertEquals(50, config.getThrottle().getTarget());
+		Assert.assertEquals(Collections.singletonList("SelectWorker"), config.getThrottle().getWorkers());
+	}
+
+	@Test
+	public void configuresEveryMethodSeparately() {
+		Scenario scenario = Scenario.parse(properties("backends", "H2", "fleet.tables", "2"));
+
+		ProfilerConfig fleet = scenario.getConfig("fleet");
+		ProfilerConfig naive = scenario.getConfig("naive");
+
+		Assert.assertEquals(Arrays.asList("fleet_00001", "fleet_00002"), fleet.getTables());
+		Assert.assertEquals(Collections.singletonList("users"), naive.getTables());
+		Assert.assertEquals(Collections.singletonList("users"), scenario.getConfig().getTables());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void requiresBackends() {
+		Scenario.parse(properties("rows", "1000"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsMixEntriesWithoutWeight() {
+		Scenario.parse(properties("backends", "H2", "workers.mix", "select"));
+	}
+
+	@Test
+	public void parsesColumnsAfterTheName() {
+		RowGenerator rows = Scenario.parseColumns(
+				"bio: text(20, 200), essay: text(1000, 200, 8_000), age: number(18, 100), "
+						+ "joined: timestamp(0, 1000000), contact: email");
+
+		List<String> names = rows.getColumns().stream()
+				.map(ColumnDefinition::getName)
+				.collect(Collectors.toList());
+		List<String> types = rows.getColumns().stream()
+				.map(ColumnDefinition::getType)
+				.collect(Collectors.toList());
+
+		Assert.assertEquals(Arrays.asList("name", "bio", "essay", "age", "joined", "contact"), names);
+		Assert.assertEquals("varchar(200)", types.get(1));
+		Assert.assertEquals("text", types.get(2));
+		Assert.assertEquals("bigint", types.get(3));
+		Assert.assertEquals("timestamp", types.get(4));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsUnknownGenerators() {
+		Scenario.parseColumns("bio: blob(20)");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsGeneratorsWithTheWrongArguments() {
+		Scenario.parseColumns("age: number(18)");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsMalformedColumns() {
+		Scenario.parseColumns("bio text(20, 200)");
+	}
+
+	private static Properties properties(String... entries) {
+		Properties properties = new Properties();
+		for (int i = 0; i < entries.length; i += 2) {
+			properties.setProperty(entries[i], entries[i + 1]);
+		}
+		return properties;
+	}
+
+}
@@ -2,6 +2,7 @@ package io.quantumdb.nemesis.backends;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
 import com.google.common.base.Strings;
 import io.quantumdb.nemesis.operations.DefaultOperations;
@@ -12,6 +13,7 @@ import io.quantumdb.nemesis.structure.Database;
 import io.quantumdb.nemesis.structure.Database.Type;
 import io.quantumdb.nemesis.structure.DatabaseCredentials;
 import lombok.extern.slf4j.Slf4j;
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -28,7 +30,13 @@ public class BackendTest {
 				{ Type.MYSQL_55, new DatabaseCredentials("jdbc:mysql://localhost", "nemesis",
 						get("MYSQL_USER", "root"), get("MYSQL_PASSWORD", "root")) },
 				{ Type.MYSQL_56, new DatabaseCredentials("jdbc:mysql://localhost", "nemesis",
-						get("MYSQL_USER", "root"), get("MYSQL_PASSWORD", "root")) }
+						get("MYSQL_USER", "root"), get("MYSQL_PASSWORD", "root")) },
+				{ Type.MYSQL_57, new DatabaseCredentials("jdbc:mysql://localhost", "nemesis",
+						get("MYSQL_USER", "root"), get("MYSQL_PASSWORD", "root")) },
+				{ Type.MYSQL_80, new DatabaseCredentials("jdbc:mysql://localhost", "nemesis",
+						get("MYSQL_USER", "root"), get("MYSQL_PASSWORD", "root")) },
+				{ Type.H2, new DatabaseCredentials("jdbc:h2:mem", "nemesis", "sa", "") },
+				{ Type.FAKE, new DatabaseCredentials("fake://localhost", "nemesis", "", "") }
 		});
 	}
 
@@ -58,7 +66,8 @@ public class BackendTest {
 		Profiler profiler = new Profiler(config, type, credentials, new DefaultOperations().all(), 50, 50);
 
 		try {
-			profiler.profile();
+			List<String> failures = profiler.profile();
+			Assert.assertTrue("Failed operations: " + failures, failures.isEmpty());
 		}
 		catch (Exception e) {
 			log.error(e.getMessage(), e);
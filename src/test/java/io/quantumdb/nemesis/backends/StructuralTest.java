@@ -3,8 +3,10 @@ package io.quantumdb.nemesis.backends;
 import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
 import io.quantumdb.nemesis.structure.ColumnDefinition;
 import io.quantumdb.nemesis.structure.Database;
 import io.quantumdb.nemesis.structure.Database.Feature;
@@ -12,6 +14,7 @@ import io.quantumdb.nemesis.structure.Database.Type;
 import io.quantumdb.nemesis.structure.DatabaseCredentials;
 import io.quantumdb.nemesis.structure.Table;
 import io.quantumdb.nemesis.structure.TableDefinition;
+import io.quantumdb.nemesis.structure.Trigger;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.After;
 import org.junit.Assert;
@@ -35,7 +38,13 @@ public class StructuralTest {
 				{ Type.MYSQL_55, new DatabaseCredentials("jdbc:mysql://localhost", "nemesis",
 						get("MYSQL_USER", "root"), get("MYSQL_PASSWORD", "root")) },
 				{ Type.MYSQL_56, new DatabaseCredentials("jdbc:mysql://localhost", "nemesis",
-						get("MYSQL_USER", "root"), get("MYSQL_PASSWORD", "root")) }
+						get("MYSQL_USER", "root"), get("MYSQL_PASSWORD", "root")) },
+				{ Type.MYSQL_57, new DatabaseCredentials("jdbc:mysql://localhost", "nemesis",
+						get("MYSQL_USER", "root"), get("MYSQL_PASSWORD", "root")) },
+				{ Type.MYSQL_80, new DatabaseCredentials("jdbc:mysql://localhost", "nemesis",
+						get("MYSQL_USER", "root"), get("MYSQL_PASSWORD", "root")) },
+				{ Type.H2, new DatabaseCredentials("jdbc:h2:mem", "nemesis", "sa", "") },
+				{ Type.FAKE, new DatabaseCredentials("fake://localhost", "nemesis", "", "") }
 		});
 	}
 
@@ -305,4 +314,32 @@ public class StructuralTest {
 				.hasIndex("test_name2_idx"));
 	}
 
+	@Test
+	public void testCreatingShadowTable() throws SQLException {
+		testTableCreation();
+		database.getTable(TABLE_NAME)
+				.createShadowTable("test_shadow");
+
+		Table shadow = database.getTable("test_shadow");
+		Assert.assertTrue(shadow.getColumn("id").isIdentity());
+		Assert.assertFalse(shadow.getColumn("name").isNullable());
+	}
+
+	@Test
+	public void testCreatingAndDroppingMirrorTriggers() throws SQLException {
+		testCreatingShadowTable();
+
+		Table table = database.getTable(TABLE_NAME);
+		Map<String, String> columns = ImmutableMap.of("id", "id", "name", "name");
+		List<Trigger> triggers = table.createMirrorTriggers("test_mirror", database.getTable("test_shadow"), "id",
+				columns);
+
+		Assert.assertEquals(triggers.size(), table.listTriggers().size());
+
+		for (Trigger trigger : triggers) {
+			trigger.drop();
+		}
+		Assert.assertTrue(table.listTriggers().isEmpty());
+	}
+
 }
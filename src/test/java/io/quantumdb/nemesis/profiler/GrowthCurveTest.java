@@ -0,0 +1,72 @@
+package io.quantumdb.nemesis.profiler;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GrowthCurveTest {
+
+	private static final double DELTA = 1e-9;
+
+	private static final double[] ROWS = { 1_000_000, 2_000_000, 4_000_000, 8_000_000 };
+
+	@Test
+	public void fitsLinearGrowth() {
+		GrowthCurve curve = GrowthCurve.fit(ROWS, new double[] { 15, 25, 45, 85 });
+
+		Assert.assertEquals(5, curve.getIntercept(), 1e-6);
+		Assert.assertEquals(1e-5, curve.getSlope(), DELTA);
+		Assert.assertEquals(1, curve.getRSquared(), DELTA);
+		Assert.assertEquals("linear", curve.getGrowth());
+	}
+
+	@Test
+	public void fitsConstantGrowth() {
+		GrowthCurve curve = GrowthCurve.fit(ROWS, new double[] { 7, 7, 7, 7 });
+
+		Assert.assertEquals(7, curve.getIntercept(), DELTA);
+		Assert.assertEquals(0, curve.getSlope(), DELTA);
+		Assert.assertEquals(0, curve.getExponent(), DELTA);
+		Assert.assertEquals(1, curve.getRSquared(), DELTA);
+		Assert.assertEquals("constant", curve.getGrowth());
+	}
+
+	@Test
+	public void fitsTheExponentOnALogLogScale() {
+		double[] sublinear = new double[ROWS.length];
+		double[] quadratic = new double[ROWS.length];
+		for (int i = 0; i < ROWS.length; i++) {
+			sublinear[i] = Math.sqrt(ROWS[i]);
+			quadratic[i] = ROWS[i] * ROWS[i] / 1e9;
+		}
+
+		GrowthCurve curve = GrowthCurve.fit(ROWS, sublinear);
+		Assert.assertEquals(0.5, curve.getExponent(), DELTA);
+		Assert.assertEquals("sublinear", curve.getGrowth());
+
+		curve = GrowthCurve.fit(ROWS, quadratic);
+		Assert.assertEquals(2, curve.getExponent(), DELTA);
+		Assert.assertEquals("superlinear", curve.getGrowth());
+	}
+
+	@Test
+	public void leavesPointsWithoutRowsOrValueOutOfTheExponent() {
+		GrowthCurve curve = GrowthCurve.fit(new double[] { 0, 1000, 2000, 4000 }, new double[] { 3, 10, 20, 40 });
+
+		Assert.assertEquals(1, curve.getExponent(), DELTA);
+	}
+
+	@Test
+	public void fitsASinglePointAsAConstant() {
+		GrowthCurve curve = GrowthCurve.fit(new double[] { 1000 }, new double[] { 12 });
+
+		Assert.assertEquals(12, curve.getIntercept(), DELTA);
+		Assert.assertEquals(0, curve.getSlope(), DELTA);
+		Assert.assertEquals(0, curve.getExponent(), DELTA);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsMismatchedPoints() {
+		GrowthCurve.fit(new double[] { 1, 2 }, new double[] { 1 });
+	}
+
+}
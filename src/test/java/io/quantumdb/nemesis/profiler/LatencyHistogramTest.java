@@ -0,0 +1,58 @@
+package io.quantumdb.nemesis.profiler;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void computesPercentilesOfTheWindow() {
+		long[] previous = new long[LatencyHistogram.MAXIMUM_LATENCY + 1];
+		long[] current = new long[LatencyHistogram.MAXIMUM_LATENCY + 1];
+		current[1] = 50;
+		current[5] = 49;
+		current[100] = 1;
+
+		Assert.assertEquals(1, LatencyHistogram.percentile(current, previous, 0.5));
+		Assert.assertEquals(5, LatencyHistogram.percentile(current, previous, 0.99));
+		Assert.assertEquals(100, LatencyHistogram.percentile(current, previous, 0.995));
+		Assert.assertEquals(100, LatencyHistogram.percentile(current, previous, 1));
+	}
+
+	@Test
+	public void ignoresQueriesRecordedBeforeThePreviousSnapshot() {
+		long[] previous = new long[LatencyHistogram.MAXIMUM_LATENCY + 1];
+		long[] current = new long[LatencyHistogram.MAXIMUM_LATENCY + 1];
+		previous[1] = 1000;
+		current[1] = 1000;
+		current[20] = 10;
+
+		Assert.assertEquals(20, LatencyHistogram.percentile(current, previous, 0.5));
+	}
+
+	@Test
+	public void reportsNoPercentileWithoutQueries() {
+		long[] snapshot = new long[LatencyHistogram.MAXIMUM_LATENCY + 1];
+		snapshot[3] = 7;
+
+		Assert.assertEquals(-1, LatencyHistogram.percentile(snapshot, snapshot.clone(), 0.99));
+	}
+
+	@Test
+	public void countsLatenciesOutsideTheRangeInTheOuterBuckets() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(-5);
+		histogram.record(3);
+		histogram.record(3);
+		histogram.record(LatencyHistogram.MAXIMUM_LATENCY * 2);
+
+		long[] snapshot = new long[LatencyHistogram.MAXIMUM_LATENCY + 1];
+		histogram.addTo(snapshot);
+		histogram.addTo(snapshot);
+
+		Assert.assertEquals(2, snapshot[0]);
+		Assert.assertEquals(4, snapshot[3]);
+		Assert.assertEquals(2, snapshot[LatencyHistogram.MAXIMUM_LATENCY]);
+	}
+
+}
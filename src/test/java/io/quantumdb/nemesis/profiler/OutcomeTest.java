@@ -0,0 +1,90 @@
+package io.quantumdb.nemesis.profiler;
+
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTimeoutException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class OutcomeTest {
+
+	@Test
+	public void classifiesDeadlocks() {
+		assertOutcome(Outcome.DEADLOCK, new SQLException("deadlock detected", "40P01"));
+		assertOutcome(Outcome.DEADLOCK, new SQLException("Deadlock found", "40001", 1213));
+		assertOutcome(Outcome.DEADLOCK, new SQLException("ORA-00060", "61000", 60));
+	}
+
+	@Test
+	public void classifiesLockTimeouts() {
+		assertOutcome(Outcome.LOCK_TIMEOUT, new SQLException("canceling statement due to lock timeout", "55P03"));
+		assertOutcome(Outcome.LOCK_TIMEOUT, new SQLException("Lock wait timeout exceeded", "HY000", 1205));
+		assertOutcome(Outcome.LOCK_TIMEOUT, new SQLException("ORA-00054", "61000", 54));
+		assertOutcome(Outcome.LOCK_TIMEOUT, new SQLException("Timeout trying to lock table", "HYT00", 50200));
+	}
+
+	@Test
+	public void classifiesTimeouts() {
+		assertOutcome(Outcome.TIMEOUT, new SQLTimeoutException("timed out"));
+		assertOutcome(Outcome.TIMEOUT, new SQLException("canceling statement due to statement timeout", "57014"));
+		assertOutcome(Outcome.TIMEOUT, new SQLException("ORA-01013", "72000", 1013));
+		assertOutcome(Outcome.TIMEOUT, new SQLException("Query execution was interrupted", "70100", 1317));
+		assertOutcome(Outcome.TIMEOUT, new SQLException("Maximum statement execution time exceeded", "HY000", 3024));
+	}
+
+	@Test
+	public void classifiesSerializationFailures() {
+		assertOutcome(Outcome.SERIALIZATION_FAILURE, new SQLException("could not serialize access", "40001"));
+	}
+
+	@Test
+	public void classifiesLostConnections() {
+		assertOutcome(Outcome.CONNECTION_LOST, new SQLException("An I/O error occurred", "08006"));
+		assertOutcome(Outcome.CONNECTION_LOST, new SQLNonTransientConnectionException("closed"));
+		assertOutcome(Outcome.CONNECTION_LOST, new SQLRecoverableException("reset"));
+	}
+
+	@Test
+	public void classifiesMissingObjects() {
+		assertOutcome(Outcome.MISSING_OBJECT, new SQLException("relation does not exist", "42P01"));
+		assertOutcome(Outcome.MISSING_OBJECT, new SQLException("column does not exist", "42703"));
+		assertOutcome(Outcome.MISSING_OBJECT, new SQLException("Table doesn't exist", "42S02", 1146));
+		assertOutcome(Outcome.MISSING_OBJECT, new SQLException("Unknown column", "42S22", 1054));
+		assertOutcome(Outcome.MISSING_OBJECT, new SQLException("ORA-00942", "42000", 942));
+	}
+
+	@Test
+	public void classifiesConstraintViolations() {
+		assertOutcome(Outcome.CONSTRAINT_VIOLATION, new SQLException("duplicate key value", "23505"));
+		assertOutcome(Outcome.CONSTRAINT_VIOLATION, new SQLException("Cannot be null", "23000", 1048));
+	}
+
+	@Test
+	public void classifiesUnsupportedChanges() {
+		assertOutcome(Outcome.UNSUPPORTED, new SQLFeatureNotSupportedException("not supported"));
+		assertOutcome(Outcome.UNSUPPORTED, new SQLException("ALGORITHM=INPLACE is not supported", "0A000", 1846));
+		assertOutcome(Outcome.UNSUPPORTED, new SQLException("LOCK=NONE is not supported", "HY000", 1845));
+		assertOutcome(Outcome.UNSUPPORTED, new SQLException("feature not supported", "0A000"));
+	}
+
+	@Test
+	public void classifiesEverythingElseAsOther() {
+		assertOutcome(Outcome.OTHER, new SQLException("syntax error", "42601"));
+		assertOutcome(Outcome.OTHER, new SQLException("unknown"));
+	}
+
+	@Test
+	public void onlySuccessIsNoFailure() {
+		for (Outcome outcome : Outcome.values()) {
+			Assert.assertEquals(outcome != Outcome.SUCCESS, outcome.isFailure());
+		}
+	}
+
+	private static void assertOutcome(Outcome expected, SQLException e) {
+		Assert.assertEquals(e.getMessage(), expected, Outcome.classify(e));
+	}
+
+}
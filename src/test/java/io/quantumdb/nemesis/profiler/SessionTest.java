@@ -0,0 +1,99 @@
+package io.quantumdb.nemesis.profiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.quantumdb.nemesis.LogLines;
+import io.quantumdb.nemesis.Splitter;
+import io.quantumdb.nemesis.operations.BackfillOperations;
+import io.quantumdb.nemesis.structure.Database.Type;
+import io.quantumdb.nemesis.structure.DatabaseCredentials;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SessionTest {
+
+	private static final DatabaseCredentials CREDENTIALS = new DatabaseCredentials(
+			"fake://localhost?query=uniform(1,3)&seed=1", "session", "", "");
+
+	private static final Pattern ROWS = Pattern.compile("\\brows=(\\d+)");
+
+	@Rule
+	public TemporaryFolder logs = new TemporaryFolder();
+
+	private DatabaseStructure structure;
+
+	@Before
+	public void setUp() throws Exception {
+		structure = new DatabaseStructure(Type.FAKE, CREDENTIALS);
+		structure.dropStructure();
+		structure.prepareStructureAndRows(100);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		structure.dropStructure();
+	}
+
+	@Test
+	public void writesOperationLogPhasesAndSummary() throws Exception {
+		ProfilerConfig config = new ProfilerConfig(1, 1, 1, 1);
+		Session session = new Session(Type.FAKE, config, CREDENTIALS, 1500, 1500, logs.getRoot());
+
+		File folder = session.start(new BackfillOperations().addNonNullableColumn());
+		Assert.assertNotNull(folder);
+
+		List<String> operation = read(new File(folder, "OPERATION.log"));
+		Assert.assertEquals(1, operation.size());
+		Assert.assertEquals("Operation", LogLines.getWorkerType(operation.get(0)));
+		Assert.assertEquals(Outcome.SUCCESS, LogLines.getOutcome(operation.get(0)));
+		Assert.assertTrue(LogLines.getQueryStart(operation.get(0)) >= 1500);
+
+		List<String> phases = read(new File(folder, "PHASES.tsv"));
+		Assert.assertEquals(1, countPhases(phases, "expand"));
+		Assert.assertEquals(1, countPhases(phases, "backfill"));
+		Assert.assertEquals(1, countPhases(phases, "contract"));
+		Assert.assertTrue(countPhases(phases, "backfill-chunk") > 0);
+		Assert.assertTrue(getBackfilledRows(phases) > 0);
+
+		Splitter.main(new String[] { new File(logs.getRoot(), Type.FAKE.name()).getPath() });
+
+		List<String> summary = read(new File(folder, "SUMMARY.tsv"));
+		Assert.assertTrue(summary.get(0).startsWith("worker\tphase\tqueries"));
+		for (String worker : new String[] { "SelectWorker", "UpdateWorker", "InsertWorker", "DeleteWorker" }) {
+			Assert.assertTrue("No summary of: " + worker, summary.stream()
+					.anyMatch(row -> row.startsWith(worker + "\tpre\t")));
+		}
+	}
+
+	private static List<String> read(File file) throws IOException {
+		Assert.assertTrue("Missing: " + file.getName(), file.isFile());
+		return Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+	}
+
+	private static long countPhases(List<String> phases, String name) {
+		return phases.stream()
+				.filter(phase -> phase.startsWith(name + "\t"))
+				.count();
+	}
+
+	private static long getBackfilledRows(List<String> phases) {
+		for (String phase : phases) {
+			Matcher matcher = ROWS.matcher(phase);
+			if (phase.startsWith("backfill\t") && matcher.find()) {
+				return Long.parseLong(matcher.group(1));
+			}
+		}
+		throw new AssertionError("No backfill phase with a number of rows");
+	}
+
+}
@@ -0,0 +1,82 @@
+package io.quantumdb.nemesis.profiler;
+
+import io.quantumdb.nemesis.profiler.LiveMetrics.Sample;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SteadyStateDetectorTest {
+
+	private SteadyStateDetector detector;
+
+	@Before
+	public void setUp() {
+		SteadyStateCriterion criterion = new SteadyStateCriterion();
+		criterion.setSamples(3);
+		criterion.setTolerance(0.1);
+		detector = new SteadyStateDetector(criterion);
+	}
+
+	@Test
+	public void isNotSteadyUntilEnoughSamplesWereTaken() {
+		detector.add(new Sample(100, 10));
+		detector.add(new Sample(100, 10));
+		Assert.assertFalse(detector.isSteady());
+
+		detector.add(new Sample(100, 10));
+		Assert.assertTrue(detector.isSteady());
+	}
+
+	@Test
+	public void acceptsSamplesWithinTheToleranceOfTheirMean() {
+		detector.add(new Sample(95, 10.5));
+		detector.add(new Sample(100, 10));
+		detector.add(new Sample(105, 9.5));
+
+		Assert.assertTrue(detector.isSteady());
+		Assert.assertEquals(100, detector.getAverage().getThroughput(), 1e-9);
+		Assert.assertEquals(10, detector.getAverage().getLatency(), 1e-9);
+	}
+
+	@Test
+	public void rejectsAnOutlierUntilItLeavesTheWindow() {
+		detector.add(new Sample(150, 10));
+		detector.add(new Sample(100, 10));
+		detector.add(new Sample(100, 10));
+		Assert.assertFalse(detector.isSteady());
+
+		detector.add(new Sample(100, 10));
+		Assert.assertTrue(detector.isSteady());
+	}
+
+	@Test
+	public void acceptsSmallLatenciesWithinAMillisecond() {
+		detector.add(new Sample(100, 0.5));
+		detector.add(new Sample(100, 1.5));
+		detector.add(new Sample(100, 1.0));
+
+		Assert.assertTrue(detector.isSteady());
+	}
+
+	@Test
+	public void comparesSamplesWithABaseline() {
+		for (int i = 0; i < 3; i++) {
+			detector.add(new Sample(200, 10));
+		}
+
+		Assert.assertTrue(detector.isSteady());
+		Assert.assertFalse(detector.isSteady(new Sample(100, 10)));
+		Assert.assertTrue(detector.isSteady(new Sample(190, 10)));
+	}
+
+	@Test
+	public void forgetsSamplesWhenCleared() {
+		for (int i = 0; i < 3; i++) {
+			detector.add(new Sample(100, 10));
+		}
+		detector.clear();
+
+		Assert.assertFalse(detector.isSteady());
+	}
+
+}
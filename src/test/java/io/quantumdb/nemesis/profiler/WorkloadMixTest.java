@@ -0,0 +1,71 @@
+package io.quantumdb.nemesis.profiler;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import io.quantumdb.nemesis.profiler.WorkloadMix.Transaction;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WorkloadMixTest {
+
+	private static final int DRAWS = 100_000;
+
+	@Test
+	public void picksTransactionsInProportionToTheirWeights() {
+		Map<Transaction, Integer> counts = draw(WorkloadMix.defaultMix());
+
+		Assert.assertEquals(0.80, fraction(counts, Transaction.SELECT), 0.01);
+		Assert.assertEquals(0.10, fraction(counts, Transaction.UPDATE), 0.01);
+		Assert.assertEquals(0.05, fraction(counts, Transaction.INSERT), 0.01);
+		Assert.assertEquals(0.05, fraction(counts, Transaction.DELETE), 0.01);
+		Assert.assertEquals(0, fraction(counts, Transaction.READ_UPDATE), 0);
+	}
+
+	@Test
+	public void replacesThePreviousWeight() {
+		WorkloadMix mix = new WorkloadMix()
+				.setWeight(Transaction.SELECT, 10)
+				.setWeight(Transaction.READ_UPDATE, 5)
+				.setWeight(Transaction.SELECT, 0);
+
+		Assert.assertEquals(1, fraction(draw(mix), Transaction.READ_UPDATE), 0);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void cannotPickFromAnEmptyMix() {
+		new WorkloadMix().setWeight(Transaction.SELECT, 0).pick(new SplittableRandom(1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNegativeWeights() {
+		new WorkloadMix().setWeight(Transaction.UPDATE, -1);
+	}
+
+	@Test
+	public void namesTransactionsAsInScenarioFiles() {
+		Assert.assertEquals(Transaction.READ_UPDATE, Transaction.fromName("read-update"));
+		Assert.assertEquals(Transaction.DELETE, Transaction.fromName("DELETE"));
+		Assert.assertEquals("select:80, update:10, insert:5, delete:5", WorkloadMix.defaultMix().toString());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsUnknownTransactions() {
+		Transaction.fromName("merge");
+	}
+
+	private static Map<Transaction, Integer> draw(WorkloadMix mix) {
+		SplittableRandom random = new SplittableRandom(42);
+		Map<Transaction, Integer> counts = new EnumMap<>(Transaction.class);
+		for (int i = 0; i < DRAWS; i++) {
+			counts.merge(mix.pick(random), 1, Integer::sum);
+		}
+		return counts;
+	}
+
+	private static double fraction(Map<Transaction, Integer> counts, Transaction transaction) {
+		return counts.getOrDefault(transaction, 0) / (double) DRAWS;
+	}
+
+}
@@ -0,0 +1,68 @@
+package io.quantumdb.nemesis.structure.mysql;
+
+import io.quantumdb.nemesis.structure.mysql.AlterOptions.Algorithm;
+import io.quantumdb.nemesis.structure.mysql.AlterOptions.Lock;
+import io.quantumdb.nemesis.structure.mysql.AlterStrategy.Change;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MysqlVersionTest {
+
+	private static final AlterOptions INSTANT = new AlterOptions(Algorithm.INSTANT, Lock.DEFAULT);
+	private static final AlterOptions IN_PLACE = new AlterOptions(Algorithm.INPLACE, Lock.NONE);
+
+	@Test
+	public void mysql55SendsNoClauses() {
+		for (Change change : Change.values()) {
+			Assert.assertEquals(AlterOptions.DEFAULT, MysqlVersion.MYSQL_55.getStrategy("5.5.62").getOptions(change));
+		}
+	}
+
+	@Test
+	public void mysql57RenamesIndicesInPlace() {
+		Assert.assertEquals(IN_PLACE, MysqlVersion.MYSQL_57.getOptions(Change.RENAME_INDEX));
+		Assert.assertEquals(IN_PLACE, MysqlVersion.MYSQL_56.getOptions(Change.ADD_COLUMN));
+		Assert.assertEquals(AlterOptions.DEFAULT, MysqlVersion.MYSQL_56.getOptions(Change.RENAME_INDEX));
+	}
+
+	@Test
+	public void mysql80RenamesAndDropsColumnsInstantlyFrom29On() {
+		AlterStrategy strategy = MysqlVersion.MYSQL_80.getStrategy("8.0.29");
+
+		Assert.assertSame(MysqlVersion.MYSQL_80, strategy);
+		Assert.assertEquals(INSTANT, strategy.getOptions(Change.ADD_COLUMN));
+		Assert.assertEquals(INSTANT, strategy.getOptions(Change.RENAME_COLUMN));
+		Assert.assertEquals(INSTANT, strategy.getOptions(Change.DROP_COLUMN));
+	}
+
+	@Test
+	public void mysql80RenamesAndDropsColumnsInPlaceBefore29() {
+		AlterStrategy strategy = MysqlVersion.MYSQL_80.getStrategy("8.0.28-log");
+
+		Assert.assertEquals(INSTANT, strategy.getOptions(Change.ADD_COLUMN));
+		Assert.assertEquals(INSTANT, strategy.getOptions(Change.RENAME_INDEX));
+		Assert.assertEquals(IN_PLACE, strategy.getOptions(Change.RENAME_COLUMN));
+		Assert.assertEquals(IN_PLACE, strategy.getOptions(Change.DROP_COLUMN));
+	}
+
+	@Test
+	public void assumesTheLatestReleaseForUnknownVersions() {
+		Assert.assertSame(MysqlVersion.MYSQL_80, MysqlVersion.MYSQL_80.getStrategy("unknown"));
+		Assert.assertSame(MysqlVersion.MYSQL_80, MysqlVersion.MYSQL_80.getStrategy(null));
+	}
+
+	@Test
+	public void appendsTheClausesWhichAreNotLeftToTheirDefault() {
+		Assert.assertEquals(", ALGORITHM=INPLACE, LOCK=NONE", IN_PLACE.toAlterTableClause());
+		Assert.assertEquals(" ALGORITHM=INPLACE LOCK=NONE", IN_PLACE.toCreateIndexClause());
+		Assert.assertEquals(", ALGORITHM=INSTANT", INSTANT.toAlterTableClause());
+
+		AlterOptions lockOnly = new AlterOptions(Algorithm.DEFAULT, Lock.SHARED);
+		Assert.assertEquals(", LOCK=SHARED", lockOnly.toAlterTableClause());
+		Assert.assertEquals(" LOCK=SHARED", lockOnly.toCreateIndexClause());
+
+		Assert.assertEquals("", AlterOptions.DEFAULT.toAlterTableClause());
+		Assert.assertEquals("", AlterOptions.DEFAULT.toCreateIndexClause());
+	}
+
+}